@@ -4,17 +4,30 @@ import com.antonio.application.service.ProductService;
 import com.antonio.application.service.TodoService;
 import com.antonio.application.service.impl.ProductServiceImpl;
 import com.antonio.application.service.impl.TodoServiceImpl;
+import com.antonio.domain.model.Page;
 import com.antonio.domain.model.Product;
 import com.antonio.domain.model.Todo;
+import com.antonio.domain.port.TodoRepository;
 import com.antonio.infrastructure.http.HttpClientWrapper;
+import com.antonio.infrastructure.jdbc.ConnectionPool;
+import com.antonio.infrastructure.journal.JournalReplayer;
+import com.antonio.infrastructure.journal.TodoJournal;
 import com.antonio.infrastructure.repository.ProductRepositoryHttp;
+import com.antonio.infrastructure.repository.TodoRepositoryCached;
 import com.antonio.infrastructure.repository.TodoRepositoryHttp;
+import com.antonio.infrastructure.repository.TodoRepositoryJdbc;
+import com.antonio.infrastructure.repository.TodoRepositoryJournaled;
+import com.antonio.infrastructure.security.audit.AuditArchiveQueryEngine;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Scanner;
+import java.util.stream.Stream;
 
 public class ConsoleApp {
     public static void main(String[] args) {
@@ -26,7 +39,17 @@ public class ConsoleApp {
         HttpClientWrapper client = new HttpClientWrapper(base, mapper);
 
         var productRepo = new ProductRepositoryHttp(client, mapper);
-        var todoRepo = new TodoRepositoryHttp(client, mapper);
+        TodoRepository todoRepo;
+        try {
+            todoRepo = createTodoRepository(client, mapper);
+            int cacheSize = Integer.getInteger("todo.cache.size", 0);
+            if (cacheSize > 0) {
+                todoRepo = new TodoRepositoryCached(todoRepo, cacheSize);
+            }
+        } catch (IOException e) {
+            System.err.println("Erro ao abrir repositório de todos: " + e.getMessage());
+            return;
+        }
 
         ProductService productService = new ProductServiceImpl(productRepo);
         TodoService todoService = new TodoServiceImpl(todoRepo);
@@ -42,6 +65,9 @@ public class ConsoleApp {
             System.out.println("5) Marcar/Desmarcar todo (id + completed true/false)");
             System.out.println("6) Remover todo (id)");
             System.out.println("7) Sair");
+            System.out.println("8) Navegar produtos por cursor (limit)");
+            System.out.println("9) Navegar todos por cursor (limit)");
+            System.out.println("10) Consultar auditoria arquivada (admin)");
             System.out.print("Escolha: ");
             String opt = sc.nextLine().trim();
             try {
@@ -96,6 +122,28 @@ public class ConsoleApp {
                         sc.close();
                         return;
                     }
+                    case "8" -> {
+                        System.out.print("limit: ");
+                        int limit = Integer.parseInt(sc.nextLine().trim());
+                        String cursor = null;
+                        do {
+                            Page<Product> page = productService.listPage(cursor, limit);
+                            page.items().forEach(p -> System.out.printf("%d | %s | %.2f%n", p.getId(), p.getTitle(), p.getPrice()));
+                            cursor = page.nextCursor();
+                        } while (cursor != null && askNextPage(sc));
+                    }
+                    case "9" -> {
+                        System.out.print("limit: ");
+                        int limit = Integer.parseInt(sc.nextLine().trim());
+                        String cursor = null;
+                        do {
+                            Page<Todo> page = todoService.listPage(cursor, limit);
+                            page.items().forEach(t -> System.out.printf("%d | %s | %s | user=%d%n",
+                                    t.getId(), t.getTodo(), t.getCompleted() ? "OK" : "PEND", t.getUserId()));
+                            cursor = page.nextCursor();
+                        } while (cursor != null && askNextPage(sc));
+                    }
+                    case "10" -> queryAuditArchive(sc);
                     default -> System.out.println("Opção inválida.");
                 }
             } catch (IOException e) {
@@ -107,4 +155,75 @@ public class ConsoleApp {
             }
         }
     }
+
+    private static boolean askNextPage(Scanner sc) {
+        System.out.print("Próxima página? (s/n): ");
+        return sc.nextLine().trim().equalsIgnoreCase("s");
+    }
+
+    /**
+     * -Daudit.archive.dir=<dir> aponta para os segmentos arquivados (padrão ./data/audit-archive).
+     * Filtros em branco não restringem; os eventos são impressos conforme os segmentos são varridos.
+     */
+    private static void queryAuditArchive(Scanner sc) {
+        System.out.print("username (vazio = todos): ");
+        String username = blankToNull(sc.nextLine());
+        System.out.print("action (vazio = todas): ");
+        String action = blankToNull(sc.nextLine());
+        System.out.print("status (SUCCESS/FAILURE, vazio = todos): ");
+        String status = blankToNull(sc.nextLine());
+        System.out.print("level (INFO/WARN/ERROR/CRITICAL, vazio = todos): ");
+        String level = blankToNull(sc.nextLine());
+        System.out.print("últimos N dias (vazio = tudo): ");
+        String days = blankToNull(sc.nextLine());
+        System.out.print("limit: ");
+        int limit = Integer.parseInt(sc.nextLine().trim());
+
+        LocalDateTime from = days != null ? LocalDateTime.now().minusDays(Long.parseLong(days)) : null;
+        Path dir = Path.of(System.getProperty("audit.archive.dir", "./data/audit-archive"));
+        try (var engine = new AuditArchiveQueryEngine(dir, Runtime.getRuntime().availableProcessors());
+             Stream<String> events = engine.queryJson(username, action, status, level, from, null, limit)) {
+            long count = 0;
+            for (var it = events.iterator(); it.hasNext(); count++) {
+                System.out.println(it.next());
+            }
+            System.out.println(count + " evento(s)");
+        }
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    /**
+     * -Dtodo.store=jdbc usa o H2 embarcado (./data/todos); padrão é a API DummyJSON.
+     * -Dtodo.journal=<dir> grava as escritas no journal local e as reenvia à API em background.
+     * -Dtodo.cache.size=<n> coloca um cache LRU de n todos na frente do repositório escolhido.
+     */
+    private static TodoRepository createTodoRepository(HttpClientWrapper client, ObjectMapper mapper) throws IOException {
+        if ("jdbc".equalsIgnoreCase(System.getProperty("todo.store", "http"))) {
+            String url = System.getProperty("todo.jdbc.url", "jdbc:h2:file:./data/todos");
+            ConnectionPool pool = new ConnectionPool(url, "sa", "", 8, Duration.ofSeconds(5));
+            Runtime.getRuntime().addShutdownHook(new Thread(pool::close));
+            return new TodoRepositoryJdbc(pool);
+        }
+        var http = new TodoRepositoryHttp(client, mapper);
+        String journalDir = System.getProperty("todo.journal");
+        if (journalDir == null || journalDir.isBlank()) {
+            return http;
+        }
+
+        TodoJournal journal = TodoJournal.open(Path.of(journalDir), mapper, Duration.ofMillis(50));
+        JournalReplayer replayer = new JournalReplayer(journal, http, Duration.ofSeconds(1));
+        replayer.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                replayer.close();
+                journal.close();
+            } catch (Exception e) {
+                System.err.println("Erro ao fechar journal: " + e.getMessage());
+            }
+        }));
+        return new TodoRepositoryJournaled(http, journal, replayer);
+    }
 }
@@ -0,0 +1,102 @@
+package com.antonio.adapter.web;
+
+import com.antonio.dto.LoginRequest;
+import com.antonio.dto.TokenResponse;
+import com.antonio.dto.TwoFactorVerifyRequest;
+import com.antonio.infrastructure.security.service.JwtTokenService;
+import com.antonio.infrastructure.security.service.TwoFactorAuthService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+/**
+ * Emissão de JWT do modo stateless ({@code security.session.mode=stateless}).
+ *
+ * {@code POST /api/auth/token} troca usuário e senha por um token; para quem tem 2FA ativo o token
+ * sai com {@code 2fa_verified=false} e só passa pelo {@code TwoFactorAuthFilter} depois de
+ * {@code POST /api/auth/2fa/verify}, que revoga o token antigo e devolve um verificado.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/auth")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "security.session.mode", havingValue = "stateless")
+public class AuthTokenController {
+
+    private final AuthenticationManager authenticationManager;
+    private final JwtTokenService jwtTokenService;
+    private final TwoFactorAuthService twoFactorAuthService;
+
+    /**
+     * 🎫 Autentica pelo AuthenticationManager (bloqueio de força bruta e auditoria inclusos) e emite o token
+     */
+    @PostMapping("/token")
+    public ResponseEntity<?> token(@Valid @RequestBody LoginRequest request) {
+        Authentication authentication;
+        try {
+            authentication = authenticationManager.authenticate(
+                UsernamePasswordAuthenticationToken.unauthenticated(request.getUsername(), request.getPassword()));
+        } catch (AuthenticationException e) {
+            // a falha já foi contada e auditada pelos eventos de autenticação
+            return unauthorized("Invalid credentials");
+        }
+
+        String username = authentication.getName();
+        boolean twoFactorVerified = !twoFactorAuthService.is2FAEnabled(username);
+        String token = jwtTokenService.issue(username, userId(authentication.getPrincipal()),
+                                             authentication.getAuthorities(), twoFactorVerified);
+        return ResponseEntity.ok(tokenResponse(token, twoFactorVerified));
+    }
+
+    /**
+     * 🔐 Confere o código TOTP do usuário do token apresentado e devolve o token com 2FA verificado
+     */
+    @PostMapping("/2fa/verify")
+    public ResponseEntity<?> verifyTwoFactor(@Valid @RequestBody TwoFactorVerifyRequest request,
+                                             Authentication authentication) {
+        if (authentication == null
+                || !(authentication.getDetails() instanceof JwtTokenService.VerifiedToken token)) {
+            return unauthorized("Bearer token required");
+        }
+        if (!twoFactorAuthService.verifyCode(token.username(), request.getCode())) {
+            log.warn("🔒 2FA VERIFICATION FAILED - User: {}", token.username());
+            return unauthorized("Invalid verification code");
+        }
+
+        String upgraded = jwtTokenService.upgradeTwoFactor(token);
+        return ResponseEntity.ok(tokenResponse(upgraded, true));
+    }
+
+    private TokenResponse tokenResponse(String token, boolean twoFactorVerified) {
+        return new TokenResponse(token, "Bearer", jwtTokenService.ttl().toSeconds(), twoFactorVerified);
+    }
+
+    /**
+     * Id do usuário lido do principal (UserDetails com getId()); null se o principal não expõe id
+     */
+    private static Integer userId(Object principal) {
+        BeanWrapper wrapper = PropertyAccessorFactory.forBeanPropertyAccess(principal);
+        Object id = wrapper.isReadableProperty("id") ? wrapper.getPropertyValue("id") : null;
+        return id instanceof Number number ? number.intValue() : null;
+    }
+
+    private static ResponseEntity<Map<String, String>> unauthorized(String message) {
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+            .body(Map.of("error", "Unauthorized", "message", message));
+    }
+}
@@ -0,0 +1,38 @@
+package com.antonio.application.event;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Configuração de uma assinatura do stream de alterações
+ */
+@Value
+@Builder
+public class ChangeStreamOptions {
+
+    public enum OverflowPolicy {
+        /** Buffer cheio: descarta o evento mais antigo */
+        DROP_OLDEST,
+        /** Buffer cheio: descarta o evento que chegou */
+        DROP_NEWEST,
+        /** Mantém só o evento mais recente (conflação) */
+        LATEST_ONLY
+    }
+
+    /** Só entrega eventos deste usuário; null = todos */
+    Integer userId;
+
+    @Builder.Default
+    int bufferSize = 256;
+
+    @Builder.Default
+    OverflowPolicy overflowPolicy = OverflowPolicy.DROP_OLDEST;
+
+    public static ChangeStreamOptions defaults() {
+        return builder().build();
+    }
+
+    public static ChangeStreamOptions forUser(int userId) {
+        return builder().userId(userId).build();
+    }
+}
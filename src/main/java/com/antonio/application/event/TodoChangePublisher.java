@@ -0,0 +1,180 @@
+package com.antonio.application.event;
+
+import com.antonio.application.event.ChangeStreamOptions.OverflowPolicy;
+import com.antonio.domain.model.TodoChange;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayDeque;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Distribui {@link TodoChange} para assinantes com buffer próprio e limitado.
+ * Quem publica nunca bloqueia: assinante lento perde eventos conforme a {@link OverflowPolicy}.
+ */
+@Slf4j
+public class TodoChangePublisher {
+
+    private final Executor executor;
+    private final CopyOnWriteArrayList<ChangeSubscription> subscriptions = new CopyOnWriteArrayList<>();
+    private final LongAdder dropped = new LongAdder();
+
+    public TodoChangePublisher() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public TodoChangePublisher(Executor executor) {
+        this.executor = executor;
+    }
+
+    public Flow.Publisher<TodoChange> publisher(ChangeStreamOptions options) {
+        Objects.requireNonNull(options, "options");
+        if (options.getBufferSize() <= 0) {
+            throw new IllegalArgumentException("Buffer size must be positive");
+        }
+        return subscriber -> subscribe(subscriber, options);
+    }
+
+    /**
+     * 📣 Entrega o evento aos assinantes cujo filtro aceita
+     */
+    public void publish(TodoChange change) {
+        for (ChangeSubscription sub : subscriptions) {
+            if (sub.accepts(change)) {
+                sub.offer(change);
+            }
+        }
+    }
+
+    public int subscriberCount() {
+        return subscriptions.size();
+    }
+
+    public long droppedCount() {
+        return dropped.sum();
+    }
+
+    private void subscribe(Flow.Subscriber<? super TodoChange> subscriber, ChangeStreamOptions options) {
+        Objects.requireNonNull(subscriber, "subscriber");
+        ChangeSubscription sub = new ChangeSubscription(subscriber, options);
+        subscriber.onSubscribe(sub);
+        if (!sub.cancelled) {
+            subscriptions.add(sub);
+        }
+    }
+
+    private final class ChangeSubscription implements Flow.Subscription {
+        private final Flow.Subscriber<? super TodoChange> subscriber;
+        private final Integer userId;
+        private final int capacity;
+        private final OverflowPolicy policy;
+
+        private final ArrayDeque<TodoChange> buffer = new ArrayDeque<>(); // guarded by this
+        private final AtomicLong demand = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+        private volatile boolean cancelled;
+        private volatile Throwable pendingError;
+
+        ChangeSubscription(Flow.Subscriber<? super TodoChange> subscriber, ChangeStreamOptions options) {
+            this.subscriber = subscriber;
+            this.userId = options.getUserId();
+            this.capacity = options.getBufferSize();
+            this.policy = options.getOverflowPolicy();
+        }
+
+        boolean accepts(TodoChange change) {
+            return userId == null || userId.equals(change.userId());
+        }
+
+        void offer(TodoChange change) {
+            if (cancelled) {
+                return;
+            }
+            synchronized (this) {
+                if (policy == OverflowPolicy.LATEST_ONLY) {
+                    if (!buffer.isEmpty()) {
+                        dropped.add(buffer.size());
+                        buffer.clear();
+                    }
+                } else if (buffer.size() >= capacity) {
+                    dropped.increment();
+                    if (policy == OverflowPolicy.DROP_NEWEST) {
+                        return;
+                    }
+                    buffer.pollFirst();
+                }
+                buffer.addLast(change);
+            }
+            scheduleDrain();
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                pendingError = new IllegalArgumentException("Non-positive request: " + n);
+            } else {
+                demand.getAndAccumulate(n, (current, add) -> {
+                    long sum = current + add;
+                    return sum < 0 ? Long.MAX_VALUE : sum;
+                });
+            }
+            scheduleDrain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            subscriptions.remove(this);
+            synchronized (this) {
+                buffer.clear();
+            }
+        }
+
+        private void scheduleDrain() {
+            if (wip.getAndIncrement() == 0) {
+                executor.execute(this::drain);
+            }
+        }
+
+        /**
+         * Uma única execução de drain por vez garante sinais serializados ao assinante
+         */
+        private void drain() {
+            int missed = 1;
+            do {
+                Throwable error = pendingError;
+                if (error != null && !cancelled) {
+                    cancel();
+                    subscriber.onError(error);
+                    return;
+                }
+                while (!cancelled && demand.get() > 0) {
+                    TodoChange next;
+                    synchronized (this) {
+                        next = buffer.pollFirst();
+                    }
+                    if (next == null) {
+                        break;
+                    }
+                    try {
+                        subscriber.onNext(next);
+                    } catch (Throwable t) {
+                        log.warn("⚠️ Todo change subscriber failed, cancelling subscription", t);
+                        cancel();
+                        return;
+                    }
+                    if (demand.get() != Long.MAX_VALUE) {
+                        demand.decrementAndGet();
+                    }
+                }
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+    }
+}
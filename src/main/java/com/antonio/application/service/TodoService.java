@@ -1,13 +1,19 @@
 package com.antonio.application.service;
 
+import com.antonio.application.event.ChangeStreamOptions;
+import com.antonio.domain.model.Page;
 import com.antonio.domain.model.Todo;
+import com.antonio.domain.model.TodoChange;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.concurrent.Flow;
 
 public interface TodoService {
     List<Todo> list(int limit, int skip) throws IOException;
+    Page<Todo> listPage(String cursor, int limit) throws IOException;
     Todo add(String text, int userId) throws IOException;
     Todo toggle(int id, boolean completed) throws IOException;
     boolean delete(int id) throws IOException;
+    Flow.Publisher<TodoChange> changes(ChangeStreamOptions options);
 }
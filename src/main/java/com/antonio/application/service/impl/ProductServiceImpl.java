@@ -1,10 +1,12 @@
 package com.antonio.application.service.impl;
 
 import com.antonio.application.service.ProductService;
+import com.antonio.domain.model.Page;
 import com.antonio.domain.model.Product;
 import com.antonio.domain.port.ProductRepository;
 import com.antonio.infrastructure.security.audit.Auditable;
 import com.antonio.infrastructure.security.audit.AuditLevel;
+import com.antonio.infrastructure.security.audit.AuditPolicy;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Positive;
 import lombok.RequiredArgsConstructor;
@@ -26,6 +28,7 @@ public class ProductServiceImpl implements ProductService {
 
     @Override
     @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    @AuditPolicy(mode = AuditPolicy.Mode.AGGREGATED)
     @Auditable(
             action = "LIST_PRODUCTS",
             description = "User listed products with pagination",
@@ -51,6 +54,33 @@ public class ProductServiceImpl implements ProductService {
 
     @Override
     @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    @AuditPolicy(mode = AuditPolicy.Mode.AGGREGATED)
+    @Auditable(
+            action = "LIST_PRODUCTS",
+            description = "User listed products with cursor pagination",
+            level = AuditLevel.INFO
+    )
+    public Page<Product> listPage(
+            String cursor,
+            @Positive(message = "Limit must be positive") int limit
+    ) throws IOException {
+
+        log.info("📋 Listing products - cursor: {}, limit: {}", cursor, limit);
+
+        if (limit > 100) {
+            log.warn("⚠️ Limit {} exceeds maximum (100), using 100", limit);
+            limit = 100;
+        }
+
+        Page<Product> page = repository.listAfter(cursor, limit);
+
+        log.info("✅ Retrieved {} products, hasNext: {}", page.items().size(), page.hasNext());
+        return page;
+    }
+
+    @Override
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    @AuditPolicy(mode = AuditPolicy.Mode.SAMPLED, sampleEvery = 20, maxPerSecond = 5)
     @Auditable(
             action = "SEARCH_PRODUCTS",
             description = "User searched products",
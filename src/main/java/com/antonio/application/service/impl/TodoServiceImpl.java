@@ -1,24 +1,35 @@
 package com.antonio.application.service.impl;
 
+import com.antonio.application.event.ChangeStreamOptions;
+import com.antonio.application.event.TodoChangePublisher;
 import com.antonio.application.service.TodoService;
+import com.antonio.domain.model.Page;
 import com.antonio.domain.model.Todo;
+import com.antonio.domain.model.TodoChange;
 import com.antonio.domain.port.TodoRepository;
 import lombok.AllArgsConstructor;
 
 import com.antonio.infrastructure.security.audit.Auditable;
 import com.antonio.infrastructure.security.audit.AuditLevel;
+import com.antonio.infrastructure.security.audit.AuditPolicy;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Positive;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.access.prepost.PostFilter;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.validation.annotation.Validated;
 
 import java.io.IOException;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.Flow;
+import java.util.function.Function;
 
 
 @Slf4j
@@ -28,10 +39,12 @@ import java.util.Optional;
 public class TodoServiceImpl implements TodoService {
 
     private final TodoRepository repository;
+    private final TodoChangePublisher changePublisher = new TodoChangePublisher();
 
     @Override
     @PreAuthorize("isAuthenticated()")
     @PostFilter("filterObject.userId == authentication.principal.id or hasRole('ADMIN')")
+    @AuditPolicy(mode = AuditPolicy.Mode.AGGREGATED)
     @Auditable(
             action = "LIST_TODOS",
             description = "User listed todos",
@@ -54,6 +67,31 @@ public class TodoServiceImpl implements TodoService {
         return todos;
     }
 
+    @Override
+    @PreAuthorize("isAuthenticated()")
+    @AuditPolicy(mode = AuditPolicy.Mode.AGGREGATED)
+    @Auditable(
+            action = "LIST_TODOS",
+            description = "User listed todos with cursor pagination",
+            level = AuditLevel.INFO
+    )
+    public Page<Todo> listPage(
+            String cursor,
+            @Positive int limit
+    ) throws IOException {
+
+        log.info("📋 Listing todos - cursor: {}, limit: {}", cursor, limit);
+
+        if (limit > 100) {
+            limit = 100;
+        }
+
+        Page<Todo> page = visibleToCurrentUser(repository.listAfter(cursor, limit));
+
+        log.info("✅ Retrieved {} todos, hasNext: {}", page.items().size(), page.hasNext());
+        return page;
+    }
+
     @Override
     @PreAuthorize("isAuthenticated()")
     @Auditable(
@@ -89,6 +127,7 @@ public class TodoServiceImpl implements TodoService {
         );
 
         Todo created = repository.add(todo);
+        publishChange(created, TodoChange::added);
 
         log.info("✅ Todo created with ID: {}", created.getId());
         return created;
@@ -108,7 +147,7 @@ public class TodoServiceImpl implements TodoService {
 
         log.info("✔️ Toggling todo {} to completed={}", id, completed);
 
-        List<Todo> maybe = repository.findById(id);
+        Optional<Todo> maybe = repository.findById(id);
 
         if (maybe.isEmpty()) {
             log.warn("⚠️ Todo not found: {}", id);
@@ -119,6 +158,7 @@ public class TodoServiceImpl implements TodoService {
         todo.setCompleted(completed);
 
         Todo updated = repository.update(todo);
+        publishChange(updated, TodoChange::updated);
 
         log.info("✅ Todo {} updated", id);
         return updated;
@@ -136,7 +176,7 @@ public class TodoServiceImpl implements TodoService {
         log.info("🗑️ Deleting todo: {}", id);
 
         // Verifica se existe
-        List<Todo> maybe = repository.findById(id);
+        Optional<Todo> maybe = repository.findById(id);
 
         if (maybe.isEmpty()) {
             log.warn("⚠️ Todo not found: {}", id);
@@ -146,6 +186,7 @@ public class TodoServiceImpl implements TodoService {
         boolean deleted = repository.delete(id);
 
         if (deleted) {
+            changePublisher.publish(TodoChange.deleted(id, maybe.get()));
             log.info("✅ Todo {} deleted successfully", id);
         } else {
             log.error("❌ Failed to delete todo {}", id);
@@ -153,4 +194,49 @@ public class TodoServiceImpl implements TodoService {
 
         return deleted;
     }
+
+    /**
+     * 📡 Stream de alterações (add/toggle/delete) feitas por este serviço
+     */
+    @Override
+    @PreAuthorize("hasRole('ADMIN') or (#options.userId != null and #options.userId == authentication.principal.id)")
+    public Flow.Publisher<TodoChange> changes(ChangeStreamOptions options) {
+        return changePublisher.publisher(options);
+    }
+
+    /**
+     * Sem id não há evento: o upstream aceitou a escrita, então a falha fica só no log
+     */
+    private void publishChange(Todo todo, Function<Todo, TodoChange> change) {
+        if (todo == null || todo.getId() == null) {
+            log.warn("⚠️ Upstream returned a todo without id - change event not published");
+            return;
+        }
+        changePublisher.publish(change.apply(todo));
+    }
+
+    /**
+     * 🔐 Mesma regra do @PostFilter de list(), que não se aplica a Page.
+     * O cursor continua o da página original, então a navegação não pula itens.
+     */
+    private Page<Todo> visibleToCurrentUser(Page<Todo> page) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null) {
+            return Page.empty();
+        }
+        boolean admin = auth.getAuthorities().stream()
+                .anyMatch(a -> "ROLE_ADMIN".equals(a.getAuthority()));
+        if (admin) {
+            return page;
+        }
+
+        BeanWrapper principal = PropertyAccessorFactory.forBeanPropertyAccess(auth.getPrincipal());
+        Object principalId = principal.isReadableProperty("id") ? principal.getPropertyValue("id") : null;
+        // compara pelo valor: o id do principal pode ser Long e o userId do todo é Integer
+        List<Todo> visible = page.items().stream()
+                .filter(t -> principalId instanceof Number id && t.getUserId() != null
+                        && id.longValue() == t.getUserId().longValue())
+                .toList();
+        return new Page<>(visible, page.nextCursor());
+    }
 }
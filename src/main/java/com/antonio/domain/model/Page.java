@@ -0,0 +1,21 @@
+package com.antonio.domain.model;
+
+import java.util.List;
+
+/**
+ * Página de resultados com cursor opaco para a próxima (null quando não há mais)
+ */
+public record Page<T>(List<T> items, String nextCursor) {
+
+    public Page {
+        items = List.copyOf(items);
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+
+    public static <T> Page<T> empty() {
+        return new Page<>(List.of(), null);
+    }
+}
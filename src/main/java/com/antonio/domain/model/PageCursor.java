@@ -0,0 +1,105 @@
+package com.antonio.domain.model;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+/**
+ * Cursor de paginação por chave (keyset): codifica o último id entregue e, para fontes que só
+ * paginam por offset, a posição logo depois dele.
+ * O formato é opaco para o cliente; só quem o emitiu sabe decodificar.
+ */
+public final class PageCursor {
+    private static final String PREFIX = "id:";
+    private static final String POSITION = ";pos:";
+
+    private PageCursor() {
+    }
+
+    public static String after(int lastId) {
+        return encode(PREFIX + lastId);
+    }
+
+    /**
+     * Cursor que também guarda a posição (offset) da próxima linha na fonte
+     */
+    public static String after(int lastId, int position) {
+        return encode(PREFIX + lastId + POSITION + position);
+    }
+
+    /**
+     * Último id já entregue; 0 para cursor nulo/vazio (primeira página)
+     */
+    public static int lastId(String cursor) {
+        return field(cursor, 0);
+    }
+
+    /**
+     * Posição da próxima linha na fonte; 0 para cursor nulo/vazio. Cursor sem posição é inválido
+     * para fontes paginadas por offset: estimar pela id erraria sempre que houver buracos nos ids
+     */
+    public static int position(String cursor) {
+        int position = field(cursor, 1);
+        if (position < 0) {
+            throw new IllegalArgumentException("Invalid page cursor");
+        }
+        return position;
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static int field(String cursor, int index) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0;
+        }
+        int[] fields;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.US_ASCII);
+            if (!raw.startsWith(PREFIX)) {
+                throw new IllegalArgumentException("Invalid page cursor");
+            }
+            String body = raw.substring(PREFIX.length());
+            int sep = body.indexOf(POSITION);
+            int id = Integer.parseInt(sep < 0 ? body : body.substring(0, sep));
+            int position = sep < 0 ? -1 : Integer.parseInt(body.substring(sep + POSITION.length()));
+            if (sep >= 0 && position < 0) {
+                throw new IllegalArgumentException("Invalid page cursor");
+            }
+            fields = new int[] {id, position};
+        } catch (IllegalArgumentException e) {
+            // Base64 inválido ou número malformado
+            throw new IllegalArgumentException("Invalid page cursor", e);
+        }
+        if (fields[0] < 0) {
+            throw new IllegalArgumentException("Invalid page cursor");
+        }
+        return fields[index];
+    }
+
+    /**
+     * Monta a página a partir de até {@code limit + 1} linhas ordenadas por id:
+     * a linha extra só indica que existe próxima página
+     */
+    public static <T> Page<T> page(List<T> rows, int limit, ToIntFunction<T> idOf) {
+        if (rows.size() <= limit) {
+            return new Page<>(rows, null);
+        }
+        List<T> items = rows.subList(0, limit);
+        return new Page<>(items, after(idOf.applyAsInt(items.get(limit - 1))));
+    }
+
+    /**
+     * Igual a {@link #page(List, int, ToIntFunction)}, com {@code firstPosition} sendo o offset
+     * da primeira linha na fonte
+     */
+    public static <T> Page<T> page(List<T> rows, int limit, ToIntFunction<T> idOf, int firstPosition) {
+        if (rows.size() <= limit) {
+            return new Page<>(rows, null);
+        }
+        List<T> items = rows.subList(0, limit);
+        return new Page<>(items, after(idOf.applyAsInt(items.get(limit - 1)), firstPosition + limit));
+    }
+}
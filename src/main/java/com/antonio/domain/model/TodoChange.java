@@ -0,0 +1,48 @@
+package com.antonio.domain.model;
+
+import java.time.Instant;
+
+/**
+ * Evento de alteração de um todo. Em DELETED, {@code todo} é o último estado conhecido (pode ser null).
+ * O {@link Todo} é mutável, então o evento guarda uma cópia e entrega outra a cada leitura:
+ * nenhum assinante enxerga alterações feitas depois da publicação ou por outro assinante.
+ */
+public record TodoChange(Type type, int todoId, Integer userId, Todo todo, Instant occurredAt) {
+
+    public enum Type {
+        ADDED, UPDATED, DELETED
+    }
+
+    public TodoChange {
+        todo = copy(todo);
+    }
+
+    @Override
+    public Todo todo() {
+        return copy(todo);
+    }
+
+    public static TodoChange added(Todo todo) {
+        return new TodoChange(Type.ADDED, requireId(todo), todo.getUserId(), todo, Instant.now());
+    }
+
+    public static TodoChange updated(Todo todo) {
+        return new TodoChange(Type.UPDATED, requireId(todo), todo.getUserId(), todo, Instant.now());
+    }
+
+    public static TodoChange deleted(int id, Todo lastKnown) {
+        Integer userId = lastKnown != null ? lastKnown.getUserId() : null;
+        return new TodoChange(Type.DELETED, id, userId, lastKnown, Instant.now());
+    }
+
+    private static int requireId(Todo todo) {
+        if (todo == null || todo.getId() == null) {
+            throw new IllegalArgumentException("Todo change requires a todo with an id");
+        }
+        return todo.getId();
+    }
+
+    private static Todo copy(Todo todo) {
+        return todo == null ? null : new Todo(todo.getId(), todo.getTodo(), todo.getCompleted(), todo.getUserId());
+    }
+}
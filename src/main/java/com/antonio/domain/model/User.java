@@ -1,5 +1,6 @@
 package com.antonio.domain.model;
 
+import com.antonio.infrastructure.security.audit.Sensitive;
 import com.antonio.infrastructure.security.validation.NoSQLInjection;
 import com.antonio.infrastructure.security.validation.NoXSS;
 import com.antonio.infrastructure.security.validation.SafeText;
@@ -42,6 +43,7 @@ public class User {
     // Senha não é exposta em JSON (tratada separadamente)
     @NotBlank(message = "Password cannot be empty")
     @Size(min = 12, max = 128, message = "Password must be between 12 and 128 characters")
+    @Sensitive
     private String password;
     
     @NotNull(message = "Enabled status cannot be null")
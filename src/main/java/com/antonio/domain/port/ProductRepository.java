@@ -1,5 +1,6 @@
 package com.antonio.domain.port;
 
+import com.antonio.domain.model.Page;
 import com.antonio.domain.model.Product;
 
 import java.io.IOException;
@@ -7,5 +8,6 @@ import java.util.List;
 
 public interface ProductRepository {
     List<Product> list(int limit, int skip) throws IOException;
+    Page<Product> listAfter(String cursor, int limit) throws IOException;
     List<Product> search(String q) throws IOException;
 }
@@ -1,5 +1,6 @@
 package com.antonio.dto;
 
+import com.antonio.infrastructure.security.audit.Sensitive;
 import com.antonio.infrastructure.security.validation.NoSQLInjection;
 import com.antonio.infrastructure.security.validation.NoXSS;
 import com.antonio.infrastructure.security.validation.SafeText;
@@ -11,7 +12,7 @@ import lombok.NoArgsConstructor;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-class LoginRequest {
+public class LoginRequest {
     
     @NotBlank(message = "Username is required")
     @Size(min = 3, max = 30)
@@ -20,6 +21,7 @@ class LoginRequest {
     
     @NotBlank(message = "Password is required")
     @Size(min = 1, max = 128)
+    @Sensitive
     private String password;
     
     // Campo opcional para "Lembrar-me"
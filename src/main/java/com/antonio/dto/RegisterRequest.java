@@ -1,5 +1,6 @@
 package com.antonio.dto;
 
+import com.antonio.infrastructure.security.audit.Sensitive;
 import com.antonio.infrastructure.security.validation.NoSQLInjection;
 import com.antonio.infrastructure.security.validation.NoXSS;
 import com.antonio.infrastructure.security.validation.SafeText;
@@ -26,6 +27,7 @@ class RegisterRequest {
     @NotBlank(message = "Password is required")
     @Size(min = 12, max = 128)
     // Validação de senha forte será feita por serviço separado
+    @Sensitive
     private String password;
     
     @NotBlank(message = "First name is required")
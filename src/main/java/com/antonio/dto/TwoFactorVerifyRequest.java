@@ -0,0 +1,19 @@
+package com.antonio.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TwoFactorVerifyRequest {
+
+    @NotNull(message = "Verification code is required")
+    @Min(0)
+    @Max(999999)
+    private Integer code;
+}
@@ -0,0 +1,30 @@
+package com.antonio.exception;
+
+import com.antonio.domain.model.Todo;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Busca em lote em que alguns ids falharam (erro de rede/5xx), diferente de "não existe".
+ * Carrega o que foi encontrado para quem quiser aproveitar o resultado parcial.
+ */
+public class PartialLookupException extends IOException {
+    private final Map<Integer, Todo> found;
+    private final Set<Integer> failedIds;
+
+    public PartialLookupException(Map<Integer, Todo> found, Set<Integer> failedIds, Throwable cause) {
+        super("Lookup failed for todo ids " + failedIds, cause);
+        this.found = Map.copyOf(found);
+        this.failedIds = Set.copyOf(failedIds);
+    }
+
+    public Map<Integer, Todo> getFound() {
+        return found;
+    }
+
+    public Set<Integer> getFailedIds() {
+        return failedIds;
+    }
+}
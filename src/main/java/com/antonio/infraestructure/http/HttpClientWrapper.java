@@ -9,6 +9,8 @@ import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 public class HttpClientWrapper {
     private final HttpClient client;
@@ -41,15 +43,38 @@ public class HttpClientWrapper {
         }
     }
 
+    /**
+     * GET não bloqueante; status não-2xx completa o future com HttpException
+     */
+    public CompletableFuture<String> getAsync(String path) {
+        HttpRequest req = HttpRequest.newBuilder()
+                .uri(URI.create(baseUrl + path))
+                .GET()
+                .header("Accept", "application/json")
+                .build();
+        return client.sendAsync(req, HttpResponse.BodyHandlers.ofString())
+                .thenApply(resp -> {
+                    if (resp.statusCode() / 100 != 2) {
+                        throw new HttpException(resp.statusCode(), resp.body());
+                    }
+                    return resp.body();
+                });
+    }
+
     public String post(String path, Object payload) throws IOException {
+        return post(path, payload, Map.of());
+    }
+
+    public String post(String path, Object payload, Map<String, String> headers) throws IOException {
         try {
             String body = mapper.writeValueAsString(payload);
-            HttpRequest req = HttpRequest.newBuilder()
+            HttpRequest.Builder builder = HttpRequest.newBuilder()
                     .uri(URI.create(baseUrl + path))
                     .POST(HttpRequest.BodyPublishers.ofString(body))
                     .header("Content-Type", "application/json")
-                    .header("Accept", "application/json")
-                    .build();
+                    .header("Accept", "application/json");
+            headers.forEach(builder::header);
+            HttpRequest req = builder.build();
             HttpResponse<String> resp = client.send(req, HttpResponse.BodyHandlers.ofString());
             if (resp.statusCode() / 100 != 2) {
                 throw new HttpException(resp.statusCode(), resp.body());
@@ -62,14 +87,19 @@ public class HttpClientWrapper {
     }
 
     public String put(String path, Object payload) throws IOException {
+        return put(path, payload, Map.of());
+    }
+
+    public String put(String path, Object payload, Map<String, String> headers) throws IOException {
         try {
             String body = mapper.writeValueAsString(payload);
-            HttpRequest req = HttpRequest.newBuilder()
+            HttpRequest.Builder builder = HttpRequest.newBuilder()
                     .uri(URI.create(baseUrl + path))
                     .PUT(HttpRequest.BodyPublishers.ofString(body))
                     .header("Content-Type", "application/json")
-                    .header("Accept", "application/json")
-                    .build();
+                    .header("Accept", "application/json");
+            headers.forEach(builder::header);
+            HttpRequest req = builder.build();
             HttpResponse<String> resp = client.send(req, HttpResponse.BodyHandlers.ofString());
             if (resp.statusCode() / 100 != 2) {
                 throw new HttpException(resp.statusCode(), resp.body());
@@ -82,12 +112,17 @@ public class HttpClientWrapper {
     }
 
     public void delete(String path) throws IOException {
+        delete(path, Map.of());
+    }
+
+    public void delete(String path, Map<String, String> headers) throws IOException {
         try {
-            HttpRequest req = HttpRequest.newBuilder()
+            HttpRequest.Builder builder = HttpRequest.newBuilder()
                     .uri(URI.create(baseUrl + path))
                     .DELETE()
-                    .header("Accept", "application/json")
-                    .build();
+                    .header("Accept", "application/json");
+            headers.forEach(builder::header);
+            HttpRequest req = builder.build();
             HttpResponse<String> resp = client.send(req, HttpResponse.BodyHandlers.ofString());
             if (resp.statusCode() / 100 != 2) {
                 throw new HttpException(resp.statusCode(), resp.body());
@@ -0,0 +1,85 @@
+package com.antonio.infrastructure.jdbc;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+public class ConnectionPool implements AutoCloseable {
+    private final BlockingQueue<PooledConnection> idle;
+    private final List<PooledConnection> all;
+    private final Duration acquireTimeout;
+    private volatile boolean closed;
+
+    public ConnectionPool(String jdbcUrl, String user, String password, int size, Duration acquireTimeout) throws IOException {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Pool size must be positive");
+        }
+        this.idle = new ArrayBlockingQueue<>(size);
+        this.all = new ArrayList<>(size);
+        this.acquireTimeout = acquireTimeout;
+
+        try {
+            for (int i = 0; i < size; i++) {
+                Connection raw = DriverManager.getConnection(jdbcUrl, user, password);
+                PooledConnection pooled = new PooledConnection(raw, this);
+                all.add(pooled);
+                idle.add(pooled);
+            }
+        } catch (SQLException e) {
+            close();
+            throw new IOException("Could not open JDBC connections for " + jdbcUrl, e);
+        }
+    }
+
+    /**
+     * Obtém uma conexão ociosa; devolvida ao pool em {@link PooledConnection#close()}
+     */
+    public PooledConnection acquire() throws IOException {
+        if (closed) {
+            throw new IOException("Connection pool is closed");
+        }
+        try {
+            PooledConnection conn = idle.poll(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            if (conn == null) {
+                throw new IOException("Timed out after " + acquireTimeout.toMillis() + "ms waiting for a JDBC connection");
+            }
+            return conn;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        }
+    }
+
+    void release(PooledConnection conn) {
+        if (closed) {
+            conn.closePhysically();
+            return;
+        }
+        try {
+            if (!conn.raw().getAutoCommit()) {
+                conn.raw().rollback();
+                conn.raw().setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            // conexão inutilizável: descarta statements em cache, mas mantém o slot
+            conn.clearStatements();
+        }
+        idle.offer(conn);
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        for (PooledConnection conn : all) {
+            conn.closePhysically();
+        }
+        idle.clear();
+    }
+}
@@ -0,0 +1,83 @@
+package com.antonio.infrastructure.jdbc;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Conexão do pool com cache de PreparedStatement por SQL.
+ * Usada por uma thread por vez (entre acquire e close), então o cache não precisa de sincronização.
+ */
+public class PooledConnection implements AutoCloseable {
+    private final Connection raw;
+    private final ConnectionPool pool;
+    private final Map<String, PreparedStatement> statements = new HashMap<>();
+
+    PooledConnection(Connection raw, ConnectionPool pool) {
+        this.raw = raw;
+        this.pool = pool;
+    }
+
+    public Connection raw() {
+        return raw;
+    }
+
+    /**
+     * Reaproveita o statement já compilado para o SQL, limpando parâmetros e batch anteriores
+     */
+    public PreparedStatement prepare(String sql) throws SQLException {
+        PreparedStatement ps = statements.get(sql);
+        if (ps == null || ps.isClosed()) {
+            ps = raw.prepareStatement(sql);
+            statements.put(sql, ps);
+        } else {
+            ps.clearParameters();
+            ps.clearBatch();
+        }
+        return ps;
+    }
+
+    /**
+     * Variante para INSERTs que precisam das chaves geradas
+     */
+    public PreparedStatement prepareReturningKeys(String sql) throws SQLException {
+        String cacheKey = "keys:" + sql;
+        PreparedStatement ps = statements.get(cacheKey);
+        if (ps == null || ps.isClosed()) {
+            ps = raw.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
+            statements.put(cacheKey, ps);
+        } else {
+            ps.clearParameters();
+            ps.clearBatch();
+        }
+        return ps;
+    }
+
+    void clearStatements() {
+        for (PreparedStatement ps : statements.values()) {
+            try {
+                ps.close();
+            } catch (SQLException ignored) {
+                // statement já inválido
+            }
+        }
+        statements.clear();
+    }
+
+    void closePhysically() {
+        clearStatements();
+        try {
+            raw.close();
+        } catch (SQLException ignored) {
+            // encerrando de qualquer forma
+        }
+    }
+
+    @Override
+    public void close() {
+        pool.release(this);
+    }
+}
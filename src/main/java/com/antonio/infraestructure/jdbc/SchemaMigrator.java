@@ -0,0 +1,87 @@
+package com.antonio.infrastructure.jdbc;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Aplica migrações versionadas no startup, registrando a versão em SCHEMA_VERSION
+ */
+public class SchemaMigrator {
+
+    public record Migration(int version, String description, List<String> statements) {
+        public Migration(int version, String description, String... statements) {
+            this(version, description, List.of(statements));
+        }
+    }
+
+    private static final String CREATE_VERSION_TABLE =
+            "CREATE TABLE IF NOT EXISTS SCHEMA_VERSION (" +
+            "VERSION INT PRIMARY KEY, " +
+            "DESCRIPTION VARCHAR(200) NOT NULL, " +
+            "APPLIED_AT TIMESTAMP DEFAULT CURRENT_TIMESTAMP)";
+
+    private final List<Migration> migrations;
+
+    public SchemaMigrator(List<Migration> migrations) {
+        List<Migration> sorted = new ArrayList<>(migrations);
+        sorted.sort(Comparator.comparingInt(Migration::version));
+        this.migrations = List.copyOf(sorted);
+    }
+
+    /**
+     * Executa as migrações pendentes, cada uma na sua própria transação
+     */
+    public int migrate(ConnectionPool pool) throws IOException {
+        try (PooledConnection pooled = pool.acquire()) {
+            Connection conn = pooled.raw();
+            try (Statement st = conn.createStatement()) {
+                st.execute(CREATE_VERSION_TABLE);
+            }
+
+            int current = currentVersion(conn);
+            int applied = 0;
+
+            for (Migration m : migrations) {
+                if (m.version() <= current) {
+                    continue;
+                }
+                conn.setAutoCommit(false);
+                try (Statement st = conn.createStatement()) {
+                    for (String sql : m.statements()) {
+                        st.execute(sql);
+                    }
+                    try (PreparedStatement ps = conn.prepareStatement(
+                            "INSERT INTO SCHEMA_VERSION (VERSION, DESCRIPTION) VALUES (?, ?)")) {
+                        ps.setInt(1, m.version());
+                        ps.setString(2, m.description());
+                        ps.executeUpdate();
+                    }
+                    conn.commit();
+                    applied++;
+                } catch (SQLException e) {
+                    conn.rollback();
+                    throw new IOException("Migration V" + m.version() + " (" + m.description() + ") failed", e);
+                } finally {
+                    conn.setAutoCommit(true);
+                }
+            }
+            return applied;
+        } catch (SQLException e) {
+            throw new IOException("Schema migration failed", e);
+        }
+    }
+
+    private int currentVersion(Connection conn) throws SQLException {
+        try (Statement st = conn.createStatement();
+             ResultSet rs = st.executeQuery("SELECT COALESCE(MAX(VERSION), 0) FROM SCHEMA_VERSION")) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.antonio.infrastructure.journal;
+
+import com.antonio.domain.model.Todo;
+
+/**
+ * Mutação de todo registrada no journal, na ordem em que foi aceita localmente
+ */
+public record JournalEntry(long seq, Operation op, String idempotencyKey, long createdAtMillis, Todo todo) {
+
+    public enum Operation {
+        ADD, UPDATE, DELETE;
+
+        static Operation fromCode(byte code) {
+            Operation[] values = values();
+            if (code < 0 || code >= values.length) {
+                throw new IllegalArgumentException("Unknown journal operation code: " + code);
+            }
+            return values[code];
+        }
+
+        byte code() {
+            return (byte) ordinal();
+        }
+    }
+}
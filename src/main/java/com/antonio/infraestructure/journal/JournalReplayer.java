@@ -0,0 +1,167 @@
+package com.antonio.infrastructure.journal;
+
+import com.antonio.domain.model.Todo;
+import com.antonio.exception.HttpException;
+import com.antonio.infrastructure.repository.TodoRepositoryHttp;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reenvia as entradas pendentes do journal ao upstream, em ordem e uma por vez,
+ * com a chave de idempotência gravada no append. Falhas transitórias aplicam backoff exponencial.
+ */
+@Slf4j
+public class JournalReplayer implements AutoCloseable {
+    private static final long MAX_BACKOFF_MS = 30_000;
+
+    private final TodoJournal journal;
+    private final TodoRepositoryHttp upstream;
+    private final ScheduledExecutorService executor;
+    private final Duration pollInterval;
+
+    private int consecutiveFailures;   // só acessado pela thread do executor
+    private long retryAtMillis;        // só acessado pela thread do executor
+    private long unackedSeq = -1;      // já resolvida no upstream, falta só o ack; só acessado pela thread do executor
+
+    public JournalReplayer(TodoJournal journal, TodoRepositoryHttp upstream, Duration pollInterval) {
+        this.journal = journal;
+        this.upstream = upstream;
+        this.pollInterval = pollInterval;
+        this.executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "todo-journal-replayer");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    public void start() {
+        long ms = Math.max(1, pollInterval.toMillis());
+        executor.scheduleWithFixedDelay(this::drain, 0, ms, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Pede um replay imediato (ex.: logo após um append)
+     */
+    public void nudge() {
+        try {
+            executor.execute(this::drain);
+        } catch (RejectedExecutionException e) {
+            // replayer já fechado: a entrada fica no journal e vai no próximo start
+        }
+    }
+
+    private void drain() {
+        if (System.currentTimeMillis() < retryAtMillis) {
+            return;
+        }
+        if (unackedSeq >= 0 && !acknowledge(unackedSeq)) {
+            return;
+        }
+        JournalEntry entry;
+        while ((entry = journal.peekPending()) != null) {
+            try {
+                push(entry);
+            } catch (HttpException e) {
+                if (!isPermanent(e.getStatus())) {
+                    backOff(entry, e);
+                    return;
+                }
+                log.error("❌ Journal entry {} ({}) rejected by upstream with HTTP {} - dropping",
+                          entry.seq(), entry.op(), e.getStatus());
+            } catch (UnresolvedIdException e) {
+                log.error("❌ Journal entry {} ({}) references todo {} whose upstream id is unknown - dropping",
+                          entry.seq(), entry.op(), e.provisionalId);
+            } catch (IOException | RuntimeException e) {
+                backOff(entry, e);
+                return;
+            }
+            consecutiveFailures = 0;
+            // enviada (ou descartada): daqui em diante só o ack é repetido, nunca o envio - o
+            // DummyJSON ignora a chave de idempotência e um ADD reenviado duplicaria o todo
+            unackedSeq = entry.seq();
+            if (!acknowledge(unackedSeq)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Confirma a entrada no journal; em falha mantém {@code unackedSeq} e aplica backoff
+     */
+    private boolean acknowledge(long seq) {
+        try {
+            journal.ack(seq);
+            unackedSeq = -1;
+            return true;
+        } catch (IOException | RuntimeException e) {
+            consecutiveFailures++;
+            long delay = Math.min(MAX_BACKOFF_MS, pollInterval.toMillis() << Math.min(consecutiveFailures, 16));
+            retryAtMillis = System.currentTimeMillis() + delay;
+            log.error("❌ Could not ack journal entry {} - retrying the ack in {}ms", seq, delay, e);
+            return false;
+        }
+    }
+
+    private void push(JournalEntry entry) throws IOException {
+        Todo todo = entry.todo();
+        switch (entry.op()) {
+            case ADD -> {
+                Todo payload = new Todo(null, todo.getTodo(), todo.getCompleted(), todo.getUserId());
+                Todo created = upstream.add(payload, entry.idempotencyKey());
+                if (todo.getId() != null && TodoJournal.isProvisional(todo.getId()) && created.getId() != null) {
+                    journal.assign(todo.getId(), created.getId());
+                }
+            }
+            case UPDATE -> {
+                int id = resolve(todo.getId());
+                upstream.update(new Todo(id, todo.getTodo(), todo.getCompleted(), todo.getUserId()),
+                        entry.idempotencyKey());
+            }
+            case DELETE -> upstream.delete(resolve(todo.getId()), entry.idempotencyKey());
+        }
+    }
+
+    private int resolve(int id) {
+        if (!TodoJournal.isProvisional(id)) {
+            return id;
+        }
+        Integer assigned = journal.assignedId(id);
+        if (assigned == null) {
+            throw new UnresolvedIdException(id);
+        }
+        return assigned;
+    }
+
+    private boolean isPermanent(int status) {
+        return status / 100 == 4 && status != 408 && status != 429;
+    }
+
+    private void backOff(JournalEntry entry, Exception cause) {
+        consecutiveFailures++;
+        long delay = Math.min(MAX_BACKOFF_MS, pollInterval.toMillis() << Math.min(consecutiveFailures, 16));
+        retryAtMillis = System.currentTimeMillis() + delay;
+        log.warn("⚠️ Upstream unavailable replaying journal entry {} ({}): {} - retrying in {}ms, {} pending",
+                 entry.seq(), entry.op(), cause.getMessage(), delay, journal.pendingCount());
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    private static final class UnresolvedIdException extends RuntimeException {
+        private final int provisionalId;
+
+        UnresolvedIdException(int provisionalId) {
+            super("No upstream id for provisional todo " + provisionalId);
+            this.provisionalId = provisionalId;
+        }
+    }
+}
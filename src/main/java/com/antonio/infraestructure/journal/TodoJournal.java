@@ -0,0 +1,444 @@
+package com.antonio.infrastructure.journal;
+
+import com.antonio.domain.model.Todo;
+import com.antonio.infrastructure.journal.JournalEntry.Operation;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32C;
+
+/**
+ * Journal append-only de mutações de todos.
+ *
+ * Cada registro é [int tamanho][int crc32c][payload]. O append só escreve no FileChannel e retorna;
+ * o fsync é feito em lote pelo flusher a cada {@code syncInterval} (group commit). Registros já
+ * confirmados pelo upstream são descartados na compactação.
+ *
+ * O checkpoint de ack guarda, junto com a última seq confirmada, o mapa id provisório -> id do
+ * upstream: sem ele, um UPDATE/DELETE pendente de um todo cujo ADD já foi confirmado ficaria sem
+ * destino depois de um restart. O mapa é limitado a {@code maxAssignedIds}; ids ainda referenciados
+ * por entradas pendentes nunca são descartados.
+ */
+@Slf4j
+public class TodoJournal implements AutoCloseable {
+    private static final int HEADER_BYTES = Integer.BYTES * 2;
+    private static final int MAX_PAYLOAD_BYTES = 1 << 20;
+    private static final int MIN_ACK_FILE_BYTES = Long.BYTES + Integer.BYTES + Integer.BYTES;
+    private static final int MAX_ASSIGNED_IDS = 4096;
+
+    /**
+     * Ids provisórios ficam numa faixa positiva reservada, acima de qualquer id do upstream,
+     * para respeitar o {@code @Positive} de {@link Todo#getId()}
+     */
+    public static final int PROVISIONAL_ID_BASE = 1_000_000_000;
+    private static final int PROVISIONAL_ID_RANGE = Integer.MAX_VALUE - PROVISIONAL_ID_BASE;
+
+    private final Path walFile;
+    private final Path ackFile;
+    private final ObjectMapper mapper;
+    private final int compactThreshold;
+    private final int maxAssignedIds;
+    private final ScheduledExecutorService flusher;
+
+    private final Object lock = new Object();
+    private FileChannel channel;                              // guarded by lock
+    private final Deque<JournalEntry> pending = new ArrayDeque<>(); // guarded by lock
+    private long nextSeq;                                     // guarded by lock
+    private long ackedSinceCompaction;                        // guarded by lock
+    private boolean unsynced;                                 // guarded by lock
+    // id provisório -> id do upstream, em ordem de atribuição
+    private final Map<Integer, Integer> assignedIds = new LinkedHashMap<>(); // guarded by lock
+    private boolean checkpointDirty;                          // guarded by lock
+
+    private volatile long ackedSeq;
+
+    TodoJournal(Path dir, ObjectMapper mapper, Duration syncInterval, int compactThreshold, int maxAssignedIds)
+            throws IOException {
+        Files.createDirectories(dir);
+        this.walFile = dir.resolve("todos.wal");
+        this.ackFile = dir.resolve("todos.ack");
+        this.mapper = mapper;
+        this.compactThreshold = compactThreshold;
+        this.maxAssignedIds = maxAssignedIds;
+
+        this.ackedSeq = readAckCheckpoint();
+        this.channel = FileChannel.open(walFile,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long lastSeq = recover();
+        this.nextSeq = Math.max(lastSeq, ackedSeq) + 1;
+
+        this.flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "todo-journal-flusher");
+            t.setDaemon(true);
+            return t;
+        });
+        long intervalMs = Math.max(1, syncInterval.toMillis());
+        flusher.scheduleWithFixedDelay(this::flushQuietly, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+
+        log.info("📒 Todo journal opened at {} - {} pending entries, acked up to seq {}", walFile, pending.size(), ackedSeq);
+    }
+
+    public static TodoJournal open(Path dir, ObjectMapper mapper, Duration syncInterval) throws IOException {
+        return new TodoJournal(dir, mapper, syncInterval, 1024, MAX_ASSIGNED_IDS);
+    }
+
+    public static boolean isProvisional(int id) {
+        return id >= PROVISIONAL_ID_BASE;
+    }
+
+    /**
+     * ✍️ Registra a mutação e retorna sem esperar fsync.
+     * ADD sem id recebe id provisório (a partir de {@link #PROVISIONAL_ID_BASE}) até o upstream atribuir o definitivo.
+     */
+    public JournalEntry append(Operation op, Todo todo) throws IOException {
+        synchronized (lock) {
+            long seq = nextSeq;
+            Todo recorded = todo;
+            if (op == Operation.ADD && todo.getId() == null) {
+                recorded = new Todo(PROVISIONAL_ID_BASE + (int) (seq % PROVISIONAL_ID_RANGE), todo.getTodo(), todo.getCompleted(), todo.getUserId());
+            }
+            JournalEntry entry = new JournalEntry(seq, op, UUID.randomUUID().toString(),
+                    System.currentTimeMillis(), recorded);
+
+            ByteBuffer record = encode(entry);
+            while (record.hasRemaining()) {
+                channel.write(record);
+            }
+            nextSeq++;
+            pending.addLast(entry);
+            unsynced = true;
+            return entry;
+        }
+    }
+
+    /**
+     * Próxima entrada ainda não confirmada pelo upstream (ordem de append)
+     */
+    public JournalEntry peekPending() {
+        synchronized (lock) {
+            return pending.peekFirst();
+        }
+    }
+
+    public List<JournalEntry> pendingSnapshot() {
+        synchronized (lock) {
+            return new ArrayList<>(pending);
+        }
+    }
+
+    public int pendingCount() {
+        synchronized (lock) {
+            return pending.size();
+        }
+    }
+
+    /**
+     * Id do upstream atribuído a um todo criado com id provisório, ou null se ainda não enviado
+     */
+    public Integer assignedId(int provisionalId) {
+        synchronized (lock) {
+            return assignedIds.get(provisionalId);
+        }
+    }
+
+    /**
+     * 🔗 Registra o id definitivo de um ADD; deve vir antes do {@link #ack} da entrada,
+     * para que nenhum checkpoint confirme o ADD sem o mapeamento
+     */
+    public void assign(int provisionalId, int upstreamId) {
+        synchronized (lock) {
+            assignedIds.put(provisionalId, upstreamId);
+            checkpointDirty = true;
+        }
+    }
+
+    /**
+     * ✅ Marca como confirmadas todas as entradas até {@code seq}; compacta quando vale a pena
+     */
+    public void ack(long seq) throws IOException {
+        synchronized (lock) {
+            while (!pending.isEmpty() && pending.peekFirst().seq() <= seq) {
+                pending.pollFirst();
+                ackedSinceCompaction++;
+            }
+            if (seq > ackedSeq) {
+                ackedSeq = seq;
+                checkpointDirty = true;
+            }
+            trimAssignedIds();
+            if (pending.isEmpty() || ackedSinceCompaction >= compactThreshold) {
+                compact();
+            }
+        }
+    }
+
+    /**
+     * ✂️ Descarta os mapeamentos mais antigos acima do limite, exceto os que entradas pendentes ainda usam
+     */
+    private void trimAssignedIds() {
+        int excess = assignedIds.size() - maxAssignedIds;
+        if (excess <= 0) {
+            return;
+        }
+        Set<Integer> referenced = new HashSet<>();
+        for (JournalEntry entry : pending) {
+            if (entry.todo().getId() != null) {
+                referenced.add(entry.todo().getId());
+            }
+        }
+        Iterator<Integer> it = assignedIds.keySet().iterator();
+        while (excess > 0 && it.hasNext()) {
+            if (!referenced.contains(it.next())) {
+                it.remove();
+                excess--;
+                checkpointDirty = true;
+            }
+        }
+    }
+
+    /**
+     * 💾 Força o fsync imediatamente (além do lote periódico)
+     */
+    public void sync() throws IOException {
+        FileChannel current;
+        synchronized (lock) {
+            if (!unsynced && !checkpointDirty) {
+                return;
+            }
+            unsynced = false;
+            current = channel;
+        }
+        // fsync fora do lock: novos appends seguem enquanto o disco confirma o lote
+        try {
+            current.force(false);
+        } catch (ClosedChannelException e) {
+            // compactação trocou o arquivo no meio do caminho e já fez o force do novo
+        } catch (IOException e) {
+            synchronized (lock) {
+                unsynced = true;
+            }
+            throw e;
+        }
+        synchronized (lock) {
+            persistAckCheckpoint();
+        }
+    }
+
+    /**
+     * 🗜️ Reescreve o journal somente com as entradas pendentes
+     */
+    private void compact() throws IOException {
+        persistAckCheckpoint();
+
+        if (pending.isEmpty()) {
+            channel.truncate(0);
+            channel.position(0);
+            channel.force(true);
+        } else {
+            Path tmp = walFile.resolveSibling(walFile.getFileName() + ".compact");
+            try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                for (JournalEntry entry : pending) {
+                    ByteBuffer record = encode(entry);
+                    while (record.hasRemaining()) {
+                        out.write(record);
+                    }
+                }
+                out.force(true);
+            }
+            channel.close();
+            Files.move(tmp, walFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            channel = FileChannel.open(walFile, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            channel.position(channel.size());
+        }
+        unsynced = false;
+        log.debug("🗜️ Todo journal compacted - {} acked entries dropped, {} pending", ackedSinceCompaction, pending.size());
+        ackedSinceCompaction = 0;
+    }
+
+    /**
+     * 🔁 Lê o journal do início, validando CRC; uma cauda truncada/corrompida é descartada
+     */
+    private long recover() throws IOException {
+        long lastSeq = 0;
+        long position = 0;
+        long size = channel.size();
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        CRC32C crc = new CRC32C();
+
+        while (position + HEADER_BYTES <= size) {
+            header.clear();
+            channel.read(header, position);
+            header.flip();
+            int length = header.getInt();
+            int expectedCrc = header.getInt();
+            if (length <= 0 || length > MAX_PAYLOAD_BYTES || position + HEADER_BYTES + length > size) {
+                break;
+            }
+
+            ByteBuffer payload = ByteBuffer.allocate(length);
+            channel.read(payload, position + HEADER_BYTES);
+            payload.flip();
+            crc.reset();
+            crc.update(payload.duplicate());
+            if ((int) crc.getValue() != expectedCrc) {
+                log.warn("⚠️ Todo journal CRC mismatch at offset {} - discarding tail", position);
+                break;
+            }
+
+            JournalEntry entry = decode(payload);
+            lastSeq = Math.max(lastSeq, entry.seq());
+            if (entry.seq() > ackedSeq) {
+                pending.addLast(entry);
+            }
+            position += HEADER_BYTES + length;
+        }
+
+        if (position < size) {
+            log.warn("⚠️ Todo journal truncated from {} to {} bytes during recovery", size, position);
+            channel.truncate(position);
+        }
+        channel.position(position);
+        return lastSeq;
+    }
+
+    private ByteBuffer encode(JournalEntry entry) throws IOException {
+        byte[] key = entry.idempotencyKey().getBytes(StandardCharsets.UTF_8);
+        byte[] json = mapper.writeValueAsBytes(entry.todo());
+        int length = Long.BYTES + 1 + Long.BYTES + Short.BYTES + key.length + Integer.BYTES + json.length;
+        if (length > MAX_PAYLOAD_BYTES) {
+            throw new IOException("Journal record too large: " + length + " bytes");
+        }
+
+        ByteBuffer buf = ByteBuffer.allocate(HEADER_BYTES + length);
+        buf.position(HEADER_BYTES);
+        buf.putLong(entry.seq());
+        buf.put(entry.op().code());
+        buf.putLong(entry.createdAtMillis());
+        buf.putShort((short) key.length);
+        buf.put(key);
+        buf.putInt(json.length);
+        buf.put(json);
+
+        CRC32C crc = new CRC32C();
+        crc.update(buf.array(), HEADER_BYTES, length);
+        buf.putInt(0, length);
+        buf.putInt(Integer.BYTES, (int) crc.getValue());
+        buf.flip();
+        return buf;
+    }
+
+    private JournalEntry decode(ByteBuffer payload) throws IOException {
+        long seq = payload.getLong();
+        Operation op = Operation.fromCode(payload.get());
+        long createdAt = payload.getLong();
+        byte[] key = new byte[payload.getShort()];
+        payload.get(key);
+        byte[] json = new byte[payload.getInt()];
+        payload.get(json);
+        Todo todo = mapper.readValue(json, Todo.class);
+        return new JournalEntry(seq, op, new String(key, StandardCharsets.UTF_8), createdAt, todo);
+    }
+
+    /**
+     * Checkpoint: [long ackedSeq][int n][n x (int provisório, int upstream)][int crc32c].
+     * Tamanho diferente do esperado ou CRC errado = checkpoint corrompido.
+     */
+    private long readAckCheckpoint() throws IOException {
+        if (!Files.exists(ackFile)) {
+            return 0;
+        }
+        ByteBuffer buf = ByteBuffer.wrap(Files.readAllBytes(ackFile));
+        int bodyBytes = buf.limit() - Integer.BYTES;
+        int count = buf.limit() >= MIN_ACK_FILE_BYTES ? buf.getInt(Long.BYTES) : -1;
+        if (count < 0 || buf.limit() != MIN_ACK_FILE_BYTES + count * 2L * Integer.BYTES) {
+            return corruptCheckpoint();
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(buf.array(), 0, bodyBytes);
+        if ((int) crc.getValue() != buf.getInt(bodyBytes)) {
+            return corruptCheckpoint();
+        }
+        long seq = buf.getLong();
+        buf.getInt();
+        for (int i = 0; i < count; i++) {
+            assignedIds.put(buf.getInt(), buf.getInt());
+        }
+        return seq;
+    }
+
+    private long corruptCheckpoint() {
+        // reenvia tudo, as chaves de idempotência tornam isso seguro
+        log.warn("⚠️ Todo journal ack checkpoint is corrupt - replaying all entries");
+        return 0;
+    }
+
+    /**
+     * Grava o checkpoint num arquivo temporário e troca de forma atômica (chamado com o lock)
+     */
+    private void persistAckCheckpoint() throws IOException {
+        if (!checkpointDirty) {
+            return;
+        }
+        int bodyBytes = Long.BYTES + Integer.BYTES + assignedIds.size() * 2 * Integer.BYTES;
+        ByteBuffer buf = ByteBuffer.allocate(bodyBytes + Integer.BYTES);
+        buf.putLong(ackedSeq);
+        buf.putInt(assignedIds.size());
+        assignedIds.forEach((provisional, assigned) -> buf.putInt(provisional).putInt(assigned));
+        CRC32C crc = new CRC32C();
+        crc.update(buf.array(), 0, bodyBytes);
+        buf.putInt((int) crc.getValue());
+        buf.flip();
+
+        Path tmp = ackFile.resolveSibling(ackFile.getFileName() + ".tmp");
+        try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buf.hasRemaining()) {
+                out.write(buf);
+            }
+            out.force(false);
+        }
+        Files.move(tmp, ackFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        checkpointDirty = false;
+    }
+
+    private void flushQuietly() {
+        try {
+            sync();
+        } catch (IOException e) {
+            log.error("❌ Todo journal fsync failed", e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        flusher.shutdown();
+        sync();
+        synchronized (lock) {
+            channel.close();
+        }
+    }
+}
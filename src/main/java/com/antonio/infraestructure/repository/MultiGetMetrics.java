@@ -0,0 +1,77 @@
+package com.antonio.infrastructure.repository;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Métricas de findByIds: contadores acumulados por origem e a latência por id da última chamada
+ */
+public class MultiGetMetrics {
+
+    public enum Source {
+        CACHE, REMOTE, MISSING, FAILED
+    }
+
+    public record Lookup(Source source, long latencyNanos) {
+    }
+
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder remoteHits = new LongAdder();
+    private final LongAdder missing = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder remoteNanos = new LongAdder();
+    private final LongAccumulator maxRemoteNanos = new LongAccumulator(Math::max, 0);
+
+    private volatile Map<Integer, Lookup> lastBatch = Map.of();
+
+    /**
+     * Acumula os lookups de uma chamada e a publica como {@link #lastBatch()}
+     */
+    public void recordBatch(Map<Integer, Lookup> batch) {
+        for (Lookup lookup : batch.values()) {
+            switch (lookup.source()) {
+                case CACHE -> cacheHits.increment();
+                case REMOTE -> {
+                    remoteHits.increment();
+                    remoteNanos.add(lookup.latencyNanos());
+                    maxRemoteNanos.accumulate(lookup.latencyNanos());
+                }
+                case MISSING -> missing.increment();
+                case FAILED -> failed.increment();
+            }
+        }
+        lastBatch = Collections.unmodifiableMap(new LinkedHashMap<>(batch));
+    }
+
+    public Map<Integer, Lookup> lastBatch() {
+        return lastBatch;
+    }
+
+    public long cacheHits() {
+        return cacheHits.sum();
+    }
+
+    public long remoteHits() {
+        return remoteHits.sum();
+    }
+
+    public long missing() {
+        return missing.sum();
+    }
+
+    public long failed() {
+        return failed.sum();
+    }
+
+    public double averageRemoteMillis() {
+        long hits = remoteHits.sum();
+        return hits == 0 ? 0 : remoteNanos.sum() / 1_000_000.0 / hits;
+    }
+
+    public double maxRemoteMillis() {
+        return maxRemoteNanos.get() / 1_000_000.0;
+    }
+}
@@ -0,0 +1,67 @@
+package com.antonio.infrastructure.repository;
+
+import com.antonio.domain.model.Page;
+import com.antonio.domain.model.PageCursor;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+/**
+ * Paginação keyset sobre uma API que só aceita limit/skip (DummyJSON).
+ *
+ * O cursor guarda o último id e a posição da linha seguinte. A busca começa um pouco antes dessa
+ * posição e recua mais enquanto a primeira linha já estiver depois do último id (linhas removidas
+ * antes dele deslocam as posições); o filtro id > último id descarta o que já foi entregue.
+ * Como a posição não é derivada do id, buracos na sequência de ids não fazem pular linhas.
+ */
+final class OffsetKeysetPager {
+
+    @FunctionalInterface
+    interface Fetch<T> {
+        List<T> fetch(int limit, int skip) throws IOException;
+    }
+
+    private OffsetKeysetPager() {
+    }
+
+    static <T> Page<T> page(String cursor, int limit, ToIntFunction<T> idOf, Fetch<T> source) throws IOException {
+        int lastId = PageCursor.lastId(cursor);
+        int position = PageCursor.position(cursor);
+        int wanted = limit + 1;
+
+        int margin = position == 0 ? 0 : wanted;
+        int skip = Math.max(0, position - margin);
+        int requested = wanted + margin;
+        List<T> batch = source.fetch(requested, skip);
+        while (skip > 0 && !batch.isEmpty() && idOf.applyAsInt(batch.get(0)) > lastId) {
+            margin *= 2;
+            skip = Math.max(0, position - margin);
+            requested = wanted + margin;
+            batch = source.fetch(requested, skip);
+        }
+
+        List<T> rows = new ArrayList<>(wanted);
+        int firstPosition = -1;
+        while (true) {
+            for (int i = 0; i < batch.size() && rows.size() < wanted; i++) {
+                T row = batch.get(i);
+                if (idOf.applyAsInt(row) > lastId) {
+                    if (firstPosition < 0) {
+                        firstPosition = skip + i;
+                    }
+                    rows.add(row);
+                }
+            }
+            // lote inteiro abaixo do cursor (ex.: inserções antes dele): continua de onde parou
+            if (rows.size() >= wanted || batch.size() < requested) {
+                break;
+            }
+            skip += batch.size();
+            requested = wanted;
+            batch = source.fetch(requested, skip);
+        }
+        return PageCursor.page(rows, limit, idOf, Math.max(firstPosition, 0));
+    }
+}
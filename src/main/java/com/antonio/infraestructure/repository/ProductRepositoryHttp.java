@@ -1,5 +1,6 @@
 package com.antonio.infrastructure.repository;
 
+import com.antonio.domain.model.Page;
 import com.antonio.domain.model.Product;
 import com.antonio.domain.port.ProductRepository;
 import com.antonio.dto.ProductListResponse;
@@ -26,6 +27,17 @@ public class ProductRepositoryHttp implements ProductRepository {
         return r.getProducts();
     }
 
+    @Override
+    public Page<Product> listAfter(String cursor, int limit) throws IOException {
+        // DummyJSON não filtra por id: o cursor guarda a posição da próxima linha e o pager
+        // recua se linhas anteriores sumiram, filtrando id > lastId (buracos nos ids não pulam linhas)
+        return OffsetKeysetPager.page(cursor, limit, Product::getId, (l, s) -> {
+            String path = "/products?limit=" + l + "&skip=" + s + "&sortBy=id&order=asc";
+            ProductListResponse r = mapper.readValue(client.get(path), ProductListResponse.class);
+            return r.getProducts().stream().filter(p -> p.getId() != null).toList();
+        });
+    }
+
     @Override
     public List<Product> search(String q) throws IOException {
         String path = "/products/search?q=" + java.net.URLEncoder.encode(q, java.nio.charset.StandardCharsets.UTF_8);
@@ -0,0 +1,183 @@
+package com.antonio.infrastructure.repository;
+
+import com.antonio.domain.model.Page;
+import com.antonio.domain.model.Todo;
+import com.antonio.domain.port.TodoRepository;
+import com.antonio.exception.PartialLookupException;
+import com.antonio.infrastructure.repository.MultiGetMetrics.Lookup;
+import com.antonio.infrastructure.repository.MultiGetMetrics.Source;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Cache LRU write-through na frente de outro TodoRepository.
+ * Leituras populam o cache; escritas passam pelo delegate e atualizam/removem a entrada.
+ * Todo é mutável, então o cache guarda e devolve cópias.
+ */
+public class TodoRepositoryCached implements TodoRepository {
+    private final TodoRepository delegate;
+    private final Map<Integer, Todo> cache;
+    private final MultiGetMetrics multiGetMetrics = new MultiGetMetrics();
+
+    public TodoRepositoryCached(TodoRepository delegate, int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries must be positive");
+        }
+        this.delegate = delegate;
+        this.cache = new LinkedHashMap<>(Math.min(maxEntries, 1024), 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Todo> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    @Override
+    public List<Todo> list(int limit, int skip) throws IOException {
+        List<Todo> todos = delegate.list(limit, skip);
+        putAll(todos);
+        return todos;
+    }
+
+    @Override
+    public Page<Todo> listAfter(String cursor, int limit) throws IOException {
+        // a página vem do delegate (o cache não sabe se tem o intervalo completo) e aquece o cache
+        Page<Todo> page = delegate.listAfter(cursor, limit);
+        putAll(page.items());
+        return page;
+    }
+
+    @Override
+    public Todo add(Todo todo) throws IOException {
+        Todo created = delegate.add(todo);
+        put(created);
+        return created;
+    }
+
+    @Override
+    public Todo update(Todo todo) throws IOException {
+        Todo updated = delegate.update(todo);
+        put(updated);
+        return updated;
+    }
+
+    @Override
+    public boolean delete(int id) throws IOException {
+        boolean deleted = delegate.delete(id);
+        synchronized (cache) {
+            cache.remove(id);
+        }
+        return deleted;
+    }
+
+    @Override
+    public Optional<Todo> findById(int id) throws IOException {
+        Todo cached;
+        synchronized (cache) {
+            cached = cache.get(id);
+        }
+        if (cached != null) {
+            return Optional.of(copy(cached));
+        }
+        Optional<Todo> loaded = delegate.findById(id);
+        loaded.ifPresent(this::put);
+        return loaded;
+    }
+
+    /**
+     * Serve os acertos do cache e pede só as faltas ao delegate, em uma chamada.
+     * Ids que falharam no delegate não são tratados como ausentes: o parcial vai para o cache
+     * e a {@link PartialLookupException} segue com os acertos do cache incluídos.
+     */
+    @Override
+    public Map<Integer, Todo> findByIds(Collection<Integer> ids) throws IOException {
+        Map<Integer, Todo> result = new LinkedHashMap<>();
+        Map<Integer, Lookup> lookups = new LinkedHashMap<>();
+        List<Integer> misses = new ArrayList<>();
+
+        synchronized (cache) {
+            for (int id : new LinkedHashSet<>(ids)) {
+                long start = System.nanoTime();
+                Todo cached = cache.get(id);
+                if (cached != null) {
+                    result.put(id, copy(cached));
+                    lookups.put(id, new Lookup(Source.CACHE, System.nanoTime() - start));
+                } else {
+                    misses.add(id);
+                }
+            }
+        }
+
+        if (!misses.isEmpty()) {
+            long start = System.nanoTime();
+            Map<Integer, Todo> loaded;
+            PartialLookupException partial = null;
+            try {
+                loaded = delegate.findByIds(misses);
+            } catch (PartialLookupException e) {
+                partial = e;
+                loaded = e.getFound();
+            }
+            long elapsed = System.nanoTime() - start;
+            Set<Integer> failed = partial != null ? partial.getFailedIds() : Set.of();
+            putAll(loaded.values());
+            for (int id : misses) {
+                Todo todo = loaded.get(id);
+                if (todo != null) {
+                    result.put(id, todo);
+                }
+                // latência por id das faltas = a chamada em lote ao delegate
+                Source source = todo != null ? Source.REMOTE : failed.contains(id) ? Source.FAILED : Source.MISSING;
+                lookups.put(id, new Lookup(source, elapsed));
+            }
+            if (partial != null) {
+                multiGetMetrics.recordBatch(lookups);
+                throw new PartialLookupException(result, failed, partial);
+            }
+        }
+
+        multiGetMetrics.recordBatch(lookups);
+        return result;
+    }
+
+    public MultiGetMetrics multiGetMetrics() {
+        return multiGetMetrics;
+    }
+
+    public int size() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    private void put(Todo todo) {
+        if (todo != null && todo.getId() != null) {
+            Todo snapshot = copy(todo);
+            synchronized (cache) {
+                cache.put(todo.getId(), snapshot);
+            }
+        }
+    }
+
+    private void putAll(Collection<Todo> todos) {
+        synchronized (cache) {
+            for (Todo todo : todos) {
+                if (todo.getId() != null) {
+                    cache.put(todo.getId(), copy(todo));
+                }
+            }
+        }
+    }
+
+    private static Todo copy(Todo todo) {
+        return new Todo(todo.getId(), todo.getTodo(), todo.getCompleted(), todo.getUserId());
+    }
+}
@@ -1,23 +1,51 @@
 package com.antonio.infrastructure.repository;
 
+import com.antonio.domain.model.Page;
 import com.antonio.domain.model.Todo;
 import com.antonio.domain.port.TodoRepository;
 import com.antonio.dto.TodoListResponse;
+import com.antonio.exception.HttpException;
+import com.antonio.exception.PartialLookupException;
 import com.antonio.infrastructure.http.HttpClientWrapper;
+import com.antonio.infrastructure.repository.MultiGetMetrics.Lookup;
+import com.antonio.infrastructure.repository.MultiGetMetrics.Source;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
 
 public class TodoRepositoryHttp implements TodoRepository {
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    private static final int DEFAULT_MAX_IN_FLIGHT = 8;
+
     private final HttpClientWrapper client;
     private final ObjectMapper mapper;
+    private final int maxInFlight;
+    private final MultiGetMetrics multiGetMetrics = new MultiGetMetrics();
 
     public TodoRepositoryHttp(HttpClientWrapper client, ObjectMapper mapper) {
+        this(client, mapper, DEFAULT_MAX_IN_FLIGHT);
+    }
+
+    public TodoRepositoryHttp(HttpClientWrapper client, ObjectMapper mapper, int maxInFlight) {
+        if (maxInFlight <= 0) {
+            throw new IllegalArgumentException("maxInFlight must be positive");
+        }
         this.client = client;
         this.mapper = mapper;
+        this.maxInFlight = maxInFlight;
     }
 
     @Override
@@ -28,23 +56,45 @@ public class TodoRepositoryHttp implements TodoRepository {
         return r.getTodos();
     }
 
+    @Override
+    public Page<Todo> listAfter(String cursor, int limit) throws IOException {
+        // Mesmo esquema de ProductRepositoryHttp: a posição vem do cursor, não do id
+        return OffsetKeysetPager.page(cursor, limit, Todo::getId, (l, s) -> {
+            String path = "/todos?limit=" + l + "&skip=" + s + "&sortBy=id&order=asc";
+            TodoListResponse r = mapper.readValue(client.get(path), TodoListResponse.class);
+            return r.getTodos().stream().filter(t -> t.getId() != null).toList();
+        });
+    }
+
     @Override
     public Todo add(Todo todo) throws IOException {
-        String body = client.post("/todos/add", todo);
+        return add(todo, null);
+    }
+
+    public Todo add(Todo todo, String idempotencyKey) throws IOException {
+        String body = client.post("/todos/add", todo, idempotencyHeaders(idempotencyKey));
         // API DummyJSON returns created todo (id assigned) or similar; map back
         return mapper.readValue(body, Todo.class);
     }
 
     @Override
     public Todo update(Todo todo) throws IOException {
+        return update(todo, null);
+    }
+
+    public Todo update(Todo todo, String idempotencyKey) throws IOException {
         // DummyJSON uses /todos/{id} put
-        String body = client.put("/todos/" + todo.getId(), todo);
+        String body = client.put("/todos/" + todo.getId(), todo, idempotencyHeaders(idempotencyKey));
         return mapper.readValue(body, Todo.class);
     }
 
     @Override
     public boolean delete(int id) throws IOException {
-        client.delete("/todos/" + id);
+        return delete(id, null);
+    }
+
+    public boolean delete(int id, String idempotencyKey) throws IOException {
+        client.delete("/todos/" + id, idempotencyHeaders(idempotencyKey));
         return true;
     }
 
@@ -58,4 +108,77 @@ public class TodoRepositoryHttp implements TodoRepository {
             return Optional.empty();
         }
     }
+
+    private Map<String, String> idempotencyHeaders(String idempotencyKey) {
+        return idempotencyKey == null ? Map.of() : Map.of(IDEMPOTENCY_KEY_HEADER, idempotencyKey);
+    }
+
+    /**
+     * Busca os ids em paralelo, com no máximo {@code maxInFlight} requisições abertas.
+     * Ids inexistentes (404) ficam fora do mapa; se algum falhou (rede/5xx), lança
+     * {@link PartialLookupException} com o que foi encontrado, para não confundir falha com ausência.
+     */
+    @Override
+    public Map<Integer, Todo> findByIds(Collection<Integer> ids) throws IOException {
+        Set<Integer> unique = new LinkedHashSet<>(ids);
+        Map<Integer, Todo> found = new ConcurrentHashMap<>();
+        Map<Integer, Lookup> lookups = new ConcurrentHashMap<>();
+        Map<Integer, Throwable> failures = new ConcurrentHashMap<>();
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        List<CompletableFuture<Void>> requests = new ArrayList<>(unique.size());
+
+        try {
+            for (int id : unique) {
+                inFlight.acquire();
+                long start = System.nanoTime();
+                requests.add(client.getAsync("/todos/" + id).handle((body, error) -> {
+                    inFlight.release();
+                    long elapsed = System.nanoTime() - start;
+                    lookups.put(id, new Lookup(completeLookup(id, body, error, found, failures), elapsed));
+                    return null;
+                }));
+            }
+            CompletableFuture.allOf(requests.toArray(CompletableFuture[]::new)).join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        } finally {
+            multiGetMetrics.recordBatch(lookups);
+        }
+
+        Map<Integer, Todo> ordered = new LinkedHashMap<>();
+        for (int id : unique) {
+            Todo todo = found.get(id);
+            if (todo != null) {
+                ordered.put(id, todo);
+            }
+        }
+        if (!failures.isEmpty()) {
+            throw new PartialLookupException(ordered, failures.keySet(), failures.values().iterator().next());
+        }
+        return ordered;
+    }
+
+    public MultiGetMetrics multiGetMetrics() {
+        return multiGetMetrics;
+    }
+
+    private Source completeLookup(int id, String body, Throwable error,
+                                  Map<Integer, Todo> found, Map<Integer, Throwable> failures) {
+        if (error == null) {
+            try {
+                found.put(id, mapper.readValue(body, Todo.class));
+                return Source.REMOTE;
+            } catch (IOException e) {
+                failures.put(id, e);
+                return Source.FAILED;
+            }
+        }
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof HttpException http && http.getStatus() == 404) {
+            return Source.MISSING;
+        }
+        failures.put(id, cause);
+        return Source.FAILED;
+    }
 }
@@ -0,0 +1,257 @@
+package com.antonio.infrastructure.repository;
+
+import com.antonio.domain.model.Page;
+import com.antonio.domain.model.PageCursor;
+import com.antonio.domain.model.Todo;
+import com.antonio.domain.port.TodoRepository;
+import com.antonio.infrastructure.jdbc.ConnectionPool;
+import com.antonio.infrastructure.jdbc.PooledConnection;
+import com.antonio.infrastructure.jdbc.SchemaMigrator;
+import com.antonio.infrastructure.jdbc.SchemaMigrator.Migration;
+import com.antonio.infrastructure.repository.MultiGetMetrics.Lookup;
+import com.antonio.infrastructure.repository.MultiGetMetrics.Source;
+
+import java.io.IOException;
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+public class TodoRepositoryJdbc implements TodoRepository {
+
+    static final List<Migration> MIGRATIONS = List.of(
+            new Migration(1, "create todos table",
+                    "CREATE TABLE IF NOT EXISTS TODOS (" +
+                    "ID INT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, " +
+                    "TODO VARCHAR(500) NOT NULL, " +
+                    "COMPLETED BOOLEAN DEFAULT FALSE NOT NULL, " +
+                    "USER_ID INT NOT NULL)"),
+            new Migration(2, "index todos by user and completion",
+                    "CREATE INDEX IF NOT EXISTS IDX_TODOS_USER_ID ON TODOS(USER_ID)",
+                    "CREATE INDEX IF NOT EXISTS IDX_TODOS_COMPLETED ON TODOS(COMPLETED)")
+    );
+
+    private static final String SELECT_PAGE =
+            "SELECT ID, TODO, COMPLETED, USER_ID FROM TODOS ORDER BY ID LIMIT ? OFFSET ?";
+    private static final String SELECT_AFTER =
+            "SELECT ID, TODO, COMPLETED, USER_ID FROM TODOS WHERE ID > ? ORDER BY ID LIMIT ?";
+    private static final String SELECT_BY_ID =
+            "SELECT ID, TODO, COMPLETED, USER_ID FROM TODOS WHERE ID = ?";
+    private static final String SELECT_BY_IDS =
+            "SELECT ID, TODO, COMPLETED, USER_ID FROM TODOS WHERE ID = ANY(?)";
+    private static final String INSERT =
+            "INSERT INTO TODOS (TODO, COMPLETED, USER_ID) VALUES (?, ?, ?)";
+    private static final String UPDATE =
+            "UPDATE TODOS SET TODO = ?, COMPLETED = ?, USER_ID = ? WHERE ID = ?";
+    private static final String DELETE =
+            "DELETE FROM TODOS WHERE ID = ?";
+
+    private final ConnectionPool pool;
+    private final MultiGetMetrics multiGetMetrics = new MultiGetMetrics();
+
+    public TodoRepositoryJdbc(ConnectionPool pool) throws IOException {
+        this.pool = pool;
+        new SchemaMigrator(MIGRATIONS).migrate(pool);
+    }
+
+    @Override
+    public List<Todo> list(int limit, int skip) throws IOException {
+        try (PooledConnection conn = pool.acquire()) {
+            PreparedStatement ps = conn.prepare(SELECT_PAGE);
+            ps.setInt(1, limit);
+            ps.setInt(2, skip);
+            return readAll(ps);
+        } catch (SQLException e) {
+            throw new IOException("Failed to list todos", e);
+        }
+    }
+
+    @Override
+    public Page<Todo> listAfter(String cursor, int limit) throws IOException {
+        int lastId = PageCursor.lastId(cursor);
+        try (PooledConnection conn = pool.acquire()) {
+            // busca pela PK a partir do último id: custo proporcional à página, não ao offset
+            PreparedStatement ps = conn.prepare(SELECT_AFTER);
+            ps.setInt(1, lastId);
+            ps.setInt(2, limit + 1);
+            return PageCursor.page(readAll(ps), limit, Todo::getId);
+        } catch (SQLException e) {
+            throw new IOException("Failed to list todos after cursor", e);
+        }
+    }
+
+    @Override
+    public Todo add(Todo todo) throws IOException {
+        return addAll(List.of(todo)).get(0);
+    }
+
+    /**
+     * ➕ Insere vários todos em um único batch JDBC/transação
+     */
+    public List<Todo> addAll(List<Todo> todos) throws IOException {
+        if (todos.isEmpty()) {
+            return List.of();
+        }
+        try (PooledConnection conn = pool.acquire()) {
+            conn.raw().setAutoCommit(false);
+            PreparedStatement ps = conn.prepareReturningKeys(INSERT);
+            for (Todo todo : todos) {
+                ps.setString(1, todo.getTodo());
+                ps.setBoolean(2, Boolean.TRUE.equals(todo.getCompleted()));
+                ps.setInt(3, todo.getUserId());
+                ps.addBatch();
+            }
+            ps.executeBatch();
+
+            List<Todo> created = new ArrayList<>(todos.size());
+            try (ResultSet keys = ps.getGeneratedKeys()) {
+                for (Todo todo : todos) {
+                    if (!keys.next()) {
+                        throw new SQLException("Missing generated key for inserted todo");
+                    }
+                    created.add(new Todo(keys.getInt(1), todo.getTodo(),
+                            Boolean.TRUE.equals(todo.getCompleted()), todo.getUserId()));
+                }
+            }
+            conn.raw().commit();
+            return created;
+        } catch (SQLException e) {
+            throw new IOException("Failed to insert " + todos.size() + " todo(s)", e);
+        }
+    }
+
+    @Override
+    public Todo update(Todo todo) throws IOException {
+        int[] counts = executeUpdates(List.of(todo));
+        if (counts[0] == 0) {
+            throw new IllegalArgumentException("Todo not found: " + todo.getId());
+        }
+        return todo;
+    }
+
+    /**
+     * ✔️ Atualiza vários todos em um único batch JDBC; retorna quantos existiam
+     */
+    public int updateAll(List<Todo> todos) throws IOException {
+        int updated = 0;
+        for (int count : executeUpdates(todos)) {
+            // alguns drivers retornam SUCCESS_NO_INFO (-2) em batch
+            if (count != 0) {
+                updated++;
+            }
+        }
+        return updated;
+    }
+
+    private int[] executeUpdates(List<Todo> todos) throws IOException {
+        if (todos.isEmpty()) {
+            return new int[0];
+        }
+        try (PooledConnection conn = pool.acquire()) {
+            conn.raw().setAutoCommit(false);
+            PreparedStatement ps = conn.prepare(UPDATE);
+            for (Todo todo : todos) {
+                ps.setString(1, todo.getTodo());
+                ps.setBoolean(2, Boolean.TRUE.equals(todo.getCompleted()));
+                ps.setInt(3, todo.getUserId());
+                ps.setInt(4, todo.getId());
+                ps.addBatch();
+            }
+            int[] counts = ps.executeBatch();
+            conn.raw().commit();
+            return counts;
+        } catch (SQLException e) {
+            throw new IOException("Failed to update " + todos.size() + " todo(s)", e);
+        }
+    }
+
+    @Override
+    public boolean delete(int id) throws IOException {
+        try (PooledConnection conn = pool.acquire()) {
+            PreparedStatement ps = conn.prepare(DELETE);
+            ps.setInt(1, id);
+            return ps.executeUpdate() > 0;
+        } catch (SQLException e) {
+            throw new IOException("Failed to delete todo " + id, e);
+        }
+    }
+
+    @Override
+    public Optional<Todo> findById(int id) throws IOException {
+        try (PooledConnection conn = pool.acquire()) {
+            PreparedStatement ps = conn.prepare(SELECT_BY_ID);
+            ps.setInt(1, id);
+            List<Todo> rows = readAll(ps);
+            return rows.isEmpty() ? Optional.empty() : Optional.of(rows.get(0));
+        } catch (SQLException e) {
+            throw new IOException("Failed to load todo " + id, e);
+        }
+    }
+
+    /**
+     * Um único SELECT com o array de ids como parâmetro: o statement é o mesmo para qualquer tamanho de lote.
+     * Todos os ids do lote registram a latência da consulta inteira nas métricas
+     */
+    @Override
+    public Map<Integer, Todo> findByIds(Collection<Integer> ids) throws IOException {
+        Integer[] unique = new LinkedHashSet<>(ids).toArray(Integer[]::new);
+        if (unique.length == 0) {
+            return Map.of();
+        }
+        long start = System.nanoTime();
+        try (PooledConnection conn = pool.acquire()) {
+            PreparedStatement ps = conn.prepare(SELECT_BY_IDS);
+            Array idArray = conn.raw().createArrayOf("INTEGER", unique);
+            ps.setArray(1, idArray);
+            Map<Integer, Todo> found = new LinkedHashMap<>();
+            for (Todo todo : readAll(ps)) {
+                found.put(todo.getId(), todo);
+            }
+            idArray.free();
+            recordLookups(unique, found, System.nanoTime() - start);
+            return found;
+        } catch (SQLException e) {
+            recordLookups(unique, null, System.nanoTime() - start);
+            throw new IOException("Failed to load " + unique.length + " todo(s)", e);
+        }
+    }
+
+    public MultiGetMetrics multiGetMetrics() {
+        return multiGetMetrics;
+    }
+
+    /**
+     * {@code found == null} indica que a consulta falhou: todos os ids contam como FAILED
+     */
+    private void recordLookups(Integer[] ids, Map<Integer, Todo> found, long elapsedNanos) {
+        Map<Integer, Lookup> lookups = new LinkedHashMap<>();
+        for (Integer id : ids) {
+            Source source = found == null ? Source.FAILED
+                    : found.containsKey(id) ? Source.REMOTE : Source.MISSING;
+            lookups.put(id, new Lookup(source, elapsedNanos));
+        }
+        multiGetMetrics.recordBatch(lookups);
+    }
+
+    private List<Todo> readAll(PreparedStatement ps) throws SQLException {
+        List<Todo> todos = new ArrayList<>();
+        try (ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                todos.add(new Todo(
+                        rs.getInt("ID"),
+                        rs.getString("TODO"),
+                        rs.getBoolean("COMPLETED"),
+                        rs.getInt("USER_ID")
+                ));
+            }
+        }
+        return todos;
+    }
+}
@@ -0,0 +1,143 @@
+package com.antonio.infrastructure.repository;
+
+import com.antonio.domain.model.Page;
+import com.antonio.domain.model.Todo;
+import com.antonio.domain.port.TodoRepository;
+import com.antonio.exception.PartialLookupException;
+import com.antonio.infrastructure.journal.JournalEntry;
+import com.antonio.infrastructure.journal.JournalEntry.Operation;
+import com.antonio.infrastructure.journal.JournalReplayer;
+import com.antonio.infrastructure.journal.TodoJournal;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Escritas vão para o journal local e são confirmadas na hora; o replayer as envia ao upstream.
+ * Leituras vão ao upstream, exceto para todos com mutação ainda pendente no journal.
+ */
+public class TodoRepositoryJournaled implements TodoRepository {
+    private final TodoRepository upstream;
+    private final TodoJournal journal;
+    private final JournalReplayer replayer;
+
+    public TodoRepositoryJournaled(TodoRepository upstream, TodoJournal journal, JournalReplayer replayer) {
+        this.upstream = upstream;
+        this.journal = journal;
+        this.replayer = replayer;
+    }
+
+    @Override
+    public List<Todo> list(int limit, int skip) throws IOException {
+        return upstream.list(limit, skip);
+    }
+
+    @Override
+    public Page<Todo> listAfter(String cursor, int limit) throws IOException {
+        return upstream.listAfter(cursor, limit);
+    }
+
+    @Override
+    public Todo add(Todo todo) throws IOException {
+        JournalEntry entry = journal.append(Operation.ADD, todo);
+        replayer.nudge();
+        return entry.todo();
+    }
+
+    @Override
+    public Todo update(Todo todo) throws IOException {
+        JournalEntry entry = journal.append(Operation.UPDATE, todo);
+        replayer.nudge();
+        return entry.todo();
+    }
+
+    @Override
+    public boolean delete(int id) throws IOException {
+        journal.append(Operation.DELETE, new Todo(id, null, null, null));
+        replayer.nudge();
+        return true;
+    }
+
+    @Override
+    public Optional<Todo> findById(int id) throws IOException {
+        Map<Integer, JournalEntry> pending = latestPendingById();
+        JournalEntry entry = pending.get(id);
+        if (entry != null) {
+            return entry.op() == Operation.DELETE ? Optional.empty() : Optional.of(entry.todo());
+        }
+
+        if (TodoJournal.isProvisional(id)) {
+            // todo criado offline e já enviado: consulta pelo id definitivo
+            Integer assigned = journal.assignedId(id);
+            return assigned == null ? Optional.empty() : upstream.findById(assigned);
+        }
+        return upstream.findById(id);
+    }
+
+    @Override
+    public Map<Integer, Todo> findByIds(Collection<Integer> ids) throws IOException {
+        Map<Integer, JournalEntry> pending = latestPendingById();
+        Map<Integer, Todo> result = new LinkedHashMap<>();
+        // id no upstream -> ids pedidos (o provisório e o definitivo podem vir na mesma chamada)
+        Map<Integer, List<Integer>> requestedAs = new LinkedHashMap<>();
+
+        for (int id : new LinkedHashSet<>(ids)) {
+            JournalEntry entry = pending.get(id);
+            if (entry != null) {
+                if (entry.op() != Operation.DELETE) {
+                    result.put(id, entry.todo());
+                }
+            } else if (TodoJournal.isProvisional(id)) {
+                Integer assigned = journal.assignedId(id);
+                if (assigned != null) {
+                    requestedAs.computeIfAbsent(assigned, k -> new ArrayList<>()).add(id);
+                }
+            } else {
+                requestedAs.computeIfAbsent(id, k -> new ArrayList<>()).add(id);
+            }
+        }
+
+        if (!requestedAs.isEmpty()) {
+            try {
+                putRequested(result, upstream.findByIds(requestedAs.keySet()), requestedAs);
+            } catch (PartialLookupException e) {
+                putRequested(result, e.getFound(), requestedAs);
+                Set<Integer> failed = new HashSet<>();
+                e.getFailedIds().forEach(id -> failed.addAll(requestedAs.getOrDefault(id, List.of(id))));
+                throw new PartialLookupException(result, failed, e);
+            }
+        }
+        return result;
+    }
+
+    private static void putRequested(Map<Integer, Todo> result, Map<Integer, Todo> loaded,
+                                     Map<Integer, List<Integer>> requestedAs) {
+        loaded.forEach((id, todo) -> {
+            for (int requested : requestedAs.getOrDefault(id, List.of(id))) {
+                result.put(requested, todo);
+            }
+        });
+    }
+
+    /**
+     * Último estado pendente de cada id no journal (a entrada mais recente vence)
+     */
+    private Map<Integer, JournalEntry> latestPendingById() {
+        Map<Integer, JournalEntry> latest = new HashMap<>();
+        for (JournalEntry entry : journal.pendingSnapshot()) {
+            if (entry.todo().getId() != null) {
+                latest.put(entry.todo().getId(), entry);
+            }
+        }
+        return latest;
+    }
+}
@@ -0,0 +1,157 @@
+package com.antonio.infrastructure.security.audit;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Agregado por minuto das chamadas auditadas em modo AGGREGATED/SAMPLED: contagem, erros e
+ * histograma de duração por ação e usuário, em {@link LongAdder} (contadores listrados, sem
+ * disputa entre threads). Cada minuto fechado vira um AuditLog de resumo por ação/usuário.
+ */
+@Slf4j
+@Component
+class AuditAggregator {
+
+    // limites superiores (ms) dos buckets do histograma; o último bucket é "acima de 5000"
+    private static final long[] BUCKET_BOUNDS_MS = {1, 2, 5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000};
+    private static final long MINUTE_MILLIS = 60_000;
+    private static final long FLUSH_GRACE_MILLIS = 5_000;
+
+    static final class Rollup {
+        final LongAdder count = new LongAdder();
+        final LongAdder errors = new LongAdder();
+        final LongAdder totalNanos = new LongAdder();
+        final LongAdder[] histogram = new LongAdder[BUCKET_BOUNDS_MS.length + 1];
+
+        Rollup() {
+            for (int i = 0; i < histogram.length; i++) {
+                histogram[i] = new LongAdder();
+            }
+        }
+
+        void record(long durationNanos, boolean error) {
+            count.increment();
+            if (error) {
+                errors.increment();
+            }
+            totalNanos.add(durationNanos);
+            long millis = TimeUnit.NANOSECONDS.toMillis(durationNanos);
+            int bucket = 0;
+            while (bucket < BUCKET_BOUNDS_MS.length && millis >= BUCKET_BOUNDS_MS[bucket]) {
+                bucket++;
+            }
+            histogram[bucket].increment();
+        }
+    }
+
+    /**
+     * minuto → ação → usuário → contadores
+     */
+    private final NavigableMap<Long, Map<String, Map<String, Rollup>>> windows = new ConcurrentSkipListMap<>();
+    private final AuditPipeline auditPipeline;
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "audit-aggregator");
+        t.setDaemon(true);
+        return t;
+    });
+
+    AuditAggregator(AuditPipeline auditPipeline) {
+        this.auditPipeline = auditPipeline;
+    }
+
+    @PostConstruct
+    void start() {
+        flusher.scheduleWithFixedDelay(this::flushClosedQuietly, 15, 15, TimeUnit.SECONDS);
+    }
+
+    /**
+     * ➕ Conta uma chamada; no caminho quente só há lookups em mapas e incrementos de LongAdder
+     */
+    void record(String username, String action, long durationNanos, boolean error) {
+        long minute = System.currentTimeMillis() / MINUTE_MILLIS;
+        windows.computeIfAbsent(minute, m -> new ConcurrentHashMap<>())
+            .computeIfAbsent(action, a -> new ConcurrentHashMap<>())
+            .computeIfAbsent(username, u -> new Rollup())
+            .record(durationNanos, error);
+    }
+
+    /**
+     * 📤 Publica os minutos já fechados (com folga para incrementos atrasados)
+     */
+    void flushClosed() {
+        long closedBefore = (System.currentTimeMillis() - FLUSH_GRACE_MILLIS) / MINUTE_MILLIS;
+        flush(windows.headMap(closedBefore, false));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        flusher.shutdown();
+        flush(windows);
+    }
+
+    private void flush(Map<Long, Map<String, Map<String, Rollup>>> closed) {
+        for (Long minute : closed.keySet()) {
+            Map<String, Map<String, Rollup>> window = windows.remove(minute);
+            if (window == null) {
+                continue;
+            }
+            LocalDateTime timestamp = LocalDateTime.ofInstant(
+                Instant.ofEpochMilli(minute * MINUTE_MILLIS), ZoneId.systemDefault());
+            window.forEach((action, byUser) -> byUser.forEach((username, rollup) ->
+                auditPipeline.publish(toAuditLog(timestamp, action, username, rollup))));
+        }
+    }
+
+    private void flushClosedQuietly() {
+        try {
+            flushClosed();
+        } catch (RuntimeException e) {
+            log.error("❌ Failed to flush audit roll-ups", e);
+        }
+    }
+
+    private static AuditLog toAuditLog(LocalDateTime minute, String action, String username, Rollup rollup) {
+        long count = rollup.count.sum();
+        StringBuilder summary = new StringBuilder(160)
+            .append("count=").append(count)
+            .append(", errors=").append(rollup.errors.sum())
+            .append(", histogramMs={");
+        for (int i = 0; i < rollup.histogram.length; i++) {
+            long bucket = rollup.histogram[i].sum();
+            if (bucket == 0) {
+                continue;
+            }
+            if (summary.charAt(summary.length() - 1) != '{') {
+                summary.append(", ");
+            }
+            summary.append(i < BUCKET_BOUNDS_MS.length ? "<" + BUCKET_BOUNDS_MS[i] : ">=" + BUCKET_BOUNDS_MS[i - 1])
+                .append('=').append(bucket);
+        }
+        summary.append('}');
+
+        return AuditLog.builder()
+            .timestamp(minute)
+            .username(username)
+            .action(action)
+            .description("Aggregated audit roll-up (1 minute)")
+            .arguments(summary.toString())
+            .status("AGGREGATED")
+            .durationMs(TimeUnit.NANOSECONDS.toMillis(rollup.totalNanos.sum()))
+            .level(AuditLevel.INFO)
+            .build();
+    }
+}
@@ -0,0 +1,388 @@
+package com.antonio.infrastructure.security.audit;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Consulta os segmentos arquivados pelo {@link AuditSegmentArchiver} sem carregá-los no heap.
+ *
+ * Cada segmento vira uma tarefa fork-join. O {@link AuditSegmentSummary} descarta segmentos fora do
+ * intervalo de tempo ou sem o usuário/ação/status/nível pedidos; nos que sobram, status, nível,
+ * ação e usuário são conferidos nos bytes da linha antes do parse. Os resultados chegam ao
+ * chamador por uma fila limitada conforme são encontrados, segmento a segmento: a ordem entre
+ * segmentos não é garantida.
+ */
+@Slf4j
+public class AuditArchiveQueryEngine implements AutoCloseable {
+    private static final String PREFIX = "audit-";
+    private static final String SUFFIX = ".jsonl";
+    private static final int QUEUE_CAPACITY = 1024;
+    private static final long OFFER_TIMEOUT_MS = 50;
+
+    private final Path dir;
+    private final ForkJoinPool pool;
+    private final JsonFactory jsonFactory = new JsonFactory();
+    private final LongAdder unreadableSummaries = new LongAdder();
+
+    public AuditArchiveQueryEngine(Path dir, int parallelism) {
+        this.dir = dir;
+        this.pool = new ForkJoinPool(Math.max(1, parallelism));
+    }
+
+    /**
+     * 🖥️ Entrada para ferramentas administrativas: filtros opcionais (null = qualquer) e cada evento como JSON
+     */
+    public Stream<String> queryJson(String username, String action, String status, String level,
+                                    LocalDateTime from, LocalDateTime to, int limit) {
+        AuditQuery query = AuditQuery.builder()
+            .username(username)
+            .action(action)
+            .status(status)
+            .level(level != null ? AuditLevel.valueOf(level.toUpperCase()) : null)
+            .from(from)
+            .to(to)
+            .limit(limit)
+            .build();
+        return query(query).map(auditLog -> AuditEventEncoder.toJson(auditLog, AuditEventEncoder.Fields.FULL));
+    }
+
+    /**
+     * 🔎 Dispara a varredura e devolve os eventos em streaming; feche o stream para cancelar o que falta
+     */
+    Stream<AuditLog> query(AuditQuery query) {
+        List<Path> segments;
+        try {
+            segments = segmentFiles(query.isNewestFirst());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to list audit archive " + dir, e);
+        }
+        Scan scan = new Scan(query, segments);
+        pool.execute(scan);
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(scan.results(), Spliterator.ORDERED | Spliterator.NONNULL), false)
+            .onClose(scan::cancel);
+    }
+
+    @Override
+    public void close() {
+        pool.shutdownNow();
+    }
+
+    private List<Path> segmentFiles(boolean newestFirst) throws IOException {
+        if (!Files.isDirectory(dir)) {
+            return List.of();
+        }
+        try (Stream<Path> paths = Files.list(dir)) {
+            // nome = primeiro id com zeros à esquerda, então a ordem lexicográfica é a cronológica
+            Comparator<Path> order = newestFirst ? Comparator.reverseOrder() : Comparator.naturalOrder();
+            return paths
+                .filter(p -> p.getFileName().toString().startsWith(PREFIX))
+                .filter(p -> p.getFileName().toString().endsWith(SUFFIX))
+                .sorted(order)
+                .toList();
+        }
+    }
+
+    /**
+     * Uma consulta em andamento: tarefa raiz que bifurca uma subtarefa por segmento e a fila de saída
+     */
+    private final class Scan extends RecursiveAction {
+        private static final Object END = new Object();
+
+        private final AuditQuery query;
+        private final List<Path> segments;
+        private final byte[][] needles;
+        private final BlockingQueue<Object> queue = new LinkedBlockingQueue<>(QUEUE_CAPACITY);
+        private final AtomicBoolean cancelled = new AtomicBoolean();
+        private final LongAdder scanned = new LongAdder();
+        private final LongAdder skipped = new LongAdder();
+        private final LongAdder matched = new LongAdder();
+
+        Scan(AuditQuery query, List<Path> segments) {
+            this.query = query;
+            this.segments = segments;
+            this.needles = needles(query);
+        }
+
+        @Override
+        protected void compute() {
+            long startNanos = System.nanoTime();
+            try {
+                List<RecursiveAction> tasks = new ArrayList<>(segments.size());
+                for (Path segment : segments) {
+                    tasks.add(new RecursiveAction() {
+                        @Override
+                        protected void compute() {
+                            scanSegment(segment);
+                        }
+                    });
+                }
+                invokeAll(tasks);
+            } catch (RuntimeException e) {
+                emit(e);
+            } finally {
+                emit(END);
+                log.debug("🔎 Audit archive query: {} segments scanned, {} skipped by summary, {} matches in {}ms",
+                          scanned.sum(), skipped.sum(), matched.sum(),
+                          TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+            }
+        }
+
+        private void scanSegment(Path segment) {
+            if (cancelled.get()) {
+                return;
+            }
+            try {
+                if (excludedBySummary(segment)) {
+                    skipped.increment();
+                    return;
+                }
+                scanned.increment();
+                byte[] data = Files.readAllBytes(segment);
+                int lineStart = 0;
+                while (lineStart < data.length && !cancelled.get()) {
+                    int lineEnd = indexOf(data, (byte) '\n', lineStart);
+                    if (lineEnd < 0) {
+                        lineEnd = data.length;
+                    }
+                    if (lineEnd > lineStart && containsAll(data, lineStart, lineEnd)) {
+                        AuditLog auditLog = parse(data, lineStart, lineEnd - lineStart);
+                        if (query.matches(auditLog)) {
+                            matched.increment();
+                            emit(auditLog);
+                        }
+                    }
+                    lineStart = lineEnd + 1;
+                }
+            } catch (IOException e) {
+                emit(new UncheckedIOException("Failed to scan audit segment " + segment, e));
+            }
+        }
+
+        /**
+         * Arquivos antigos, sem resumo, são sempre lidos; um resumo ilegível também só custa a leitura completa
+         */
+        private boolean excludedBySummary(Path segment) {
+            Path summaryFile = AuditSegmentSummary.pathFor(segment);
+            if (!Files.exists(summaryFile)) {
+                return false;
+            }
+            try {
+                return !AuditSegmentSummary.read(summaryFile).mightMatch(query);
+            } catch (IOException | RuntimeException e) {
+                unreadableSummaries.increment();
+                long total = unreadableSummaries.sum();
+                if (Long.bitCount(total) == 1) {
+                    log.warn("⚠️ Audit segment summary {} is unreadable ({}) - scanning the full segment, {} so far",
+                             summaryFile, e.toString(), total);
+                }
+                return false;
+            }
+        }
+
+        private boolean containsAll(byte[] data, int from, int to) {
+            for (byte[] needle : needles) {
+                if (indexOf(data, needle, from, to) < 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Enfileira sem travar para sempre: com o consumidor parado, a tarefa desiste quando a consulta é cancelada
+         */
+        private void emit(Object item) {
+            try {
+                while (!queue.offer(item, OFFER_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                    if (cancelled.get() && item != END) {
+                        return;
+                    }
+                    if (cancelled.get()) {
+                        queue.clear();
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                cancelled.set(true);
+            }
+        }
+
+        void cancel() {
+            cancelled.set(true);
+            queue.clear();
+        }
+
+        Iterator<AuditLog> results() {
+            return new Iterator<>() {
+                private AuditLog next;
+                private int returned;
+                private boolean done;
+
+                @Override
+                public boolean hasNext() {
+                    if (next != null) {
+                        return true;
+                    }
+                    if (done) {
+                        return false;
+                    }
+                    if (query.getLimit() > 0 && returned >= query.getLimit()) {
+                        finish();
+                        return false;
+                    }
+                    Object item = take();
+                    if (item == END) {
+                        done = true;
+                        return false;
+                    }
+                    if (item instanceof RuntimeException e) {
+                        finish();
+                        throw e;
+                    }
+                    next = (AuditLog) item;
+                    return true;
+                }
+
+                @Override
+                public AuditLog next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    AuditLog result = next;
+                    next = null;
+                    returned++;
+                    return result;
+                }
+
+                private void finish() {
+                    done = true;
+                    cancel();
+                }
+            };
+        }
+
+        private Object take() {
+            try {
+                return queue.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                cancel();
+                return END;
+            }
+        }
+    }
+
+    /**
+     * Trechos exatos que o {@link AuditEventEncoder} escreve para cada filtro de igualdade;
+     * valores que precisariam de escape ficam só para o {@link AuditQuery#matches}
+     */
+    private static byte[][] needles(AuditQuery query) {
+        List<byte[]> needles = new ArrayList<>(4);
+        addNeedle(needles, "status", query.getStatus());
+        addNeedle(needles, "level", query.getLevel() != null ? query.getLevel().name() : null);
+        addNeedle(needles, "action", query.getAction());
+        addNeedle(needles, "username", query.getUsername());
+        return needles.toArray(new byte[0][]);
+    }
+
+    private static void addNeedle(List<byte[]> needles, String field, String value) {
+        if (value == null) {
+            return;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x20 || c == '"' || c == '\\') {
+                return;
+            }
+        }
+        needles.add(("\"" + field + "\":\"" + value + "\"").getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static int indexOf(byte[] data, byte b, int from) {
+        for (int i = from; i < data.length; i++) {
+            if (data[i] == b) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int indexOf(byte[] data, byte[] needle, int from, int to) {
+        byte first = needle[0];
+        for (int i = from, last = to - needle.length; i <= last; i++) {
+            if (data[i] != first) {
+                continue;
+            }
+            int j = 1;
+            while (j < needle.length && data[i + j] == needle[j]) {
+                j++;
+            }
+            if (j == needle.length) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Lê uma linha no formato {@link AuditEventEncoder.Fields#FULL} com o parser de streaming do Jackson
+     */
+    private AuditLog parse(byte[] data, int offset, int length) throws IOException {
+        AuditLog auditLog = new AuditLog();
+        try (JsonParser parser = jsonFactory.createParser(data, offset, length)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Malformed audit archive line");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken token = parser.nextToken();
+                if (token == JsonToken.VALUE_NULL) {
+                    continue;
+                }
+                switch (field) {
+                    case "id" -> auditLog.setId(parser.getLongValue());
+                    case "timestamp" -> auditLog.setTimestamp(LocalDateTime.parse(parser.getText()));
+                    case "username" -> auditLog.setUsername(parser.getText());
+                    case "ip" -> auditLog.setIpAddress(parser.getText());
+                    case "action" -> auditLog.setAction(parser.getText());
+                    case "description" -> auditLog.setDescription(parser.getText());
+                    case "method" -> auditLog.setMethod(parser.getText());
+                    case "arguments" -> auditLog.setArguments(parser.getText());
+                    case "result" -> auditLog.setResult(parser.getText());
+                    case "status" -> auditLog.setStatus(parser.getText());
+                    case "error" -> auditLog.setErrorMessage(parser.getText());
+                    case "duration" -> auditLog.setDurationMs(parser.getLongValue());
+                    case "level" -> auditLog.setLevel(AuditLevel.valueOf(parser.getText()));
+                    default -> parser.skipChildren();
+                }
+            }
+        }
+        return auditLog;
+    }
+}
@@ -1,5 +1,6 @@
 package com.antonio.infrastructure.security.audit;
 
+import com.antonio.infrastructure.security.filter.ClientContext;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -27,16 +28,24 @@ import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 @Aspect
 @Component
 public class AuditAspect {
 
-    private final AuditLogRepository auditLogRepository;
+    private final AuditPipeline auditPipeline;
+    private final AuditCapture auditCapture;
+    private final AuditSampler auditSampler;
+    private final AuditAggregator auditAggregator;
 
-    public AuditAspect(AuditLogRepository auditLogRepository) {
-        this.auditLogRepository = auditLogRepository;
+    public AuditAspect(AuditPipeline auditPipeline, AuditCapture auditCapture,
+                       AuditSampler auditSampler, AuditAggregator auditAggregator) {
+        this.auditPipeline = auditPipeline;
+        this.auditCapture = auditCapture;
+        this.auditSampler = auditSampler;
+        this.auditAggregator = auditAggregator;
     }
 
     /**
@@ -44,24 +53,18 @@ public class AuditAspect {
      */
     @Around("@annotation(auditable)")
     public Object auditMethod(ProceedingJoinPoint joinPoint, Auditable auditable) throws Throwable {
+        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+        if (auditSampler.decide(signature.getMethod(), joinPoint.getTarget(), auditable) == AuditSampler.Decision.AGGREGATE) {
+            return aggregate(joinPoint, signature, auditable);
+        }
+
         long startTime = System.currentTimeMillis();
         
         // Captura contexto
         String username = getCurrentUsername();
-        String ipAddress = getClientIP();
-        String method = joinPoint.getSignature().toShortString();
-        Object[] args = maskSensitiveData(joinPoint.getArgs());
-        
-        AuditLog auditLog = AuditLog.builder()
-            .timestamp(LocalDateTime.now())
-            .username(username)
-            .ipAddress(ipAddress)
-            .action(auditable.action())
-            .description(auditable.description())
-            .method(method)
-            .arguments(Arrays.toString(args))
-            .level(auditable.level())
-            .build();
+        AuditCapture.MethodPlan plan = auditCapture.plan(
+            signature.getMethod(), joinPoint.getTarget(), signature.getParameterNames());
+        AuditLog auditLog = newAuditLog(joinPoint, signature, auditable, plan, username);
         
         try {
             // Executa método original
@@ -70,64 +73,71 @@ public class AuditAspect {
             long duration = System.currentTimeMillis() - startTime;
             auditLog.setStatus("SUCCESS");
             auditLog.setDurationMs(duration);
-            auditLog.setResult(maskSensitiveData(result));
+            auditLog.setResult(auditCapture.result(plan, result));
             
-            log.info("✅ AUDIT [{}] - User: {}, Action: {}, Duration: {}ms", 
+            log.debug("✅ AUDIT [{}] - User: {}, Action: {}, Duration: {}ms", 
                      auditable.level(), username, auditable.action(), duration);
             
-            auditLogRepository.save(auditLog);
+            // persistência e log estruturado ficam com o consumidor do pipeline
+            auditCapture.enforceCap(auditLog);
+            auditPipeline.publish(auditLog);
             
             return result;
             
         } catch (Exception e) {
-            long duration = System.currentTimeMillis() - startTime;
-            auditLog.setStatus("FAILURE");
-            auditLog.setDurationMs(duration);
-            auditLog.setErrorMessage(e.getMessage());
-            auditLog.setLevel(AuditLevel.ERROR);
-            
-            log.error("❌ AUDIT [ERROR] - User: {}, Action: {}, Error: {}", 
-                      username, auditable.action(), e.getMessage());
-            
-            auditLogRepository.save(auditLog);
-            
+            publishFailure(auditLog, auditable, e, System.currentTimeMillis() - startTime);
             throw e;
         }
     }
 
     /**
-     * 🔐 Mascara dados sensíveis
+     * 📊 Caminho agregado: sem AuditLog no sucesso, só contadores; falhas continuam com registro completo
      */
-    private Object[] maskSensitiveData(Object[] args) {
-        if (args == null) return null;
-        
-        Object[] masked = new Object[args.length];
-        for (int i = 0; i < args.length; i++) {
-            Object arg = args[i];
-            
-            if (arg == null) {
-                masked[i] = null;
-            } else if (arg.toString().toLowerCase().contains("password")) {
-                masked[i] = "***MASKED***";
-            } else if (arg.toString().toLowerCase().contains("token")) {
-                masked[i] = "***MASKED***";
-            } else {
-                masked[i] = arg.toString();
-            }
+    private Object aggregate(ProceedingJoinPoint joinPoint, MethodSignature signature,
+                             Auditable auditable) throws Throwable {
+        long startNanos = System.nanoTime();
+        try {
+            Object result = joinPoint.proceed();
+            auditAggregator.record(getCurrentUsername(), auditable.action(), System.nanoTime() - startNanos, false);
+            return result;
+        } catch (Exception e) {
+            long elapsedNanos = System.nanoTime() - startNanos;
+            String username = getCurrentUsername();
+            auditAggregator.record(username, auditable.action(), elapsedNanos, true);
+
+            AuditCapture.MethodPlan plan = auditCapture.plan(
+                signature.getMethod(), joinPoint.getTarget(), signature.getParameterNames());
+            AuditLog auditLog = newAuditLog(joinPoint, signature, auditable, plan, username);
+            publishFailure(auditLog, auditable, e, TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+            throw e;
         }
-        return masked;
     }
 
-    private Object maskSensitiveData(Object result) {
-        if (result == null) return null;
+    private AuditLog newAuditLog(ProceedingJoinPoint joinPoint, MethodSignature signature, Auditable auditable,
+                                 AuditCapture.MethodPlan plan, String username) {
+        return AuditLog.builder()
+            .timestamp(LocalDateTime.now())
+            .username(username)
+            .ipAddress(getClientIP())
+            .action(auditable.action())
+            .description(auditable.description())
+            .method(signature.toShortString())
+            .arguments(auditCapture.arguments(plan, joinPoint.getArgs()))
+            .level(auditable.level())
+            .build();
+    }
+
+    private void publishFailure(AuditLog auditLog, Auditable auditable, Exception e, long duration) {
+        auditLog.setStatus("FAILURE");
+        auditLog.setDurationMs(duration);
+        auditLog.setErrorMessage(e.getMessage());
+        auditLog.setLevel(AuditLevel.ERROR);
         
-        String resultStr = result.toString();
-        if (resultStr.toLowerCase().contains("password") || 
-            resultStr.toLowerCase().contains("token")) {
-            return "***MASKED***";
-        }
+        log.error("❌ AUDIT [ERROR] - User: {}, Action: {}, Error: {}", 
+                  auditLog.getUsername(), auditable.action(), e.getMessage());
         
-        return resultStr;
+        auditCapture.enforceCap(auditLog);
+        auditPipeline.publish(auditLog);
     }
 
     /**
@@ -139,25 +149,10 @@ public class AuditAspect {
     }
 
     /**
-     * 🌐 Obtém IP do cliente
+     * 🌐 Obtém IP do cliente (resolvido uma vez pelo ClientContextFilter)
      */
     private String getClientIP() {
-        try {
-            ServletRequestAttributes attrs = (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
-            if (attrs != null) {
-                HttpServletRequest request = attrs.getRequest();
-                String ip = request.getHeader("X-Forwarded-For");
-                if (ip == null || ip.isEmpty()) {
-                    ip = request.getHeader("X-Real-IP");
-                }
-                if (ip == null || ip.isEmpty()) {
-                    ip = request.getRemoteAddr();
-                }
-                return ip;
-            }
-        } catch (Exception e) {
-            log.warn("Could not retrieve client IP", e);
-        }
-        return "unknown";
+        ClientContext client = ClientContext.current();
+        return client != null ? client.clientIp() : "unknown";
     }
 }
\ No newline at end of file
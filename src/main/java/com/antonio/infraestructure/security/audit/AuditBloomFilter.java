@@ -0,0 +1,75 @@
+package com.antonio.infrastructure.security.audit;
+
+/**
+ * Filtro de Bloom simples (double hashing sobre um hash de 64 bits) para descartar segmentos
+ * arquivados que com certeza não contêm um valor; falso positivo só custa a leitura do segmento.
+ */
+final class AuditBloomFilter {
+    private static final int BITS_PER_KEY = 10;
+    private static final int HASHES = 6;
+
+    private final long[] words;
+    private final int mask;
+
+    private AuditBloomFilter(long[] words) {
+        this.words = words;
+        this.mask = words.length * Long.SIZE - 1;
+    }
+
+    /**
+     * Filtro com ~1% de falsos positivos para {@code expectedKeys} chaves distintas
+     */
+    static AuditBloomFilter forKeys(int expectedKeys) {
+        int bits = Math.max(Long.SIZE, Integer.highestOneBit(Math.max(1, expectedKeys * BITS_PER_KEY - 1) << 1));
+        return new AuditBloomFilter(new long[bits / Long.SIZE]);
+    }
+
+    static AuditBloomFilter of(long[] words) {
+        if (Integer.bitCount(words.length) != 1) {
+            throw new IllegalArgumentException("Bloom filter size must be a power of two: " + words.length);
+        }
+        return new AuditBloomFilter(words);
+    }
+
+    void put(String key) {
+        long hash = hash(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        for (int i = 0; i < HASHES; i++) {
+            int bit = (h1 + i * h2) & mask;
+            words[bit >>> 6] |= 1L << bit;
+        }
+    }
+
+    boolean mightContain(String key) {
+        long hash = hash(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        for (int i = 0; i < HASHES; i++) {
+            int bit = (h1 + i * h2) & mask;
+            if ((words[bit >>> 6] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    long[] words() {
+        return words;
+    }
+
+    // FNV-1a sobre os chars seguido do finalizador do MurmurHash3 para espalhar os bits
+    private static long hash(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            h ^= key.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,376 @@
+package com.antonio.infrastructure.security.audit;
+
+import com.antonio.domain.model.Page;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Parameter;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Decide como argumentos e retorno de um método auditado viram texto, sem chamar toString() em tudo.
+ *
+ * O plano de cada método (nomes e parâmetros sensíveis) é montado na primeira chamada e o
+ * metadado de cada tipo (escalar, coleção, bean com campos {@link Sensitive}...) fica em um
+ * {@link ClassValue}. Coleções viram resumo (tipo, tamanho, primeiros ids) e o registro inteiro
+ * respeita um teto de bytes.
+ */
+@Component
+class AuditCapture {
+
+    static final String MASK = "***MASKED***";
+    private static final String ELLIPSIS = "…";
+    private static final String[] SENSITIVE_NAMES = {"password", "token", "secret"};
+
+    record MethodPlan(String[] names, boolean[] sensitive, boolean sensitiveResult) {
+    }
+
+    private enum Kind { SCALAR, COLLECTION, MAP, ARRAY, OPTIONAL, PAGE, BEAN, OTHER }
+
+    private record BeanField(Field field, boolean sensitive) {
+    }
+
+    private record TypeInfo(Kind kind, String name, Method idAccessor, List<BeanField> fields) {
+    }
+
+    private final int maxIds;
+    private final int maxValueChars;
+    private final int maxRecordBytes;
+    private final Map<Method, MethodPlan> plans = new ConcurrentHashMap<>();
+    private final ClassValue<TypeInfo> types = new ClassValue<>() {
+        @Override
+        protected TypeInfo computeValue(Class<?> type) {
+            return inspect(type);
+        }
+    };
+
+    AuditCapture(
+        @Value("${security.audit.capture.max-ids:5}") int maxIds,
+        @Value("${security.audit.capture.max-value-chars:128}") int maxValueChars,
+        @Value("${security.audit.capture.max-record-bytes:4096}") int maxRecordBytes
+    ) {
+        this.maxIds = maxIds;
+        this.maxValueChars = maxValueChars;
+        this.maxRecordBytes = maxRecordBytes;
+    }
+
+    /**
+     * 🗺️ Plano do método, calculado uma vez; anotações são lidas no método da classe alvo, não na interface
+     */
+    MethodPlan plan(Method method, Object target, String[] parameterNames) {
+        MethodPlan plan = plans.get(method);
+        if (plan != null) {
+            return plan;
+        }
+        return plans.computeIfAbsent(method, m -> {
+            Method specific = target != null ? AopUtils.getMostSpecificMethod(m, target.getClass()) : m;
+            Parameter[] parameters = specific.getParameters();
+            String[] names = new String[parameters.length];
+            boolean[] sensitive = new boolean[parameters.length];
+            for (int i = 0; i < parameters.length; i++) {
+                names[i] = parameterNames != null && i < parameterNames.length ? parameterNames[i] : parameters[i].getName();
+                sensitive[i] = parameters[i].isAnnotationPresent(Sensitive.class) || isSensitiveName(names[i]);
+            }
+            return new MethodPlan(names, sensitive, specific.isAnnotationPresent(Sensitive.class));
+        });
+    }
+
+    String arguments(MethodPlan plan, Object[] args) {
+        if (args == null) {
+            return null;
+        }
+        StringBuilder sb = new StringBuilder(32).append('[');
+        for (int i = 0; i < args.length; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(i < plan.names().length ? plan.names()[i] : "arg" + i).append('=');
+            if (i < plan.sensitive().length && plan.sensitive()[i]) {
+                sb.append(MASK);
+            } else {
+                render(sb, args[i], 0);
+            }
+        }
+        return sb.append(']').toString();
+    }
+
+    String result(MethodPlan plan, Object result) {
+        if (result == null) {
+            return null;
+        }
+        if (plan.sensitiveResult()) {
+            return MASK;
+        }
+        StringBuilder sb = new StringBuilder(32);
+        render(sb, result, 0);
+        return sb.toString();
+    }
+
+    /**
+     * ✂️ Corta campos livres (argumentos, resultado, erro, descrição) até o registro caber no teto
+     */
+    void enforceCap(AuditLog auditLog) {
+        long total = utf8Length(auditLog.getUsername()) + utf8Length(auditLog.getIpAddress())
+            + utf8Length(auditLog.getAction()) + utf8Length(auditLog.getDescription())
+            + utf8Length(auditLog.getMethod()) + utf8Length(auditLog.getArguments())
+            + utf8Length(auditLog.getResult()) + utf8Length(auditLog.getStatus())
+            + utf8Length(auditLog.getErrorMessage());
+        long excess = total - maxRecordBytes;
+        if (excess <= 0) {
+            return;
+        }
+        excess = shrink(auditLog.getArguments(), excess, auditLog::setArguments);
+        excess = shrink(auditLog.getResult(), excess, auditLog::setResult);
+        excess = shrink(auditLog.getErrorMessage(), excess, auditLog::setErrorMessage);
+        shrink(auditLog.getDescription(), excess, auditLog::setDescription);
+    }
+
+    private void render(StringBuilder sb, Object value, int depth) {
+        if (value == null) {
+            sb.append("null");
+            return;
+        }
+        TypeInfo info = types.get(value.getClass());
+        switch (info.kind()) {
+            case SCALAR -> appendScalar(sb, value);
+            case COLLECTION -> {
+                summarize(sb, info.name(), ((Collection<?>) value).size(), (Collection<?>) value);
+                sb.append(')');
+            }
+            case MAP -> sb.append(info.name()).append("(size=").append(((Map<?, ?>) value).size()).append(')');
+            case ARRAY -> {
+                int length = java.lang.reflect.Array.getLength(value);
+                if (value instanceof Object[] array) {
+                    summarize(sb, info.name(), length, Arrays.asList(array).subList(0, Math.min(length, maxIds + 1)));
+                    sb.append(')');
+                } else {
+                    sb.append(info.name()).append("(length=").append(length).append(')');
+                }
+            }
+            case OPTIONAL -> {
+                sb.append("Optional(");
+                render(sb, ((Optional<?>) value).orElse(null), depth);
+                sb.append(')');
+            }
+            case PAGE -> {
+                Page<?> page = (Page<?>) value;
+                summarize(sb, "Page", page.items().size(), page.items());
+                sb.append(", hasNext=").append(page.hasNext()).append(')');
+            }
+            case BEAN -> renderBean(sb, value, info, depth);
+            case OTHER -> sb.append(info.name());
+        }
+    }
+
+    private void renderBean(StringBuilder sb, Object bean, TypeInfo info, int depth) {
+        if (depth > 0) {
+            // bean aninhado: só a identidade
+            sb.append(info.name());
+            Object id = idOf(bean, info);
+            if (id != null) {
+                sb.append('#').append(id);
+            }
+            return;
+        }
+        sb.append(info.name()).append('(');
+        for (int i = 0; i < info.fields().size(); i++) {
+            BeanField beanField = info.fields().get(i);
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(beanField.field().getName()).append('=');
+            if (beanField.sensitive()) {
+                sb.append(MASK);
+                continue;
+            }
+            try {
+                render(sb, beanField.field().get(bean), depth + 1);
+            } catch (IllegalAccessException e) {
+                sb.append('?');
+            }
+        }
+        sb.append(')');
+    }
+
+    /**
+     * Abre "Nome(size=n, ids=[...]" sem fechar, para quem chama acrescentar outros campos
+     */
+    private void summarize(StringBuilder sb, String name, int size, Collection<?> elements) {
+        sb.append(name).append("(size=").append(size);
+        int shown = 0;
+        StringBuilder ids = new StringBuilder();
+        for (Object element : elements) {
+            if (shown == maxIds) {
+                ids.append(", ").append(ELLIPSIS);
+                break;
+            }
+            Object id = element != null ? idOf(element, types.get(element.getClass())) : null;
+            if (id == null) {
+                ids.setLength(0); // elementos sem id: só o tamanho
+                break;
+            }
+            ids.append(shown == 0 ? "" : ", ").append(id);
+            shown++;
+        }
+        if (!ids.isEmpty()) {
+            sb.append(", ids=[").append(ids).append(']');
+        }
+    }
+
+    private void appendScalar(StringBuilder sb, Object value) {
+        String text = String.valueOf(value);
+        if (value instanceof CharSequence && isSensitiveName(text)) {
+            // heurística antiga mantida para strings soltas que parecem conter segredo
+            sb.append(MASK);
+            return;
+        }
+        if (text.length() > maxValueChars) {
+            sb.append(text, 0, maxValueChars).append(ELLIPSIS);
+        } else {
+            sb.append(text);
+        }
+    }
+
+    private static Object idOf(Object value, TypeInfo info) {
+        if (info.idAccessor() == null) {
+            return null;
+        }
+        try {
+            return info.idAccessor().invoke(value);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static TypeInfo inspect(Class<?> type) {
+        String name = type.getSimpleName().isEmpty() ? type.getName() : type.getSimpleName();
+        if (CharSequence.class.isAssignableFrom(type) || Number.class.isAssignableFrom(type)
+            || type == Boolean.class || type == Character.class || type.isEnum()
+            || TemporalAccessor.class.isAssignableFrom(type) || type == UUID.class) {
+            return new TypeInfo(Kind.SCALAR, name, null, List.of());
+        }
+        if (Collection.class.isAssignableFrom(type)) {
+            return new TypeInfo(Kind.COLLECTION, collectionName(type), null, List.of());
+        }
+        if (Map.class.isAssignableFrom(type)) {
+            return new TypeInfo(Kind.MAP, "Map", null, List.of());
+        }
+        if (type.isArray()) {
+            return new TypeInfo(Kind.ARRAY, type.getComponentType().getSimpleName() + "[]", null, List.of());
+        }
+        if (type == Optional.class) {
+            return new TypeInfo(Kind.OPTIONAL, name, null, List.of());
+        }
+        if (type == Page.class) {
+            return new TypeInfo(Kind.PAGE, name, null, List.of());
+        }
+        if (type.getPackageName().startsWith("com.antonio")) {
+            return new TypeInfo(Kind.BEAN, name, idAccessor(type), beanFields(type));
+        }
+        return new TypeInfo(Kind.OTHER, name, null, List.of());
+    }
+
+    private static List<BeanField> beanFields(Class<?> type) {
+        List<BeanField> fields = new ArrayList<>();
+        for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+            for (Field field : c.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers()) || field.isSynthetic()) {
+                    continue;
+                }
+                boolean sensitive = field.isAnnotationPresent(Sensitive.class) || isSensitiveName(field.getName());
+                if (!sensitive && !field.trySetAccessible()) {
+                    continue;
+                }
+                fields.add(new BeanField(field, sensitive));
+            }
+        }
+        return List.copyOf(fields);
+    }
+
+    private static Method idAccessor(Class<?> type) {
+        for (String candidate : new String[]{"getId", "id"}) {
+            try {
+                Method method = type.getMethod(candidate);
+                if (method.getReturnType() != void.class) {
+                    return method;
+                }
+            } catch (NoSuchMethodException e) {
+                // tenta o próximo nome
+            }
+        }
+        return null;
+    }
+
+    private static String collectionName(Class<?> type) {
+        if (List.class.isAssignableFrom(type)) {
+            return "List";
+        }
+        if (java.util.Set.class.isAssignableFrom(type)) {
+            return "Set";
+        }
+        return "Collection";
+    }
+
+    private static boolean isSensitiveName(String text) {
+        String lower = text.toLowerCase(Locale.ROOT);
+        for (String name : SENSITIVE_NAMES) {
+            if (lower.contains(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long shrink(String value, long excess, java.util.function.Consumer<String> setter) {
+        if (excess <= 0 || value == null) {
+            return excess;
+        }
+        long length = utf8Length(value);
+        long keepBytes = Math.max(0, length - excess - ELLIPSIS.getBytes(java.nio.charset.StandardCharsets.UTF_8).length);
+        // corta por caractere para não partir um code point no meio
+        int end = 0;
+        long bytes = 0;
+        while (end < value.length()) {
+            int codePoint = value.codePointAt(end);
+            int size = utf8Length(codePoint);
+            if (bytes + size > keepBytes) {
+                break;
+            }
+            bytes += size;
+            end += Character.charCount(codePoint);
+        }
+        String truncated = value.substring(0, end) + ELLIPSIS;
+        setter.accept(truncated);
+        return excess - (length - utf8Length(truncated));
+    }
+
+    private static long utf8Length(String value) {
+        if (value == null) {
+            return 0;
+        }
+        long bytes = 0;
+        for (int i = 0; i < value.length(); ) {
+            int codePoint = value.codePointAt(i);
+            bytes += utf8Length(codePoint);
+            i += Character.charCount(codePoint);
+        }
+        return bytes;
+    }
+
+    private static int utf8Length(int codePoint) {
+        return codePoint < 0x80 ? 1 : codePoint < 0x800 ? 2 : codePoint < 0x10000 ? 3 : 4;
+    }
+}
@@ -0,0 +1,286 @@
+package com.antonio.infrastructure.security.audit;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+/**
+ * Codifica {@link AuditLog} em JSON (UTF-8) direto em um buffer de bytes reaproveitado por thread.
+ *
+ * Sem {@code String.format}, sem boxing e sem strings intermediárias: strings são escapadas e
+ * convertidas para UTF-8 caractere a caractere, números e datas são escritos dígito a dígito.
+ * O resultado pode ir para um canal/stream sem nenhuma alocação ou virar uma única String para o log.
+ */
+final class AuditEventEncoder {
+
+    enum Fields {
+        SIEM, // linha do log estruturado: timestamp, username, ip, action, status, duration, level
+        FULL  // todos os campos, usado no arquivamento
+    }
+
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] NULL = "null".getBytes(StandardCharsets.US_ASCII);
+    private static final int INITIAL_CAPACITY = 512;
+    private static final int MAX_RETAINED_CAPACITY = 64 * 1024;
+
+    // chaves pré-codificadas, já com a vírgula quando não são o primeiro campo
+    private static final byte[] ID = key("id", false);
+    private static final byte[] FIRST_TIMESTAMP = key("timestamp", false);
+    private static final byte[] TIMESTAMP = key("timestamp", true);
+    private static final byte[] USERNAME = key("username", true);
+    private static final byte[] IP = key("ip", true);
+    private static final byte[] ACTION = key("action", true);
+    private static final byte[] DESCRIPTION = key("description", true);
+    private static final byte[] METHOD = key("method", true);
+    private static final byte[] ARGUMENTS = key("arguments", true);
+    private static final byte[] RESULT = key("result", true);
+    private static final byte[] STATUS = key("status", true);
+    private static final byte[] ERROR = key("error", true);
+    private static final byte[] DURATION = key("duration", true);
+    private static final byte[] LEVEL = key("level", true);
+
+    private static final ThreadLocal<AuditEventEncoder> LOCAL = ThreadLocal.withInitial(AuditEventEncoder::new);
+
+    private byte[] bytes = new byte[INITIAL_CAPACITY];
+    private ByteBuffer view = ByteBuffer.wrap(bytes);
+    private int length;
+
+    private AuditEventEncoder() {
+    }
+
+    /**
+     * 🧵 Encoder da thread atual; o conteúdo vale até a próxima chamada de encode nesta thread
+     */
+    static AuditEventEncoder local() {
+        return LOCAL.get();
+    }
+
+    /**
+     * 📝 JSON do evento como String (uma alocação), para o log estruturado
+     */
+    static String toJson(AuditLog auditLog, Fields fields) {
+        AuditEventEncoder encoder = local();
+        encoder.encode(auditLog, fields);
+        return encoder.asString();
+    }
+
+    AuditEventEncoder encode(AuditLog auditLog, Fields fields) {
+        if (bytes.length > MAX_RETAINED_CAPACITY) {
+            // um evento enorme não prende memória na thread para sempre
+            bytes = new byte[INITIAL_CAPACITY];
+            view = ByteBuffer.wrap(bytes);
+        }
+        length = 0;
+        put((byte) '{');
+        if (fields == Fields.FULL) {
+            numberField(ID, auditLog.getId());
+            timestampField(TIMESTAMP, auditLog.getTimestamp());
+        } else {
+            timestampField(FIRST_TIMESTAMP, auditLog.getTimestamp());
+        }
+        stringField(USERNAME, auditLog.getUsername());
+        stringField(IP, auditLog.getIpAddress());
+        stringField(ACTION, auditLog.getAction());
+        if (fields == Fields.FULL) {
+            stringField(DESCRIPTION, auditLog.getDescription());
+            stringField(METHOD, auditLog.getMethod());
+            stringField(ARGUMENTS, auditLog.getArguments());
+            stringField(RESULT, auditLog.getResult());
+        }
+        stringField(STATUS, auditLog.getStatus());
+        if (fields == Fields.FULL) {
+            stringField(ERROR, auditLog.getErrorMessage());
+        }
+        numberField(DURATION, auditLog.getDurationMs());
+        stringField(LEVEL, auditLog.getLevel() != null ? auditLog.getLevel().name() : null);
+        put((byte) '}');
+        return this;
+    }
+
+    int length() {
+        return length;
+    }
+
+    String asString() {
+        return new String(bytes, 0, length, StandardCharsets.UTF_8);
+    }
+
+    void writeTo(OutputStream out) throws IOException {
+        out.write(bytes, 0, length);
+    }
+
+    void writeTo(WritableByteChannel channel) throws IOException {
+        view.clear().limit(length);
+        while (view.hasRemaining()) {
+            channel.write(view);
+        }
+    }
+
+    private void timestampField(byte[] key, LocalDateTime timestamp) {
+        put(key);
+        if (timestamp == null) {
+            put(NULL);
+            return;
+        }
+        if (timestamp.getYear() < 0 || timestamp.getYear() > 9999) {
+            put((byte) '"');
+            put(timestamp.toString().getBytes(StandardCharsets.US_ASCII)); // ano fora do formato de 4 dígitos
+            put((byte) '"');
+            return;
+        }
+        // mesmo formato de LocalDateTime.toString(): segundos e frações só quando diferentes de zero
+        put((byte) '"');
+        putPadded(timestamp.getYear(), 4);
+        put((byte) '-');
+        putPadded(timestamp.getMonthValue(), 2);
+        put((byte) '-');
+        putPadded(timestamp.getDayOfMonth(), 2);
+        put((byte) 'T');
+        putPadded(timestamp.getHour(), 2);
+        put((byte) ':');
+        putPadded(timestamp.getMinute(), 2);
+        int second = timestamp.getSecond();
+        int nano = timestamp.getNano();
+        if (second > 0 || nano > 0) {
+            put((byte) ':');
+            putPadded(second, 2);
+            if (nano > 0) {
+                put((byte) '.');
+                if (nano % 1_000_000 == 0) {
+                    putPadded(nano / 1_000_000, 3);
+                } else if (nano % 1_000 == 0) {
+                    putPadded(nano / 1_000, 6);
+                } else {
+                    putPadded(nano, 9);
+                }
+            }
+        }
+        put((byte) '"');
+    }
+
+    private void stringField(byte[] key, String value) {
+        put(key);
+        if (value == null) {
+            put(NULL);
+            return;
+        }
+        int n = value.length();
+        ensure(n * 6 + 2); // pior caso: todo caractere vira um escape de 6 bytes
+        byte[] buf = bytes;
+        int pos = length;
+        buf[pos++] = '"';
+        for (int i = 0; i < n; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                if (c >= 0x20 && c != '"' && c != '\\') {
+                    buf[pos++] = (byte) c;
+                } else {
+                    pos = escape(buf, pos, c);
+                }
+            } else if (c < 0x800) {
+                buf[pos++] = (byte) (0xC0 | (c >> 6));
+                buf[pos++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < n && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                buf[pos++] = (byte) (0xF0 | (codePoint >> 18));
+                buf[pos++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                buf[pos++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                buf[pos++] = (byte) (0x80 | (codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                buf[pos++] = '?'; // surrogate sem par não é UTF-8 válido
+            } else {
+                buf[pos++] = (byte) (0xE0 | (c >> 12));
+                buf[pos++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                buf[pos++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        buf[pos++] = '"';
+        length = pos;
+    }
+
+    private static int escape(byte[] buf, int pos, char c) {
+        buf[pos++] = '\\';
+        switch (c) {
+            case '"' -> buf[pos++] = '"';
+            case '\\' -> buf[pos++] = '\\';
+            case '\n' -> buf[pos++] = 'n';
+            case '\r' -> buf[pos++] = 'r';
+            case '\t' -> buf[pos++] = 't';
+            case '\b' -> buf[pos++] = 'b';
+            case '\f' -> buf[pos++] = 'f';
+            default -> {
+                buf[pos++] = 'u';
+                buf[pos++] = '0';
+                buf[pos++] = '0';
+                buf[pos++] = HEX[c >> 4];
+                buf[pos++] = HEX[c & 0xF];
+            }
+        }
+        return pos;
+    }
+
+    private void numberField(byte[] key, Long value) {
+        put(key);
+        if (value == null) {
+            put(NULL);
+        } else {
+            putLong(value);
+        }
+    }
+
+    private void putLong(long value) {
+        if (value == Long.MIN_VALUE) {
+            put("-9223372036854775808".getBytes(StandardCharsets.US_ASCII));
+            return;
+        }
+        if (value < 0) {
+            put((byte) '-');
+            value = -value;
+        }
+        ensure(20);
+        int digits = 1;
+        for (long v = value; v >= 10; v /= 10) {
+            digits++;
+        }
+        for (int i = length + digits - 1; i >= length; i--) {
+            bytes[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        length += digits;
+    }
+
+    private void putPadded(int value, int width) {
+        ensure(width);
+        for (int i = length + width - 1; i >= length; i--) {
+            bytes[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        length += width;
+    }
+
+    private void put(byte b) {
+        ensure(1);
+        bytes[length++] = b;
+    }
+
+    private void put(byte[] b) {
+        ensure(b.length);
+        System.arraycopy(b, 0, bytes, length, b.length);
+        length += b.length;
+    }
+
+    private static byte[] key(String name, boolean comma) {
+        return ((comma ? "," : "") + "\"" + name + "\":").getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private void ensure(int extra) {
+        if (length + extra > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + extra));
+            view = ByteBuffer.wrap(bytes);
+        }
+    }
+}
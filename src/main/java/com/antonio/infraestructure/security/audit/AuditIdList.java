@@ -0,0 +1,71 @@
+package com.antonio.infrastructure.security.audit;
+
+import java.util.Arrays;
+
+/**
+ * Lista crescente de ids de auditoria usada pelos índices secundários.
+ * Cresce no fim e é aparada no início quando a retenção despeja segmentos. Escritores
+ * concorrentes podem indexar um id depois de um maior: ele é inserido na posição certa,
+ * que na prática fica a poucos elementos do fim.
+ */
+final class AuditIdList {
+    private long[] ids = new long[8];
+    private int start;
+    private int end;
+
+    synchronized void add(long id) {
+        int position = end;
+        while (position > start && ids[position - 1] > id) {
+            position--;
+        }
+        if (position > start && ids[position - 1] == id) {
+            return; // mesmo evento regravado
+        }
+        if (end == ids.length) {
+            if (start > ids.length / 2) {
+                position -= start;
+                compact();
+            } else {
+                ids = Arrays.copyOf(ids, ids.length * 2);
+            }
+        }
+        System.arraycopy(ids, position, ids, position + 1, end - position);
+        ids[position] = id;
+        end++;
+    }
+
+    /**
+     * ✂️ Descarta o prefixo de ids menores que {@code firstLiveId}
+     */
+    synchronized void trimBefore(long firstLiveId) {
+        while (start < end && ids[start] < firstLiveId) {
+            start++;
+        }
+        if (start == end) {
+            start = 0;
+            end = 0;
+        }
+    }
+
+    synchronized int size() {
+        return end - start;
+    }
+
+    synchronized boolean isEmpty() {
+        return end == start;
+    }
+
+    synchronized long lastId() {
+        return end > start ? ids[end - 1] : 0;
+    }
+
+    synchronized long[] snapshot() {
+        return Arrays.copyOfRange(ids, start, end);
+    }
+
+    private void compact() {
+        System.arraycopy(ids, start, ids, 0, end - start);
+        end -= start;
+        start = 0;
+    }
+}
@@ -0,0 +1,186 @@
+package com.antonio.infrastructure.security.audit;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Journal binário e durável da auditoria, escrito por arquivos mapeados em memória.
+ *
+ * Cada registro é [int tamanho][int crc32c][{@link AuditLogCodec}]; tamanho 0 marca o fim dos dados
+ * (o arquivo é pré-alocado com zeros). O arquivo corrente roda por tamanho ou por tempo, e o
+ * {@code force()} é feito uma vez por lote gravado (group commit). Na partida, os arquivos mais
+ * recentes são relidos para reconstruir o store e os índices em memória.
+ */
+@Slf4j
+class AuditJournal implements AutoCloseable {
+    private static final String PREFIX = "audit-";
+    private static final String SUFFIX = ".journal";
+    private static final int HEADER_BYTES = Integer.BYTES * 2;
+
+    private final Path dir;
+    private final int maxFileBytes;
+    private final long rollIntervalMillis;
+    private final int maxFiles;
+
+    private final ByteArrayOutputStream encoded = new ByteArrayOutputStream(512);
+    private final DataOutputStream encoder = new DataOutputStream(encoded);
+    private final CRC32C crc = new CRC32C();
+
+    private FileChannel channel;
+    private MappedByteBuffer mapped;
+    private Path currentFile;
+    private long openedAtMillis;
+
+    AuditJournal(Path dir, int maxFileBytes, Duration rollInterval, int maxFiles) throws IOException {
+        if (maxFileBytes <= HEADER_BYTES) {
+            throw new IllegalArgumentException("Journal file size too small: " + maxFileBytes);
+        }
+        this.dir = Files.createDirectories(dir);
+        this.maxFileBytes = maxFileBytes;
+        this.rollIntervalMillis = rollInterval.toMillis();
+        this.maxFiles = Math.max(1, maxFiles);
+    }
+
+    /**
+     * 🔁 Relê os {@code maxFiles} arquivos mais recentes em ordem; registros com CRC inválido encerram o arquivo
+     */
+    synchronized int recover(Consumer<AuditLog> sink) throws IOException {
+        int recovered = 0;
+        for (Path file : journalFiles()) {
+            try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+                MappedByteBuffer buffer = in.map(FileChannel.MapMode.READ_ONLY, 0, in.size());
+                int fileRecords = 0;
+                while (buffer.remaining() >= HEADER_BYTES) {
+                    int length = buffer.getInt();
+                    int expectedCrc = buffer.getInt();
+                    if (length <= 0 || length > buffer.remaining()) {
+                        break;
+                    }
+                    byte[] payload = new byte[length];
+                    buffer.get(payload);
+                    crc.reset();
+                    crc.update(payload);
+                    if ((int) crc.getValue() != expectedCrc) {
+                        log.warn("⚠️ Audit journal {} has a corrupt record after {} entries - skipping the rest",
+                                 file.getFileName(), fileRecords);
+                        break;
+                    }
+                    sink.accept(AuditLogCodec.read(new DataInputStream(new ByteArrayInputStream(payload))));
+                    fileRecords++;
+                }
+                recovered += fileRecords;
+            }
+        }
+        return recovered;
+    }
+
+    /**
+     * ✍️ Grava o lote no arquivo mapeado e faz um único force() no fim
+     */
+    synchronized void append(List<AuditLog> batch) throws IOException {
+        if (batch.isEmpty()) {
+            return;
+        }
+        int dirtyFrom = -1;
+        for (AuditLog auditLog : batch) {
+            byte[] record = encode(auditLog);
+            if (record.length + HEADER_BYTES > maxFileBytes) {
+                log.error("❌ Audit entry {} is larger than a journal file ({} bytes) - not journaled",
+                          auditLog.getId(), record.length);
+                continue;
+            }
+            if (mapped == null || shouldRoll(record.length)) {
+                if (dirtyFrom >= 0) {
+                    mapped.force(dirtyFrom, mapped.position() - dirtyFrom);
+                }
+                roll(auditLog.getId());
+                dirtyFrom = -1;
+            }
+            if (dirtyFrom < 0) {
+                dirtyFrom = mapped.position();
+            }
+            crc.reset();
+            crc.update(record);
+            mapped.putInt(record.length);
+            mapped.putInt((int) crc.getValue());
+            mapped.put(record);
+        }
+        if (dirtyFrom >= 0) {
+            mapped.force(dirtyFrom, mapped.position() - dirtyFrom);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (mapped != null) {
+            mapped.force();
+            mapped = null;
+        }
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+
+    private boolean shouldRoll(int recordLength) {
+        return mapped.remaining() < recordLength + HEADER_BYTES
+            || (rollIntervalMillis > 0 && System.currentTimeMillis() - openedAtMillis >= rollIntervalMillis);
+    }
+
+    /**
+     * 🔄 Fecha o arquivo corrente, abre um novo pré-alocado e apaga os mais antigos além de {@code maxFiles}
+     */
+    private void roll(Long firstId) throws IOException {
+        close();
+        currentFile = dir.resolve(String.format("%s%020d-%d%s", PREFIX,
+            firstId != null ? firstId : 0, System.currentTimeMillis(), SUFFIX));
+        channel = FileChannel.open(currentFile,
+            StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, maxFileBytes);
+        openedAtMillis = System.currentTimeMillis();
+        log.debug("📒 Audit journal rolled to {}", currentFile.getFileName());
+
+        List<Path> files = allJournalFiles();
+        for (int i = 0; i < files.size() - maxFiles; i++) {
+            Files.deleteIfExists(files.get(i));
+        }
+    }
+
+    private byte[] encode(AuditLog auditLog) throws IOException {
+        encoded.reset();
+        AuditLogCodec.write(encoder, auditLog);
+        encoder.flush();
+        return encoded.toByteArray();
+    }
+
+    private List<Path> journalFiles() throws IOException {
+        List<Path> files = allJournalFiles();
+        return files.subList(Math.max(0, files.size() - maxFiles), files.size());
+    }
+
+    private List<Path> allJournalFiles() throws IOException {
+        try (Stream<Path> paths = Files.list(dir)) {
+            // nome = primeiro id com zeros à esquerda, então a ordem lexicográfica é a cronológica
+            return paths
+                .filter(p -> p.getFileName().toString().startsWith(PREFIX))
+                .filter(p -> p.getFileName().toString().endsWith(SUFFIX))
+                .sorted()
+                .toList();
+        }
+    }
+}
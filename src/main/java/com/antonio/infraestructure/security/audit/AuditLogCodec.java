@@ -0,0 +1,76 @@
+package com.antonio.infrastructure.security.audit;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+/**
+ * Formato binário de um {@link AuditLog}, compartilhado pelo journal e pelo arquivo de transbordo.
+ * Strings são [int tamanho][UTF-8], com -1 para null.
+ */
+final class AuditLogCodec {
+
+    private AuditLogCodec() {
+    }
+
+    static void write(DataOutput out, AuditLog auditLog) throws IOException {
+        out.writeLong(auditLog.getId() != null ? auditLog.getId() : -1);
+        writeString(out, auditLog.getTimestamp() != null ? auditLog.getTimestamp().toString() : null);
+        writeString(out, auditLog.getUsername());
+        writeString(out, auditLog.getIpAddress());
+        writeString(out, auditLog.getAction());
+        writeString(out, auditLog.getDescription());
+        writeString(out, auditLog.getMethod());
+        writeString(out, auditLog.getArguments());
+        writeString(out, auditLog.getResult());
+        writeString(out, auditLog.getStatus());
+        writeString(out, auditLog.getErrorMessage());
+        out.writeLong(auditLog.getDurationMs() != null ? auditLog.getDurationMs() : -1);
+        writeString(out, auditLog.getLevel() != null ? auditLog.getLevel().name() : null);
+    }
+
+    static AuditLog read(DataInput in) throws IOException {
+        long id = in.readLong();
+        String timestamp = readString(in);
+        AuditLog auditLog = AuditLog.builder()
+            .id(id >= 0 ? id : null)
+            .timestamp(timestamp != null ? LocalDateTime.parse(timestamp) : null)
+            .username(readString(in))
+            .ipAddress(readString(in))
+            .action(readString(in))
+            .description(readString(in))
+            .method(readString(in))
+            .arguments(readString(in))
+            .result(readString(in))
+            .status(readString(in))
+            .errorMessage(readString(in))
+            .build();
+        long duration = in.readLong();
+        auditLog.setDurationMs(duration >= 0 ? duration : null);
+        String level = readString(in);
+        auditLog.setLevel(level != null ? AuditLevel.valueOf(level) : null);
+        return auditLog;
+    }
+
+    private static void writeString(DataOutput out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInput in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,177 @@
+package com.antonio.infrastructure.security.audit;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índices secundários da auditoria mantidos a cada gravação: username → ids, action → ids e
+ * buckets de um minuto → ids. Uma consulta parte do menor conjunto candidato e confere os demais
+ * filtros no próprio evento, sem varrer o store inteiro.
+ */
+class AuditLogIndex {
+
+    private static final Comparator<AuditLog> BY_TIMESTAMP = Comparator
+        .comparing(AuditLog::getTimestamp, Comparator.nullsFirst(Comparator.naturalOrder()))
+        .thenComparing(AuditLog::getId);
+
+    private final Map<String, AuditIdList> byUsername = new ConcurrentHashMap<>();
+    private final Map<String, AuditIdList> byAction = new ConcurrentHashMap<>();
+    private final NavigableMap<Long, AuditIdList> byMinute = new ConcurrentSkipListMap<>();
+    // gravações indexam em paralelo (read lock); a poda da retenção remove chaves sozinha (write lock)
+    private final ReadWriteLock evictionLock = new ReentrantReadWriteLock();
+
+    /**
+     * ➕ Indexa o evento recém-gravado no store
+     */
+    void add(AuditLog auditLog) {
+        long id = auditLog.getId();
+        evictionLock.readLock().lock();
+        try {
+            if (auditLog.getUsername() != null) {
+                byUsername.computeIfAbsent(auditLog.getUsername(), k -> new AuditIdList()).add(id);
+            }
+            if (auditLog.getAction() != null) {
+                byAction.computeIfAbsent(auditLog.getAction(), k -> new AuditIdList()).add(id);
+            }
+            if (auditLog.getTimestamp() != null) {
+                byMinute.computeIfAbsent(minuteOf(auditLog.getTimestamp()), k -> new AuditIdList()).add(id);
+            }
+        } finally {
+            evictionLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 🧹 Acompanha a retenção: apara as listas e remove chaves que ficaram vazias
+     */
+    void evictBefore(long firstLiveId) {
+        evictionLock.writeLock().lock();
+        try {
+            trim(byUsername, firstLiveId);
+            trim(byAction, firstLiveId);
+            trim(byMinute, firstLiveId);
+        } finally {
+            evictionLock.writeLock().unlock();
+        }
+    }
+
+    long[] idsForUsername(String username) {
+        AuditIdList ids = byUsername.get(username);
+        return ids != null ? ids.snapshot() : new long[0];
+    }
+
+    long[] idsForAction(String action) {
+        AuditIdList ids = byAction.get(action);
+        return ids != null ? ids.snapshot() : new long[0];
+    }
+
+    /**
+     * 🔎 Executa a consulta e devolve até {@code limit} eventos em ordem de timestamp
+     */
+    List<AuditLog> query(AuditQuery query, AuditLogStore store) {
+        int limit = Math.max(0, query.getLimit());
+        if (limit == 0) {
+            return List.of();
+        }
+        // heap com o "pior" resultado no topo: mantém só os melhores `limit`
+        Comparator<AuditLog> order = query.isNewestFirst() ? BY_TIMESTAMP.reversed() : BY_TIMESTAMP;
+        PriorityQueue<AuditLog> best = new PriorityQueue<>(Math.min(limit, 1024) + 1, order.reversed());
+
+        long[] candidates = candidates(query);
+        if (candidates == null) {
+            store.forEach(entry -> offer(best, entry, query, limit));
+        } else {
+            for (long id : candidates) {
+                AuditLog entry = store.get(id);
+                if (entry != null) {
+                    offer(best, entry, query, limit);
+                }
+            }
+        }
+
+        List<AuditLog> result = new ArrayList<>(best);
+        result.sort(order);
+        return result;
+    }
+
+    /**
+     * Menor lista candidata entre os filtros indexados; null quando nenhum filtro é indexável
+     */
+    private long[] candidates(AuditQuery query) {
+        long[] smallest = null;
+        if (query.getUsername() != null) {
+            smallest = idsForUsername(query.getUsername());
+        }
+        if (query.getAction() != null) {
+            smallest = smaller(smallest, idsForAction(query.getAction()));
+        }
+        if (query.hasTimeRange() && (smallest == null || smallest.length > 0)) {
+            smallest = smaller(smallest, idsInRange(query.getFrom(), query.getTo(),
+                smallest != null ? smallest.length : Integer.MAX_VALUE));
+        }
+        return smallest;
+    }
+
+    /**
+     * Ids dos buckets que cobrem o intervalo; desiste (null) se passar de {@code budget}
+     */
+    private long[] idsInRange(LocalDateTime from, LocalDateTime to, int budget) {
+        long fromMinute = from != null ? minuteOf(from) : Long.MIN_VALUE;
+        long toMinute = to != null ? minuteOf(to) : Long.MAX_VALUE;
+        List<long[]> parts = new ArrayList<>();
+        long total = 0;
+        for (AuditIdList bucket : byMinute.subMap(fromMinute, true, toMinute, true).values()) {
+            long[] ids = bucket.snapshot();
+            total += ids.length;
+            if (total > budget) {
+                return null;
+            }
+            parts.add(ids);
+        }
+        long[] merged = new long[(int) total];
+        int position = 0;
+        for (long[] part : parts) {
+            System.arraycopy(part, 0, merged, position, part.length);
+            position += part.length;
+        }
+        return merged;
+    }
+
+    private static long[] smaller(long[] current, long[] other) {
+        if (other == null) {
+            return current;
+        }
+        return current == null || other.length < current.length ? other : current;
+    }
+
+    private static void offer(PriorityQueue<AuditLog> best, AuditLog entry, AuditQuery query, int limit) {
+        if (!query.matches(entry)) {
+            return;
+        }
+        best.add(entry);
+        if (best.size() > limit) {
+            best.poll();
+        }
+    }
+
+    private static <K> void trim(Map<K, AuditIdList> index, long firstLiveId) {
+        index.values().removeIf(ids -> {
+            ids.trimBefore(firstLiveId);
+            return ids.isEmpty();
+        });
+    }
+
+    private static long minuteOf(LocalDateTime timestamp) {
+        return Math.floorDiv(timestamp.toEpochSecond(ZoneOffset.UTC), 60);
+    }
+}
@@ -10,6 +10,8 @@ import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.reflect.MethodSignature;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationListener;
 import org.springframework.security.authentication.event.*;
 import org.springframework.security.core.Authentication;
@@ -19,72 +21,232 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
+import java.io.IOException;
 import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 
 @Slf4j
 @Component
 class AuditLogRepository {
     
-    private final Map<Long, AuditLog> store = new ConcurrentHashMap<>();
-    private Long currentId = 0L;
+    private final AuditLogStore store;
+    private final AuditLogIndex index = new AuditLogIndex();
+    private final AuditRetentionPolicy retentionPolicy;
+    private final AuditSegmentArchiver archiver; // null quando o arquivamento está desligado
+    private final AuditJournal journal;          // null quando o journal está desligado
+    private long indexTrimmedBefore = 1;         // guarded by this (enforceRetention)
+
+    public AuditLogRepository(
+        @Value("${security.audit.store.segment-size:1024}") int segmentSize,
+        @Value("${security.audit.store.max-segments:4096}") int maxSegments,
+        @Value("${security.audit.retention.max-age-minutes:10080}") long maxAgeMinutes,
+        @Value("${security.audit.retention.max-entries:1000000}") long maxEntries,
+        @Value("${security.audit.retention.max-bytes:268435456}") long maxBytes,
+        @Value("${security.audit.retention.archive-dir:}") String archiveDir,
+        @Value("${security.audit.journal.dir:}") String journalDir,
+        @Value("${security.audit.journal.max-file-bytes:67108864}") int journalMaxFileBytes,
+        @Value("${security.audit.journal.roll-interval-minutes:60}") long journalRollMinutes,
+        // 0 = o suficiente para cobrir a janela de retenção (max-age / roll-interval, mais o arquivo corrente)
+        @Value("${security.audit.journal.max-files:0}") int journalMaxFiles
+    ) throws IOException {
+        this.store = new AuditLogStore(segmentSize, maxSegments);
+        this.retentionPolicy = new AuditRetentionPolicy(
+            Duration.ofMinutes(maxAgeMinutes), maxEntries, maxBytes);
+        this.archiver = archiveDir.isBlank() ? null : new AuditSegmentArchiver(Path.of(archiveDir));
+        this.journal = journalDir.isBlank() ? null : new AuditJournal(Path.of(journalDir),
+            journalMaxFileBytes, Duration.ofMinutes(journalRollMinutes),
+            journalMaxFiles > 0 ? journalMaxFiles : journalFilesFor(maxAgeMinutes, journalRollMinutes));
+        if (journal != null) {
+            recoverFromJournal();
+        }
+    }
 
     public AuditLog save(AuditLog auditLog) {
-        if (auditLog.getId() == null) {
-            auditLog.setId(++currentId);
+        saveAll(List.of(auditLog));
+        return auditLog;
+    }
+
+    /**
+     * 📦 Grava um lote vindo do {@link AuditPipeline}: memória e índices primeiro, depois um
+     * único force() do journal para o lote inteiro
+     */
+    public void saveAll(List<AuditLog> auditLogs) {
+        List<AuditLog> appended = new ArrayList<>(auditLogs.size());
+        for (AuditLog auditLog : auditLogs) {
+            if (auditLog.getId() == null || !store.replace(auditLog)) {
+                store.append(auditLog);
+                index.add(auditLog);
+                appended.add(auditLog);
+            }
+        }
+        if (!appended.isEmpty()) {
+            journal(appended);
+            enforceRetention();
         }
-        
-        store.put(auditLog.getId(), auditLog);
         
         // Log estruturado para análise externa (SIEM, ELK, etc)
-        logStructured(auditLog);
-        
-        return auditLog;
+        for (AuditLog auditLog : auditLogs) {
+            logStructured(auditLog);
+        }
+    }
+
+    private void journal(List<AuditLog> batch) {
+        if (journal == null) {
+            return;
+        }
+        try {
+            journal.append(batch);
+        } catch (IOException e) {
+            log.error("❌ Failed to journal {} audit entries", batch.size(), e);
+        }
+    }
+
+    /**
+     * 🔁 Reconstrói store e índices a partir dos arquivos mais recentes do journal
+     */
+    private void recoverFromJournal() throws IOException {
+        long start = System.currentTimeMillis();
+        long archivedThrough = archiver != null ? archiver.archivedThrough() : 0;
+        int recovered = journal.recover(entry -> {
+            if (entry.getId() == null) {
+                return;
+            }
+            if (entry.getId() <= archivedThrough) {
+                store.skipTo(entry.getId()); // já está no arquivo; só não pode reaproveitar o id
+                return;
+            }
+            store.restore(entry);
+            index.add(entry);
+        });
+        enforceRetention();
+        log.info("📒 Recovered {} audit entries from journal in {}ms ({} retained)",
+                 recovered, System.currentTimeMillis() - start, store.retainedEntries());
+    }
+
+    private static int journalFilesFor(long maxAgeMinutes, long rollMinutes) {
+        if (rollMinutes <= 0) {
+            return 16;
+        }
+        long files = (maxAgeMinutes + rollMinutes - 1) / rollMinutes + 1;
+        return (int) Math.min(files, 10_000);
+    }
+
+    @PreDestroy
+    void close() throws IOException {
+        if (journal != null) {
+            journal.close();
+        }
+    }
+
+    /**
+     * 🧹 Despeja segmentos inteiros, do mais antigo, enquanto algum limite estiver estourado
+     */
+    private synchronized void enforceRetention() {
+        long now = System.currentTimeMillis();
+        AuditLogStore.Segment oldest;
+        while ((oldest = store.oldestEvictable()) != null && retentionPolicy.shouldEvict(store, oldest, now)) {
+            if (archiver != null) {
+                try {
+                    Path file = archiver.archive(oldest);
+                    log.debug("📦 Audit segment {} archived to {}", oldest.number, file);
+                } catch (IOException e) {
+                    // o limite de memória vale mais que o arquivo: despeja mesmo assim
+                    log.error("❌ Failed to archive audit segment {} - evicting anyway", oldest.number, e);
+                }
+            }
+            if (store.evict(oldest)) {
+                log.debug("🧹 Audit segment {} evicted ({} entries)", oldest.number, oldest.count());
+            }
+        }
+        // cobre também a volta do diretório de segmentos, que descarta o mais antigo sem passar por aqui
+        long firstLiveId = store.firstLiveId();
+        if (firstLiveId > indexTrimmedBefore) {
+            index.evictBefore(firstLiveId);
+            indexTrimmedBefore = firstLiveId;
+        }
+    }
+
+    /**
+     * 📈 Métricas de retenção
+     */
+    public AuditStoreStats stats() {
+        return new AuditStoreStats(
+            store.retainedEntries(),
+            store.retainedBytes(),
+            store.liveSegments(),
+            store.evictedSegments(),
+            store.evictedEntries(),
+            archiver != null ? archiver.archivedSegments() : 0
+        );
     }
 
     /**
      * 📊 Log estruturado (formato JSON para SIEM)
      */
     private void logStructured(AuditLog auditLog) {
-        String jsonLog = String.format(
-            "{\"timestamp\":\"%s\", \"username\":\"%s\", \"ip\":\"%s\", " +
-            "\"action\":\"%s\", \"status\":\"%s\", \"duration\":%d, \"level\":\"%s\"}",
-            auditLog.getTimestamp(),
-            auditLog.getUsername(),
-            auditLog.getIpAddress(),
-            auditLog.getAction(),
-            auditLog.getStatus(),
-            auditLog.getDurationMs(),
-            auditLog.getLevel()
-        );
-        
+        // só codifica se o nível estiver habilitado; o encoder escapa e reaproveita o buffer da thread
         switch (auditLog.getLevel()) {
-            case CRITICAL -> log.error("AUDIT_CRITICAL: {}", jsonLog);
-            case ERROR -> log.error("AUDIT_ERROR: {}", jsonLog);
-            case WARN -> log.warn("AUDIT_WARN: {}", jsonLog);
-            default -> log.info("AUDIT_INFO: {}", jsonLog);
+            case CRITICAL -> {
+                if (log.isErrorEnabled()) log.error("AUDIT_CRITICAL: {}", siemJson(auditLog));
+            }
+            case ERROR -> {
+                if (log.isErrorEnabled()) log.error("AUDIT_ERROR: {}", siemJson(auditLog));
+            }
+            case WARN -> {
+                if (log.isWarnEnabled()) log.warn("AUDIT_WARN: {}", siemJson(auditLog));
+            }
+            default -> {
+                if (log.isInfoEnabled()) log.info("AUDIT_INFO: {}", siemJson(auditLog));
+            }
         }
     }
 
-    public java.util.List<AuditLog> findAll() {
-        return new java.util.ArrayList<>(store.values());
+    private static String siemJson(AuditLog auditLog) {
+        return AuditEventEncoder.toJson(auditLog, AuditEventEncoder.Fields.SIEM);
+    }
+
+    public Optional<AuditLog> findById(long id) {
+        return Optional.ofNullable(store.get(id));
+    }
+
+    public List<AuditLog> findAll() {
+        return store.stream().toList();
+    }
+
+    public List<AuditLog> findByUsername(String username) {
+        return resolve(index.idsForUsername(username));
+    }
+
+    public List<AuditLog> findByAction(String action) {
+        return resolve(index.idsForAction(action));
     }
 
-    public java.util.List<AuditLog> findByUsername(String username) {
-        return store.values().stream()
-            .filter(log -> username.equals(log.getUsername()))
-            .toList();
+    /**
+     * 🔎 Consulta indexada: filtros combinados, intervalo de tempo e limite, em ordem de timestamp
+     */
+    public List<AuditLog> query(AuditQuery query) {
+        return index.query(query, store);
     }
 
-    public java.util.List<AuditLog> findByAction(String action) {
-        return store.values().stream()
-            .filter(log -> action.equals(log.getAction()))
-            .toList();
+    private List<AuditLog> resolve(long[] ids) {
+        List<AuditLog> result = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            AuditLog entry = store.get(id);
+            if (entry != null) {
+                result.add(entry);
+            }
+        }
+        return result;
     }
 }
\ No newline at end of file
@@ -0,0 +1,332 @@
+package com.antonio.infrastructure.security.audit;
+
+import java.time.ZoneId;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Log append-only de auditoria dividido em segmentos de tamanho fixo.
+ *
+ * O id vem de uma sequência atômica e determina o segmento ({@code (id - 1) / segmentSize}) e o
+ * slot dentro dele, então gravar e buscar por id são O(1) e escritores concorrentes só disputam o
+ * incremento da sequência. Segmentos novos são instalados por CAS em um diretório circular de
+ * {@code maxSegments} posições; quando o anel dá a volta, o segmento mais antigo é substituído.
+ * A retenção remove segmentos inteiros, sempre do mais antigo para o mais novo, em O(1).
+ */
+class AuditLogStore {
+
+    static final class Segment {
+        // uso empacotado em um long: [bit 63: despejado][bits 40-62: entradas][bits 0-39: bytes]
+        private static final long EVICTED = Long.MIN_VALUE;
+        private static final int COUNT_SHIFT = 40;
+        private static final long BYTES_MASK = (1L << COUNT_SHIFT) - 1;
+        private static final long COUNT_MASK = ~EVICTED & ~BYTES_MASK;
+
+        final long number;
+        final long firstId;
+        final AtomicReferenceArray<AuditLog> entries;
+        private final AtomicLong usage = new AtomicLong();
+        volatile long lastAppendMillis;
+
+        Segment(long number, int size) {
+            this.number = number;
+            this.firstId = number * size + 1;
+            this.entries = new AtomicReferenceArray<>(size);
+        }
+
+        int count() {
+            return (int) ((usage.get() & COUNT_MASK) >>> COUNT_SHIFT);
+        }
+
+        long bytes() {
+            return usage.get() & BYTES_MASK;
+        }
+
+        /**
+         * Soma uma entrada; false se o segmento já foi despejado (a entrada não conta como retida)
+         */
+        boolean account(long entries, long bytes) {
+            while (true) {
+                long current = usage.get();
+                if (current < 0) {
+                    return false;
+                }
+                long next = current + (entries << COUNT_SHIFT) + bytes;
+                if (usage.compareAndSet(current, next)) {
+                    return true;
+                }
+            }
+        }
+
+        /**
+         * Marca como despejado e devolve o uso final; entradas contadas depois disso são recusadas
+         */
+        long seal() {
+            return usage.getAndUpdate(current -> current | EVICTED) & ~EVICTED;
+        }
+    }
+
+    // overhead aproximado de um AuditLog e de cada String referenciada
+    private static final int ENTRY_OVERHEAD_BYTES = 96;
+    private static final int STRING_OVERHEAD_BYTES = 40;
+
+    private final int segmentSize;
+    private final int segmentShift;
+    private final int segmentMask;
+    private final AtomicReferenceArray<Segment> directory;
+    private final int directoryMask;
+    private final AtomicLong sequence = new AtomicLong();
+    private volatile long firstLiveSegment;
+
+    private final AtomicLong retainedEntries = new AtomicLong();
+    private final AtomicLong retainedBytes = new AtomicLong();
+    private final AtomicLong evictedSegments = new AtomicLong();
+    private final AtomicLong evictedEntries = new AtomicLong();
+
+    AuditLogStore(int segmentSize, int maxSegments) {
+        if (Integer.bitCount(segmentSize) != 1 || Integer.bitCount(maxSegments) != 1) {
+            throw new IllegalArgumentException("Segment size and max segments must be powers of two");
+        }
+        this.segmentSize = segmentSize;
+        this.segmentShift = Integer.numberOfTrailingZeros(segmentSize);
+        this.segmentMask = segmentSize - 1;
+        this.directory = new AtomicReferenceArray<>(maxSegments);
+        this.directoryMask = maxSegments - 1;
+    }
+
+    /**
+     * ➕ Atribui o próximo id ao evento e o grava no seu slot
+     */
+    long append(AuditLog auditLog) {
+        long id = sequence.incrementAndGet();
+        auditLog.setId(id);
+        place(id, auditLog, System.currentTimeMillis());
+        return id;
+    }
+
+    /**
+     * ♻️ Regrava um evento recuperado do journal mantendo o id original; a sequência avança até ele
+     */
+    void restore(AuditLog auditLog) {
+        long id = auditLog.getId();
+        sequence.accumulateAndGet(id, Math::max);
+        // a idade do segmento recuperado conta a partir do evento, não da partida
+        long appendMillis = auditLog.getTimestamp() != null
+            ? auditLog.getTimestamp().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+            : System.currentTimeMillis();
+        place(id, auditLog, appendMillis);
+    }
+
+    /**
+     * ⏭️ Avança a sequência sem gravar nada (ids recuperados que já estão arquivados)
+     */
+    void skipTo(long id) {
+        sequence.accumulateAndGet(id, Math::max);
+    }
+
+    private void place(long id, AuditLog auditLog, long appendMillis) {
+        Segment segment = segmentFor(segmentNumber(id));
+        segment.entries.set(slot(id), auditLog);
+
+        long bytes = estimateBytes(auditLog);
+        segment.lastAppendMillis = Math.max(segment.lastAppendMillis, appendMillis);
+        // segmento expirado ou despejado no meio do caminho: a entrada nasce fora das métricas
+        if (segment.account(1, bytes)) {
+            retainedEntries.incrementAndGet();
+            retainedBytes.addAndGet(bytes);
+        }
+    }
+
+    /**
+     * 🔁 Substitui um evento já gravado; retorna false se o id não existe mais
+     */
+    boolean replace(AuditLog auditLog) {
+        long id = auditLog.getId();
+        Segment segment = liveSegment(id);
+        AuditLog previous = segment != null ? segment.entries.get(slot(id)) : null;
+        if (previous == null) {
+            return false;
+        }
+        segment.entries.set(slot(id), auditLog);
+        long delta = estimateBytes(auditLog) - estimateBytes(previous);
+        if (segment.account(0, delta)) {
+            retainedBytes.addAndGet(delta);
+        }
+        return true;
+    }
+
+    AuditLog get(long id) {
+        Segment segment = liveSegment(id);
+        return segment != null ? segment.entries.get(slot(id)) : null;
+    }
+
+    long lastId() {
+        return sequence.get();
+    }
+
+    /**
+     * Menor id que ainda pode estar no store
+     */
+    long firstLiveId() {
+        return firstLiveSegment * segmentSize + 1;
+    }
+
+    long retainedEntries() {
+        return retainedEntries.get();
+    }
+
+    long retainedBytes() {
+        return retainedBytes.get();
+    }
+
+    long evictedSegments() {
+        return evictedSegments.get();
+    }
+
+    long evictedEntries() {
+        return evictedEntries.get();
+    }
+
+    long liveSegments() {
+        long lastId = sequence.get();
+        return lastId == 0 ? 0 : Math.max(0, segmentNumber(lastId) - firstLiveSegment + 1);
+    }
+
+    /**
+     * 🧓 Segmento mais antigo ainda vivo, ou null se só resta o segmento em escrita
+     */
+    Segment oldestEvictable() {
+        long activeSegment = segmentNumber(Math.max(1, sequence.get()));
+        for (long n = firstLiveSegment; n < activeSegment; n = firstLiveSegment) {
+            Segment segment = directory.get((int) (n & directoryMask));
+            if (segment != null && segment.number == n) {
+                return segment;
+            }
+            // já substituído pela volta do anel: avança o ponteiro
+            advanceFirstLive(n);
+        }
+        return null;
+    }
+
+    /**
+     * 🗑️ Remove o segmento inteiro do diretório (O(1)); retorna false se outro caminho já o removeu
+     */
+    boolean evict(Segment segment) {
+        int index = (int) (segment.number & directoryMask);
+        if (!directory.compareAndSet(index, segment, null)) {
+            return false;
+        }
+        advanceFirstLive(segment.number);
+        discount(segment);
+        return true;
+    }
+
+    /**
+     * 📜 Percorre os eventos vivos em ordem de id; slots reservados e ainda não gravados são pulados
+     */
+    void forEach(Consumer<AuditLog> action) {
+        long lastId = sequence.get();
+        if (lastId == 0) {
+            return;
+        }
+        long lastSegment = segmentNumber(lastId);
+        long firstSegment = Math.max(firstLiveSegment, lastSegment - directoryMask);
+        for (long n = firstSegment; n <= lastSegment; n++) {
+            Segment segment = directory.get((int) (n & directoryMask));
+            if (segment == null || segment.number != n) {
+                continue;
+            }
+            int limit = n == lastSegment ? slot(lastId) + 1 : segmentSize;
+            for (int i = 0; i < limit; i++) {
+                AuditLog entry = segment.entries.get(i);
+                if (entry != null) {
+                    action.accept(entry);
+                }
+            }
+        }
+    }
+
+    Stream<AuditLog> stream() {
+        Stream.Builder<AuditLog> builder = Stream.builder();
+        forEach(builder);
+        return builder.build();
+    }
+
+    private Segment segmentFor(long number) {
+        int index = (int) (number & directoryMask);
+        while (true) {
+            Segment current = directory.get(index);
+            if (current != null && current.number == number) {
+                return current;
+            }
+            if ((current != null && current.number > number) || number < firstLiveSegment) {
+                // escritor tão atrasado que o segmento já saiu (volta do anel ou retenção): o evento nasce expirado
+                Segment orphan = new Segment(number, segmentSize);
+                orphan.seal();
+                return orphan;
+            }
+            Segment fresh = new Segment(number, segmentSize);
+            if (directory.compareAndSet(index, current, fresh)) {
+                if (current != null) {
+                    advanceFirstLive(current.number);
+                    discount(current);
+                }
+                return fresh;
+            }
+        }
+    }
+
+    private Segment liveSegment(long id) {
+        if (id <= 0 || id > sequence.get()) {
+            return null;
+        }
+        long number = segmentNumber(id);
+        Segment segment = directory.get((int) (number & directoryMask));
+        return segment != null && segment.number == number ? segment : null;
+    }
+
+    private void advanceFirstLive(long evictedNumber) {
+        // só o caminho de retenção (single-threaded) e a volta do anel chegam aqui; max evita regredir
+        synchronized (directory) {
+            if (firstLiveSegment <= evictedNumber) {
+                firstLiveSegment = evictedNumber + 1;
+            }
+        }
+    }
+
+    private void discount(Segment segment) {
+        long usage = segment.seal();
+        long count = usage >>> Segment.COUNT_SHIFT;
+        retainedEntries.addAndGet(-count);
+        retainedBytes.addAndGet(-(usage & Segment.BYTES_MASK));
+        evictedSegments.incrementAndGet();
+        evictedEntries.addAndGet(count);
+    }
+
+    static long estimateBytes(AuditLog auditLog) {
+        return ENTRY_OVERHEAD_BYTES
+            + stringBytes(auditLog.getUsername())
+            + stringBytes(auditLog.getIpAddress())
+            + stringBytes(auditLog.getAction())
+            + stringBytes(auditLog.getDescription())
+            + stringBytes(auditLog.getMethod())
+            + stringBytes(auditLog.getArguments())
+            + stringBytes(auditLog.getResult())
+            + stringBytes(auditLog.getStatus())
+            + stringBytes(auditLog.getErrorMessage());
+    }
+
+    private static long stringBytes(String value) {
+        return value == null ? 0 : STRING_OVERHEAD_BYTES + value.length();
+    }
+
+    private long segmentNumber(long id) {
+        return (id - 1) >>> segmentShift;
+    }
+
+    private int slot(long id) {
+        return (int) ((id - 1) & segmentMask);
+    }
+}
@@ -0,0 +1,267 @@
+package com.antonio.infrastructure.security.audit;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Tira a persistência da auditoria do caminho da requisição.
+ *
+ * Produtores (aspect, listener de autenticação) só publicam no {@link AuditRingBuffer}; uma thread
+ * consumidora dedicada grava em lote no {@link AuditLogRepository}. Com o anel cheio vale a
+ * {@link OverflowPolicy} configurada.
+ */
+@Slf4j
+@Component
+class AuditPipeline {
+
+    enum OverflowPolicy {
+        BLOCK, // produtor espera espaço no anel
+        DROP,  // evento é descartado e contado
+        SPILL  // evento vai para o arquivo de transbordo
+    }
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private final AuditLogRepository auditLogRepository;
+    private final AuditRingBuffer buffer;
+    private final int batchSize;
+    private final OverflowPolicy overflowPolicy;
+    private final String spillPath;
+    private final long shutdownTimeoutMs;
+
+    private final LongAdder published = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder spilled = new LongAdder();
+
+    // o anel é de um consumidor só; depois do shutdown, produtores atrasados também drenam
+    private final Object drainLock = new Object();
+
+    private AuditSpillFile spillFile;
+    private Thread consumer;
+    private volatile boolean running;
+    private volatile boolean consumerWaiting;
+
+    AuditPipeline(AuditLogRepository auditLogRepository,
+                  @Value("${security.audit.buffer-size:8192}") int bufferSize,
+                  @Value("${security.audit.batch-size:256}") int batchSize,
+                  @Value("${security.audit.overflow:BLOCK}") OverflowPolicy overflowPolicy,
+                  @Value("${security.audit.spill-file:./data/audit-spill.bin}") String spillPath,
+                  @Value("${security.audit.shutdown-timeout-ms:5000}") long shutdownTimeoutMs) {
+        this.auditLogRepository = auditLogRepository;
+        this.buffer = new AuditRingBuffer(bufferSize);
+        this.batchSize = Math.max(1, batchSize);
+        this.overflowPolicy = overflowPolicy;
+        this.spillPath = spillPath;
+        this.shutdownTimeoutMs = shutdownTimeoutMs;
+    }
+
+    @PostConstruct
+    void start() throws IOException {
+        if (overflowPolicy == OverflowPolicy.SPILL) {
+            spillFile = new AuditSpillFile(Path.of(spillPath));
+        }
+        running = true;
+        consumer = new Thread(this::consume, "audit-pipeline");
+        consumer.setDaemon(true);
+        consumer.start();
+        log.info("📝 Audit pipeline started - ring size {}, batch {}, overflow {}",
+                 buffer.capacity(), batchSize, overflowPolicy);
+    }
+
+    /**
+     * 📨 Publica o evento sem tocar no repositório; retorna assim que o evento está no anel
+     */
+    void publish(AuditLog auditLog) {
+        if (!running) {
+            // pipeline parado (startup/shutdown): grava direto para não perder o evento
+            persist(List.of(auditLog));
+            return;
+        }
+        if (buffer.offer(auditLog)) {
+            published.increment();
+            signalConsumer();
+            drainIfStopped();
+            return;
+        }
+
+        switch (overflowPolicy) {
+            case BLOCK -> publishBlocking(auditLog);
+            case DROP -> drop();
+            case SPILL -> spill(auditLog);
+        }
+    }
+
+    long publishedCount() {
+        return published.sum();
+    }
+
+    long droppedCount() {
+        return dropped.sum();
+    }
+
+    long spilledCount() {
+        return spilled.sum();
+    }
+
+    int pendingCount() {
+        return buffer.size();
+    }
+
+    /**
+     * 🛑 Para de aceitar eventos no anel e espera o consumidor gravar o que restou
+     */
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        if (!running) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(consumer);
+        consumer.join(shutdownTimeoutMs);
+        if (consumer.isAlive()) {
+            log.warn("⚠️ Audit pipeline did not drain within {}ms - {} events still pending",
+                     shutdownTimeoutMs, buffer.size());
+        } else {
+            drainRemaining();
+        }
+        if (spillFile != null) {
+            try {
+                spillFile.close();
+            } catch (IOException e) {
+                log.error("❌ Failed to close audit spill file", e);
+            }
+        }
+        log.info("📝 Audit pipeline stopped - published: {}, dropped: {}, spilled: {}",
+                 published.sum(), dropped.sum(), spilled.sum());
+    }
+
+    private void publishBlocking(AuditLog auditLog) {
+        while (!buffer.offer(auditLog)) {
+            if (!running) {
+                persist(List.of(auditLog));
+                return;
+            }
+            signalConsumer();
+            LockSupport.parkNanos(this, BLOCK_PARK_NANOS);
+        }
+        published.increment();
+        signalConsumer();
+        drainIfStopped();
+    }
+
+    /**
+     * Um produtor pode passar pela checagem de {@code running}, o consumidor drenar e sair, e só
+     * então o evento entrar no anel: quem publicou depois do shutdown grava o que ficou
+     */
+    private void drainIfStopped() {
+        if (!running) {
+            drainRemaining();
+        }
+    }
+
+    private void drainRemaining() {
+        List<AuditLog> batch = new ArrayList<>(batchSize);
+        while (drain(batch) > 0) {
+            persist(batch);
+            batch.clear();
+        }
+    }
+
+    private int drain(List<AuditLog> batch) {
+        synchronized (drainLock) {
+            return buffer.drainTo(batch, batchSize);
+        }
+    }
+
+    private void drop() {
+        dropped.increment();
+        long total = dropped.sum();
+        // avisa na 1ª perda e depois em potências de 2 para não inundar o log
+        if (Long.bitCount(total) == 1) {
+            log.warn("⚠️ Audit ring buffer full - {} events dropped so far", total);
+        }
+    }
+
+    private void spill(AuditLog auditLog) {
+        try {
+            spillFile.append(auditLog);
+            spilled.increment();
+        } catch (IOException e) {
+            log.error("❌ Failed to spill audit event to disk", e);
+            drop();
+        }
+    }
+
+    private void signalConsumer() {
+        if (consumerWaiting) {
+            LockSupport.unpark(consumer);
+        }
+    }
+
+    /**
+     * 🔄 Laço do consumidor: drena em lotes, reprocessa o transbordo quando ocioso e dorme sem eventos
+     */
+    private void consume() {
+        List<AuditLog> batch = new ArrayList<>(batchSize);
+        while (true) {
+            if (drain(batch) > 0) {
+                persist(batch);
+                batch.clear();
+                continue;
+            }
+            if (spillFile != null && spillFile.hasPending()) {
+                replaySpill();
+                continue;
+            }
+            if (!running) {
+                if (buffer.size() == 0) {
+                    break;
+                }
+                Thread.onSpinWait(); // produtor reservou o slot e ainda não publicou
+                continue;
+            }
+
+            consumerWaiting = true;
+            if (buffer.size() == 0) {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+            } else {
+                Thread.onSpinWait();
+            }
+            consumerWaiting = false;
+        }
+    }
+
+    private void replaySpill() {
+        try {
+            List<AuditLog> events = spillFile.takeAll();
+            for (int from = 0; from < events.size(); from += batchSize) {
+                persist(events.subList(from, Math.min(events.size(), from + batchSize)));
+            }
+            if (!events.isEmpty()) {
+                log.info("📝 Replayed {} spilled audit events", events.size());
+            }
+        } catch (IOException e) {
+            log.error("❌ Failed to replay audit spill file", e);
+        }
+    }
+
+    private void persist(List<AuditLog> batch) {
+        try {
+            auditLogRepository.saveAll(batch);
+        } catch (RuntimeException e) {
+            log.error("❌ Failed to persist {} audit events", batch.size(), e);
+        }
+    }
+}
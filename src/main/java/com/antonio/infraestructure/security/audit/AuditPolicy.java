@@ -0,0 +1,33 @@
+package com.antonio.infrastructure.security.audit;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Quanto de um método {@link Auditable} de alto volume vira registro completo.
+ * Falhas e níveis WARN/CRITICAL são sempre registrados por completo, qualquer que seja o modo.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface AuditPolicy {
+
+    enum Mode {
+        FULL,       // um AuditLog por chamada (padrão sem a anotação)
+        SAMPLED,    // registro completo para uma amostra; o resto entra no agregado
+        AGGREGATED  // só contadores por minuto/usuário/ação
+    }
+
+    Mode mode() default Mode.FULL;
+
+    /**
+     * SAMPLED: registra em média 1 a cada N chamadas
+     */
+    int sampleEvery() default 1;
+
+    /**
+     * SAMPLED: teto de registros completos por segundo (0 = sem teto)
+     */
+    int maxPerSecond() default 0;
+}
@@ -0,0 +1,53 @@
+package com.antonio.infrastructure.security.audit;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * Filtro de consulta da auditoria; campos nulos não restringem.
+ * O intervalo de tempo é [from, to) sobre {@link AuditLog#getTimestamp()}.
+ */
+@Value
+@Builder
+class AuditQuery {
+    String username;
+    String action;
+    String status;
+    AuditLevel level;
+    LocalDateTime from;
+    LocalDateTime to;
+    @Builder.Default
+    int limit = 100;
+    @Builder.Default
+    boolean newestFirst = true;
+
+    boolean hasTimeRange() {
+        return from != null || to != null;
+    }
+
+    boolean matches(AuditLog auditLog) {
+        if (username != null && !username.equals(auditLog.getUsername())) {
+            return false;
+        }
+        if (action != null && !action.equals(auditLog.getAction())) {
+            return false;
+        }
+        if (status != null && !status.equals(auditLog.getStatus())) {
+            return false;
+        }
+        if (level != null && level != auditLog.getLevel()) {
+            return false;
+        }
+        if (hasTimeRange()) {
+            LocalDateTime timestamp = auditLog.getTimestamp();
+            if (timestamp == null
+                || (from != null && timestamp.isBefore(from))
+                || (to != null && !timestamp.isBefore(to))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,23 @@
+package com.antonio.infrastructure.security.audit;
+
+import java.time.Duration;
+
+/**
+ * Limites de retenção da auditoria em memória; zero ou negativo desativa o limite
+ */
+record AuditRetentionPolicy(Duration maxAge, long maxEntries, long maxBytes) {
+
+    /**
+     * ⏳ O segmento mais antigo deve sair? (idade do último evento gravado nele, ou total acima do limite)
+     */
+    boolean shouldEvict(AuditLogStore store, AuditLogStore.Segment oldest, long nowMillis) {
+        if (maxEntries > 0 && store.retainedEntries() > maxEntries) {
+            return true;
+        }
+        if (maxBytes > 0 && store.retainedBytes() > maxBytes) {
+            return true;
+        }
+        return maxAge != null && !maxAge.isZero() && !maxAge.isNegative()
+            && oldest.lastAppendMillis < nowMillis - maxAge.toMillis();
+    }
+}
@@ -0,0 +1,86 @@
+package com.antonio.infrastructure.security.audit;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Fila circular limitada, pré-alocada e sem locks: vários produtores, um consumidor.
+ *
+ * Cada slot tem um número de sequência. O produtor reserva a posição com CAS no cursor de escrita,
+ * grava o evento e publica a sequência {@code pos + 1}; o consumidor só lê slots publicados e os
+ * devolve com {@code pos + capacity}, liberando a próxima volta do anel.
+ */
+class AuditRingBuffer {
+    private final int capacity;
+    private final int mask;
+    private final AtomicLongArray sequences;
+    private final AtomicReferenceArray<AuditLog> slots;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong(); // só o consumidor escreve
+
+    AuditRingBuffer(int requestedCapacity) {
+        if (requestedCapacity < 2) {
+            throw new IllegalArgumentException("Ring buffer capacity must be at least 2");
+        }
+        this.capacity = Integer.highestOneBit(requestedCapacity - 1) << 1;
+        this.mask = capacity - 1;
+        this.sequences = new AtomicLongArray(capacity);
+        this.slots = new AtomicReferenceArray<>(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * ➕ Tenta publicar; retorna false se o anel estiver cheio
+     */
+    boolean offer(AuditLog event) {
+        while (true) {
+            long pos = tail.get();
+            int index = (int) (pos & mask);
+            long diff = sequences.get(index) - pos;
+            if (diff == 0) {
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    slots.lazySet(index, event);
+                    sequences.set(index, pos + 1);
+                    return true;
+                }
+            } else if (diff < 0) {
+                return false;
+            }
+            // diff > 0: outro produtor já avançou o cursor, tenta de novo
+        }
+    }
+
+    /**
+     * 📤 Move até {@code max} eventos publicados para {@code batch}; chamado só pelo consumidor
+     */
+    int drainTo(List<AuditLog> batch, int max) {
+        long pos = head.get();
+        int drained = 0;
+        while (drained < max) {
+            int index = (int) (pos & mask);
+            if (sequences.get(index) != pos + 1) {
+                break; // vazio ou produtor ainda gravando o slot
+            }
+            batch.add(slots.get(index));
+            slots.lazySet(index, null);
+            sequences.set(index, pos + capacity);
+            pos++;
+            drained++;
+        }
+        head.lazySet(pos);
+        return drained;
+    }
+
+    int size() {
+        long size = tail.get() - head.get();
+        return (int) Math.max(0, Math.min(size, capacity));
+    }
+
+    int capacity() {
+        return capacity;
+    }
+}
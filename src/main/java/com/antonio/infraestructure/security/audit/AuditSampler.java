@@ -0,0 +1,82 @@
+package com.antonio.infrastructure.security.audit;
+
+import org.springframework.aop.support.AopUtils;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Aplica o {@link AuditPolicy} de cada método: decide se a chamada vira registro completo ou só agregado
+ */
+@Component
+class AuditSampler {
+
+    enum Decision { FULL, AGGREGATE }
+
+    private static final int COUNT_BITS = 24;
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+
+    private final Map<Method, Policy> policies = new ConcurrentHashMap<>();
+
+    /**
+     * Política resolvida de um método; {@code window} empacota [segundo | registros no segundo]
+     */
+    private record Policy(AuditPolicy.Mode mode, int sampleEvery, int maxPerSecond, AtomicLong window) {
+    }
+
+    Decision decide(Method method, Object target, Auditable auditable) {
+        if (auditable.level() == AuditLevel.WARN || auditable.level() == AuditLevel.CRITICAL) {
+            return Decision.FULL;
+        }
+        Policy policy = policies.computeIfAbsent(method, m -> resolve(m, target));
+        return switch (policy.mode()) {
+            case FULL -> Decision.FULL;
+            case AGGREGATED -> Decision.AGGREGATE;
+            case SAMPLED -> sampled(policy) ? Decision.FULL : Decision.AGGREGATE;
+        };
+    }
+
+    private static boolean sampled(Policy policy) {
+        if (policy.sampleEvery() > 1 && ThreadLocalRandom.current().nextInt(policy.sampleEvery()) != 0) {
+            return false;
+        }
+        return policy.maxPerSecond() <= 0 || tryAcquire(policy);
+    }
+
+    /**
+     * Janela fixa de um segundo com um único CAS: troca de segundo zera a contagem
+     */
+    private static boolean tryAcquire(Policy policy) {
+        long second = System.currentTimeMillis() / 1000;
+        while (true) {
+            long current = policy.window().get();
+            long currentSecond = current >>> COUNT_BITS;
+            long count = current & COUNT_MASK;
+            long next;
+            if (currentSecond != second) {
+                next = (second << COUNT_BITS) | 1;
+            } else if (count >= policy.maxPerSecond()) {
+                return false;
+            } else {
+                next = current + 1;
+            }
+            if (policy.window().compareAndSet(current, next)) {
+                return true;
+            }
+        }
+    }
+
+    private static Policy resolve(Method method, Object target) {
+        Method specific = target != null ? AopUtils.getMostSpecificMethod(method, target.getClass()) : method;
+        AuditPolicy annotation = specific.getAnnotation(AuditPolicy.class);
+        if (annotation == null) {
+            return new Policy(AuditPolicy.Mode.FULL, 1, 0, null);
+        }
+        return new Policy(annotation.mode(), Math.max(1, annotation.sampleEvery()),
+            annotation.maxPerSecond(), new AtomicLong());
+    }
+}
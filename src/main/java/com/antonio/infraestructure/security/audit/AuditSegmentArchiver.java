@@ -0,0 +1,103 @@
+package com.antonio.infrastructure.security.audit;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Grava segmentos despejados pela retenção em disco, um arquivo JSON lines por segmento,
+ * acompanhado de um {@link AuditSegmentSummary} usado pelo {@link AuditArchiveQueryEngine}.
+ *
+ * A marca d'água {@code archived-through} guarda o último id já arquivado: a recuperação do
+ * journal pula esses ids, para não reconstruir (e rearquivar) segmentos que já estão em disco.
+ * Um arquivo de segmento existente nunca é sobrescrito.
+ */
+@Slf4j
+class AuditSegmentArchiver {
+    private static final String WATERMARK_FILE = "archived-through";
+
+    private final Path dir;
+    private final Path watermarkFile;
+    private final AtomicLong archivedSegments = new AtomicLong();
+    private volatile long archivedThrough;
+
+    AuditSegmentArchiver(Path dir) throws IOException {
+        this.dir = Files.createDirectories(dir);
+        this.watermarkFile = dir.resolve(WATERMARK_FILE);
+        this.archivedThrough = readWatermark();
+    }
+
+    /**
+     * Último id coberto por um arquivo de segmento (0 se nada foi arquivado)
+     */
+    long archivedThrough() {
+        return archivedThrough;
+    }
+
+    /**
+     * 📦 Escreve em arquivo temporário e renomeia, para nunca deixar um arquivo pela metade
+     */
+    Path archive(AuditLogStore.Segment segment) throws IOException {
+        Path target = dir.resolve(String.format("audit-%012d.jsonl", segment.firstId));
+        long lastId = segment.firstId + segment.entries.length() - 1;
+        if (Files.exists(target)) {
+            // já arquivado (ex.: recuperado de um journal anterior à marca d'água): o arquivo completo vale mais
+            log.warn("⚠️ Audit archive {} already exists - keeping it", target.getFileName());
+            advanceWatermark(lastId);
+            return target;
+        }
+        Path tmp = target.resolveSibling(target.getFileName() + ".tmp");
+        AuditEventEncoder encoder = AuditEventEncoder.local();
+        AuditSegmentSummary.Builder summary = new AuditSegmentSummary.Builder();
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(tmp))) {
+            for (int i = 0; i < segment.entries.length(); i++) {
+                AuditLog entry = segment.entries.get(i);
+                if (entry != null) {
+                    encoder.encode(entry, AuditEventEncoder.Fields.FULL).writeTo(out);
+                    out.write('\n');
+                    summary.add(entry);
+                }
+            }
+        }
+        // o resumo vai primeiro: um .jsonl visível sempre tem o seu resumo ao lado
+        summary.build().write(AuditSegmentSummary.pathFor(target));
+        Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE);
+        archivedSegments.incrementAndGet();
+        advanceWatermark(lastId);
+        return target;
+    }
+
+    private synchronized void advanceWatermark(long lastId) throws IOException {
+        if (lastId <= archivedThrough) {
+            return;
+        }
+        Path tmp = watermarkFile.resolveSibling(WATERMARK_FILE + ".tmp");
+        Files.writeString(tmp, Long.toString(lastId), StandardCharsets.US_ASCII);
+        Files.move(tmp, watermarkFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        archivedThrough = lastId;
+    }
+
+    private long readWatermark() {
+        if (!Files.exists(watermarkFile)) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(Files.readString(watermarkFile, StandardCharsets.US_ASCII).trim());
+        } catch (IOException | NumberFormatException e) {
+            // sem marca confiável a recuperação restaura tudo; arquivos existentes continuam protegidos
+            log.warn("⚠️ Audit archive watermark {} is unreadable - ignoring it", watermarkFile, e);
+            return 0;
+        }
+    }
+
+    long archivedSegments() {
+        return archivedSegments.get();
+    }
+}
@@ -0,0 +1,134 @@
+package com.antonio.infrastructure.security.audit;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Resumo de um segmento arquivado, gravado ao lado do .jsonl: intervalo de timestamps e um
+ * filtro de Bloom com usuários, ações, status e níveis presentes. Permite pular o segmento
+ * inteiro sem abrir o arquivo de dados.
+ */
+record AuditSegmentSummary(int count, long minMillis, long maxMillis, AuditBloomFilter bloom) {
+    private static final int MAGIC = 0x41535331; // "ASS1"
+    private static final int HEADER_BYTES = 4 + 4 + 8 + 8 + 4;
+    private static final int MAX_WORDS = 1 << 20; // 8 MiB de filtro, muito acima de qualquer segmento real
+
+    static Path pathFor(Path segmentFile) {
+        String name = segmentFile.getFileName().toString();
+        return segmentFile.resolveSibling(name.substring(0, name.length() - ".jsonl".length()) + ".summary");
+    }
+
+    /**
+     * 📑 Monta o resumo enquanto o segmento é arquivado
+     */
+    static final class Builder {
+        private final Set<String> keys = new HashSet<>();
+        private int count;
+        private long minMillis = Long.MAX_VALUE;
+        private long maxMillis = Long.MIN_VALUE;
+
+        void add(AuditLog auditLog) {
+            count++;
+            if (auditLog.getTimestamp() != null) {
+                long millis = toMillis(auditLog.getTimestamp());
+                minMillis = Math.min(minMillis, millis);
+                maxMillis = Math.max(maxMillis, millis);
+            }
+            addKey('u', auditLog.getUsername());
+            addKey('a', auditLog.getAction());
+            addKey('s', auditLog.getStatus());
+            addKey('l', auditLog.getLevel() != null ? auditLog.getLevel().name() : null);
+        }
+
+        AuditSegmentSummary build() {
+            AuditBloomFilter bloom = AuditBloomFilter.forKeys(keys.size());
+            keys.forEach(bloom::put);
+            return new AuditSegmentSummary(count, minMillis, maxMillis, bloom);
+        }
+
+        private void addKey(char field, String value) {
+            if (value != null) {
+                keys.add(key(field, value));
+            }
+        }
+    }
+
+    /**
+     * 🔎 false quando o segmento com certeza não tem nenhum evento que satisfaça a consulta
+     */
+    boolean mightMatch(AuditQuery query) {
+        if (count == 0) {
+            return false;
+        }
+        if (query.getFrom() != null && maxMillis < toMillis(query.getFrom())) {
+            return false;
+        }
+        if (query.getTo() != null && minMillis >= toMillis(query.getTo())) {
+            return false;
+        }
+        return mightContain('u', query.getUsername())
+            && mightContain('a', query.getAction())
+            && mightContain('s', query.getStatus())
+            && mightContain('l', query.getLevel() != null ? query.getLevel().name() : null);
+    }
+
+    void write(Path file) throws IOException {
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(count);
+            out.writeLong(minMillis);
+            out.writeLong(maxMillis);
+            long[] words = bloom.words();
+            out.writeInt(words.length);
+            for (long word : words) {
+                out.writeLong(word);
+            }
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    static AuditSegmentSummary read(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not an audit segment summary: " + file);
+            }
+            int count = in.readInt();
+            long minMillis = in.readLong();
+            long maxMillis = in.readLong();
+            int length = in.readInt();
+            // o tamanho vem do disco: confere com o arquivo antes de alocar, um resumo corrompido não pode estourar o heap
+            long available = (Files.size(file) - HEADER_BYTES) / Long.BYTES;
+            if (length <= 0 || length > MAX_WORDS || length != available || Integer.bitCount(length) != 1) {
+                throw new IOException("Invalid audit segment summary bloom size " + length + ": " + file);
+            }
+            long[] words = new long[length];
+            for (int i = 0; i < words.length; i++) {
+                words[i] = in.readLong();
+            }
+            return new AuditSegmentSummary(count, minMillis, maxMillis, AuditBloomFilter.of(words));
+        }
+    }
+
+    private boolean mightContain(char field, String value) {
+        return value == null || bloom.mightContain(key(field, value));
+    }
+
+    private static String key(char field, String value) {
+        return field + ":" + value;
+    }
+
+    private static long toMillis(LocalDateTime timestamp) {
+        return timestamp.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,163 @@
+package com.antonio.infrastructure.security.audit;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+/**
+ * Arquivo de transbordo do pipeline de auditoria: eventos que não couberam no anel vão para o
+ * disco e são reprocessados pelo consumidor quando a fila esvazia.
+ *
+ * Formato: [int magic][int versão] e depois registros [int tamanho][int crc32c][payload], com o
+ * payload no formato do {@link AuditLogCodec}.
+ */
+@Slf4j
+class AuditSpillFile implements AutoCloseable {
+    private static final int MAGIC = 0x41535046; // "ASPF"
+    private static final int VERSION = 2;
+    private static final int MAX_RECORD_BYTES = 1 << 20;
+
+    private final Path file;
+    private final Path replayFile;
+    private DataOutputStream out; // guarded by this
+    private volatile boolean pending;
+
+    AuditSpillFile(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        this.file = file;
+        this.replayFile = file.resolveSibling(file.getFileName() + ".replay");
+        // sobras de uma execução anterior também são reprocessadas
+        this.pending = (Files.exists(file) && Files.size(file) > 0) || Files.exists(replayFile);
+    }
+
+    /**
+     * 💾 Grava o evento no fim do arquivo
+     */
+    synchronized void append(AuditLog auditLog) throws IOException {
+        ByteArrayOutputStream payload = new ByteArrayOutputStream(256);
+        AuditLogCodec.write(new DataOutputStream(payload), auditLog);
+        if (payload.size() > MAX_RECORD_BYTES) {
+            throw new IOException("Audit spill record too large: " + payload.size() + " bytes");
+        }
+        if (out == null) {
+            boolean fresh = !Files.exists(file) || Files.size(file) == 0;
+            out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)));
+            if (fresh) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+            }
+        }
+        writeRecord(out, payload.toByteArray());
+        out.flush();
+        pending = true;
+    }
+
+    boolean hasPending() {
+        return pending;
+    }
+
+    /**
+     * 🔁 Retira todos os eventos transbordados; novos appends seguem em um arquivo limpo
+     */
+    List<AuditLog> takeAll() throws IOException {
+        synchronized (this) {
+            if (out != null) {
+                out.close();
+                out = null;
+            }
+            if (!Files.exists(replayFile) && Files.exists(file)) {
+                Files.move(file, replayFile, StandardCopyOption.ATOMIC_MOVE);
+            }
+            pending = false;
+        }
+        if (!Files.exists(replayFile)) {
+            return List.of();
+        }
+
+        List<AuditLog> events;
+        try {
+            events = read(replayFile);
+            Files.delete(replayFile);
+        } catch (IOException | RuntimeException e) {
+            // um replay ilegível não pode travar a rotação: sai do caminho e o transbordo segue
+            Path corrupt = replayFile.resolveSibling(file.getFileName() + ".corrupt-" + System.currentTimeMillis());
+            Files.move(replayFile, corrupt, StandardCopyOption.ATOMIC_MOVE);
+            log.error("❌ Audit spill replay file is unreadable - moved to {}", corrupt, e);
+            events = List.of();
+        }
+        synchronized (this) {
+            // o arquivo principal pode ter recebido eventos enquanto o replay era lido
+            pending = pending || (Files.exists(file) && Files.size(file) > 0);
+        }
+        return events;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (out != null) {
+            out.close();
+            out = null;
+        }
+    }
+
+    /**
+     * Lê os registros válidos; para no primeiro tamanho absurdo, CRC errado ou cauda incompleta
+     */
+    private static List<AuditLog> read(Path path) throws IOException {
+        List<AuditLog> events = new ArrayList<>();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            int magic = in.readInt();
+            int version = in.readInt();
+            if (magic != MAGIC || version != VERSION) {
+                throw new IOException("Unsupported audit spill file format " + version + ": " + path);
+            }
+            CRC32C crc = new CRC32C();
+            while (true) {
+                int length = in.readInt();
+                int expectedCrc = in.readInt();
+                if (length <= 0 || length > MAX_RECORD_BYTES) {
+                    log.warn("⚠️ Audit spill file {} has an invalid record length {} - discarding the rest", path, length);
+                    break;
+                }
+                byte[] payload = new byte[length];
+                in.readFully(payload);
+                crc.reset();
+                crc.update(payload);
+                if ((int) crc.getValue() != expectedCrc) {
+                    log.warn("⚠️ Audit spill file {} CRC mismatch after {} events - discarding the rest", path, events.size());
+                    break;
+                }
+                events.add(AuditLogCodec.read(new DataInputStream(new ByteArrayInputStream(payload))));
+            }
+        } catch (EOFException e) {
+            // fim do arquivo (ou cauda incompleta de um crash durante o append)
+        }
+        return events;
+    }
+
+    private static void writeRecord(DataOutputStream out, byte[] payload) throws IOException {
+        CRC32C crc = new CRC32C();
+        crc.update(payload);
+        out.writeInt(payload.length);
+        out.writeInt((int) crc.getValue());
+        out.write(payload);
+    }
+}
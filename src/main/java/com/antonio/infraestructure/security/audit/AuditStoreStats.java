@@ -0,0 +1,14 @@
+package com.antonio.infrastructure.security.audit;
+
+/**
+ * Fotografia das métricas de retenção do {@link AuditLogRepository}
+ */
+public record AuditStoreStats(
+    long retainedEntries,
+    long retainedBytes,
+    long liveSegments,
+    long evictedSegments,
+    long evictedEntries,
+    long archivedSegments
+) {
+}
@@ -1,5 +1,7 @@
 package com.antonio.infrastructure.security.audit;
 
+import com.antonio.infrastructure.security.filter.ClientContext;
+import com.antonio.infrastructure.security.service.BruteForceDetector;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -33,10 +35,12 @@ import java.util.concurrent.ConcurrentHashMap;
 @Component
 class AuthenticationEventListener implements ApplicationListener<AbstractAuthenticationEvent> {
 
-    private final AuditLogRepository auditLogRepository;
+    private final AuditPipeline auditPipeline;
+    private final BruteForceDetector bruteForceDetector;
 
-    public AuthenticationEventListener(AuditLogRepository auditLogRepository) {
-        this.auditLogRepository = auditLogRepository;
+    public AuthenticationEventListener(AuditPipeline auditPipeline, BruteForceDetector bruteForceDetector) {
+        this.auditPipeline = auditPipeline;
+        this.bruteForceDetector = bruteForceDetector;
     }
 
     @Override
@@ -72,7 +76,8 @@ class AuthenticationEventListener implements ApplicationListener<AbstractAuthent
             .level(AuditLevel.INFO)
             .build();
         
-        auditLogRepository.save(auditLog);
+        auditPipeline.publish(auditLog);
+        bruteForceDetector.recordSuccess(username);
         
         log.info("✅ SECURITY_EVENT: Successful login - User: {}, IP: {}", username, ip);
     }
@@ -95,9 +100,38 @@ class AuthenticationEventListener implements ApplicationListener<AbstractAuthent
             .level(AuditLevel.WARN)
             .build();
         
-        auditLogRepository.save(auditLog);
+        auditPipeline.publish(auditLog);
         
         log.warn("⚠️ SECURITY_EVENT: Failed login - User: {}, IP: {}", username, ip);
+        
+        BruteForceDetector.Verdict verdict = bruteForceDetector.recordFailure(username, ip);
+        if (verdict.usernameLocked()) {
+            publishCritical(username, ip, "BRUTE_FORCE_LOCKOUT",
+                "Account locked after " + verdict.usernameFailures() + " failed logins in " + bruteForceDetector.window());
+        }
+        if (verdict.ipFlagged()) {
+            publishCritical(username, ip, "CREDENTIAL_STUFFING_SUSPECTED",
+                verdict.ipFailures() + " failed logins from the same IP in " + bruteForceDetector.window());
+        }
+    }
+
+    /**
+     * 🚨 Evento crítico gerado pelo detector de força bruta
+     */
+    private void publishCritical(String username, String ip, String action, String description) {
+        AuditLog auditLog = AuditLog.builder()
+            .timestamp(LocalDateTime.now())
+            .username(username)
+            .ipAddress(ip)
+            .action(action)
+            .description(description)
+            .status("FAILURE")
+            .level(AuditLevel.CRITICAL)
+            .build();
+        
+        auditPipeline.publish(auditLog);
+        
+        log.error("🚨 SECURITY_EVENT: {} - User: {}, IP: {} - {}", action, username, ip, description);
     }
 
     /**
@@ -118,7 +152,7 @@ class AuthenticationEventListener implements ApplicationListener<AbstractAuthent
             .level(AuditLevel.ERROR)
             .build();
         
-        auditLogRepository.save(auditLog);
+        auditPipeline.publish(auditLog);
         
         log.error("🚨 SECURITY_EVENT: Locked account access attempt - User: {}, IP: {}", username, ip);
     }
@@ -136,9 +170,13 @@ class AuthenticationEventListener implements ApplicationListener<AbstractAuthent
     }
 
     /**
-     * 🌐 Extrai IP do objeto de autenticação
+     * 🌐 IP do cliente: o do ClientContext (que respeita proxies confiáveis) ou, fora de uma requisição, o da autenticação
      */
     private String getIpAddress(Authentication auth) {
+        ClientContext client = ClientContext.current();
+        if (client != null) {
+            return client.clientIp();
+        }
         if (auth != null && auth.getDetails() instanceof WebAuthenticationDetails) {
             return ((WebAuthenticationDetails) auth.getDetails()).getRemoteAddress();
         }
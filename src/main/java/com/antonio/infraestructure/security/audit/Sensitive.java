@@ -0,0 +1,14 @@
+package com.antonio.infrastructure.security.audit;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marca campo, parâmetro ou retorno de método que a auditoria nunca deve registrar em claro
+ */
+@Target({ElementType.FIELD, ElementType.PARAMETER, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Sensitive {
+}
@@ -0,0 +1,36 @@
+package com.antonio.infrastructure.security.config;
+
+import com.antonio.infrastructure.security.service.VerifiedCredentialCache;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.userdetails.UserDetails;
+
+/**
+ * {@link DaoAuthenticationProvider} que consulta o {@link VerifiedCredentialCache} antes do BCrypt.
+ *
+ * Só a comparação de senha é pulada: o usuário continua sendo carregado a cada autenticação e as
+ * checagens de bloqueio e status da conta rodam antes, então um usuário bloqueado não passa pelo cache.
+ */
+class CachingDaoAuthenticationProvider extends DaoAuthenticationProvider {
+
+    private final VerifiedCredentialCache credentialCache;
+
+    CachingDaoAuthenticationProvider(VerifiedCredentialCache credentialCache) {
+        this.credentialCache = credentialCache;
+    }
+
+    @Override
+    protected void additionalAuthenticationChecks(UserDetails userDetails,
+                                                  UsernamePasswordAuthenticationToken authentication)
+            throws AuthenticationException {
+        Object credentials = authentication.getCredentials();
+        String presented = credentials != null ? credentials.toString() : null;
+        if (credentialCache.matches(userDetails.getUsername(), presented, userDetails.getPassword())) {
+            return;
+        }
+        // lança BadCredentialsException se a senha não confere; só chega ao store quando o BCrypt passou
+        super.additionalAuthenticationChecks(userDetails, authentication);
+        credentialCache.store(userDetails.getUsername(), presented, userDetails.getPassword());
+    }
+}
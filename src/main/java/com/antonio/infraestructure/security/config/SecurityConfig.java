@@ -1,12 +1,22 @@
 package com.antonio.infrastructure.security.config;
 
+import com.antonio.infrastructure.security.filter.AdaptiveConcurrencyLimitFilter;
+import com.antonio.infrastructure.security.filter.ClientContextFilter;
+import com.antonio.infrastructure.security.filter.IpBlocklistFilter;
 import com.antonio.infrastructure.security.filter.IpWhitelistFilter;
+import com.antonio.infrastructure.security.filter.JwtAuthenticationFilter;
 import com.antonio.infrastructure.security.filter.RateLimitFilter;
 import com.antonio.infrastructure.security.filter.TwoFactorAuthFilter;
+import com.antonio.infrastructure.security.service.BruteForceDetector;
+import com.antonio.infrastructure.security.service.JwtTokenService;
+import com.antonio.infrastructure.security.service.VerifiedCredentialCache;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.authentication.AccountStatusUserDetailsChecker;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.LockedException;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
@@ -39,7 +49,19 @@ public class SecurityConfig {
     private final UserDetailsService userDetailsService;
     private final RateLimitFilter rateLimitFilter;
     private final IpWhitelistFilter ipWhitelistFilter;
+    private final IpBlocklistFilter ipBlocklistFilter;
+    private final ClientContextFilter clientContextFilter;
+    private final AdaptiveConcurrencyLimitFilter adaptiveConcurrencyLimitFilter;
     private final TwoFactorAuthFilter twoFactorAuthFilter;
+    private final BruteForceDetector bruteForceDetector;
+    private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final JwtTokenService jwtTokenService;
+    private final VerifiedCredentialCache credentialCache;
+
+    // stateful: sessão no servidor com maximumSessions(1); stateless: JWT em toda requisição, sem sessão
+    // (no stateless a revogação no logout fica só na memória do nó que a recebeu: ver JwtTokenService)
+    @Value("${security.session.mode:stateful}")
+    private String sessionMode;
 
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
@@ -91,7 +113,13 @@ public class SecurityConfig {
                 .anyRequest().authenticated()
             )
 
-            .sessionManagement(session -> session
+            .sessionManagement(session -> {
+                if (isStateless()) {
+                    // nada de HttpSession nem registro global de sessões: qualquer nó atende qualquer requisição
+                    session.sessionCreationPolicy(SessionCreationPolicy.STATELESS);
+                    return;
+                }
+                session
 
                 .sessionFixation().newSession()
                 
@@ -99,11 +127,19 @@ public class SecurityConfig {
                 
                 .maximumSessions(1)
                 .maxSessionsPreventsLogin(true)
-                .expiredUrl("/login?expired=true")
-            )
+                .expiredUrl("/login?expired=true");
+            })
 
             .logout(logout -> logout
                 .logoutUrl("/api/auth/logout")
+                // no modo stateless, logout = revogar o token apresentado; o LogoutFilter roda antes do
+                // JwtAuthenticationFilter, então o handler valida o Bearer por conta própria
+                .addLogoutHandler((request, response, authentication) -> {
+                    String token = JwtAuthenticationFilter.bearerToken(request);
+                    if (isStateless() && token != null) {
+                        jwtTokenService.verify(token).ifPresent(jwtTokenService::revoke);
+                    }
+                })
                 .invalidateHttpSession(true)
                 .clearAuthentication(true)
                 .deleteCookies("JSESSIONID", "remember-me")
@@ -114,15 +150,27 @@ public class SecurityConfig {
 
             .csrf(csrf -> csrf.disable()) 
             
+            .addFilterBefore(clientContextFilter, UsernamePasswordAuthenticationFilter.class)
+            
+            .addFilterBefore(ipBlocklistFilter, UsernamePasswordAuthenticationFilter.class)
+            
+            .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+            
             .addFilterBefore(rateLimitFilter, UsernamePasswordAuthenticationFilter.class)
             
             .addFilterBefore(ipWhitelistFilter, UsernamePasswordAuthenticationFilter.class)
             
+            .addFilterBefore(adaptiveConcurrencyLimitFilter, UsernamePasswordAuthenticationFilter.class)
+            
             .addFilterAfter(twoFactorAuthFilter, UsernamePasswordAuthenticationFilter.class);
 
         return http.build();
     }
 
+    private boolean isStateless() {
+        return "stateless".equalsIgnoreCase(sessionMode);
+    }
+
     @Bean
     public PasswordEncoder passwordEncoder() {
         return new BCryptPasswordEncoder(6); 
@@ -130,10 +178,21 @@ public class SecurityConfig {
 
     @Bean
     public DaoAuthenticationProvider authenticationProvider() {
-        DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
+        // cache de credenciais verificadas é opt-in (security.credential-cache.enabled)
+        DaoAuthenticationProvider authProvider = credentialCache.isEnabled()
+            ? new CachingDaoAuthenticationProvider(credentialCache)
+            : new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailsService);
         authProvider.setPasswordEncoder(passwordEncoder());
         authProvider.setHideUserNotFoundExceptions(false); 
+        // bloqueio temporário do detector de força bruta, além das checagens padrão de status da conta
+        AccountStatusUserDetailsChecker accountStatus = new AccountStatusUserDetailsChecker();
+        authProvider.setPreAuthenticationChecks(user -> {
+            if (bruteForceDetector.isLocked(user.getUsername())) {
+                throw new LockedException("User account is temporarily locked");
+            }
+            accountStatus.check(user);
+        });
         return authProvider;
     }
 
@@ -155,7 +214,8 @@ public class SecurityConfig {
         
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
         configuration.setAllowedHeaders(Arrays.asList("Authorization", "Content-Type", "X-Requested-With"));
-        configuration.setExposedHeaders(Arrays.asList("X-Total-Count", "X-Page-Number"));
+        configuration.setExposedHeaders(Arrays.asList("X-Total-Count", "X-Page-Number",
+            "X-RateLimit-Limit", "X-RateLimit-Remaining", "X-RateLimit-Reset", "X-Rate-Limit-Remaining", "Retry-After"));
         configuration.setAllowCredentials(true);
         configuration.setMaxAge(3600L);
         
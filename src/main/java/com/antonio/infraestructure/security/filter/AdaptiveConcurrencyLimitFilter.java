@@ -0,0 +1,215 @@
+package com.antonio.infrastructure.security.filter;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+
+@Slf4j
+@Component
+public class AdaptiveConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    enum Priority {
+        CRITICAL, // autenticação: pode usar o limite inteiro
+        NORMAL,   // escrita e leituras pontuais
+        BULK      // listagens e buscas (GET em rotas de leitura em massa)
+    }
+
+    // a latência base é refeita a cada ~40 janelas (10s com a janela padrão)
+    private static final int PROBE_WINDOWS = 40;
+
+    private final boolean enabled;
+    private final ConcurrencyLimiter limiter;
+    private final double normalShare;
+    private final double bulkShare;
+    private final List<String> priorityRoutes;
+    private final List<String> bulkRoutes;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final RouteTemplateMatcher routeMatcher;
+    private final LongAdder shed = new LongAdder();
+
+    public AdaptiveConcurrencyLimitFilter(RouteTemplateMatcher routeMatcher,
+                                          @Value("${security.concurrency.enabled:true}") boolean enabled,
+                                          @Value("${security.concurrency.initial-limit:20}") int initialLimit,
+                                          @Value("${security.concurrency.min-limit:4}") int minLimit,
+                                          @Value("${security.concurrency.max-limit:200}") int maxLimit,
+                                          @Value("${security.concurrency.smoothing:0.2}") double smoothing,
+                                          @Value("${security.concurrency.rtt-tolerance:1.5}") double tolerance,
+                                          @Value("${security.concurrency.window-ms:250}") long windowMs,
+                                          @Value("${security.concurrency.priority-reserve:0.1}") double priorityReserve,
+                                          @Value("${security.concurrency.bulk-share:0.6}") double bulkShare,
+                                          @Value("${security.concurrency.priority-routes:/api/auth/**,/login,/register}") String priorityRoutes,
+                                          @Value("${security.concurrency.bulk-routes:/api/products,/api/products/search,/api/products/category/**,/api/todos}") String bulkRoutes) {
+        this.routeMatcher = routeMatcher;
+        this.enabled = enabled;
+        this.limiter = new ConcurrencyLimiter(initialLimit, minLimit, maxLimit, smoothing, tolerance,
+                                              windowMs * 1_000_000, 10, PROBE_WINDOWS);
+        this.normalShare = 1.0 - priorityReserve;
+        this.bulkShare = Math.min(bulkShare, normalShare);
+        this.priorityRoutes = patterns(priorityRoutes);
+        this.bulkRoutes = patterns(bulkRoutes);
+        log.info("🚦 Adaptive concurrency limit {} - initial {}, range [{}, {}], bulk share {}",
+                 enabled ? "enabled" : "disabled", initialLimit, minLimit, maxLimit, this.bulkShare);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+
+        if (!enabled) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        ClientContext client = ClientContext.of(request);
+        String template = client.route() != null ? client.route().template() : routeMatcher.resolve(request).template();
+        Priority priority = classify(request.getMethod(), template);
+
+        if (!limiter.tryAcquire(share(priority))) {
+            reject(response, client, template, priority);
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean completed = false;
+        boolean async = false;
+        try {
+            filterChain.doFilter(request, response);
+            completed = true;
+            if (request.isAsyncStarted()) {
+                // a requisição assíncrona continua ocupando a vaga até a resposta terminar
+                request.getAsyncContext().addListener(new AsyncRelease(start));
+                async = true;
+            }
+        } finally {
+            // exceções não viram amostra: uma falha rápida faria o limite subir justamente quando algo quebrou
+            if (!async) {
+                limiter.release(start, completed);
+            }
+        }
+    }
+
+    Priority classify(String method, String template) {
+        if (matchesAny(priorityRoutes, template)) {
+            return Priority.CRITICAL;
+        }
+        if ("GET".equals(method) && matchesAny(bulkRoutes, template)) {
+            return Priority.BULK;
+        }
+        return Priority.NORMAL;
+    }
+
+    int currentLimit() {
+        return limiter.limit();
+    }
+
+    int inFlight() {
+        return limiter.inFlight();
+    }
+
+    long shedCount() {
+        return shed.sum();
+    }
+
+    private double share(Priority priority) {
+        return switch (priority) {
+            case CRITICAL -> 1.0;
+            case NORMAL -> normalShare;
+            case BULK -> bulkShare;
+        };
+    }
+
+    private void reject(HttpServletResponse response, ClientContext client, String template, Priority priority)
+            throws IOException {
+        shed.increment();
+        long total = shed.sum();
+        // avisa na 1ª rejeição e depois em potências de 2 para não inundar o log durante uma sobrecarga
+        if (Long.bitCount(total) == 1) {
+            log.warn("🚦 LOAD SHED - limit {} (in flight {}, rtt {}ms/{}ms), IP: {}, Route: {}, Priority: {} - {} rejected so far",
+                     limiter.limit(), limiter.inFlight(), limiter.shortRttMillis(), limiter.baselineRttMillis(),
+                     client.clientIp(), template, priority, total);
+        }
+
+        long retryAfter = Math.max(1, (limiter.shortRttMillis() + 999) / 1000);
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader("Retry-After", String.valueOf(retryAfter));
+        response.setContentType("application/json");
+        response.getWriter().write(
+            "{\"error\": \"Service unavailable\", " +
+            "\"message\": \"Server is overloaded. Please try again later.\", " +
+            "\"retryAfter\": " + retryAfter + "}"
+        );
+    }
+
+    private boolean matchesAny(List<String> patterns, String template) {
+        for (String pattern : patterns) {
+            if (pathMatcher.match(pattern, template)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Libera a vaga de uma requisição assíncrona uma única vez: timeout e erro são seguidos de
+     * onComplete, mas só o término normal vira amostra
+     */
+    private final class AsyncRelease implements AsyncListener {
+        private final long start;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        AsyncRelease(long start) {
+            this.start = start;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release(true);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release(false);
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release(false);
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // um novo startAsync descarta os listeners: registra de novo para não perder a liberação
+            event.getAsyncContext().addListener(this);
+        }
+
+        private void release(boolean sample) {
+            if (released.compareAndSet(false, true)) {
+                limiter.release(start, sample);
+            }
+        }
+    }
+
+    private static List<String> patterns(String csv) {
+        return Arrays.stream(csv.split(","))
+            .map(String::trim)
+            .filter(p -> !p.isEmpty())
+            .toList();
+    }
+}
@@ -0,0 +1,37 @@
+package com.antonio.infrastructure.security.filter;
+
+import java.io.IOException;
+
+/**
+ * Armazenamento dos slots da {@link TokenBucketTable}: chave e estado são longs atualizados por CAS,
+ * o bit de referência é só uma dica para o clock-sweep e pode ser escrito sem sincronização.
+ */
+interface BucketSlots extends AutoCloseable {
+
+    int size();
+
+    /**
+     * Instante zero dos tempos empacotados no estado; compartilhado quando os slots são compartilhados
+     */
+    long epochMillis();
+
+    long key(int slot);
+
+    boolean casKey(int slot, long expected, long key);
+
+    long state(int slot);
+
+    boolean casState(int slot, long expected, long state);
+
+    void setState(int slot, long state);
+
+    boolean referenced(int slot);
+
+    void mark(int slot);
+
+    void clear(int slot);
+
+    @Override
+    default void close() throws IOException {
+    }
+}
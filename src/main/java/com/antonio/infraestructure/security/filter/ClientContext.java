@@ -0,0 +1,59 @@
+package com.antonio.infrastructure.security.filter;
+
+import com.antonio.infrastructure.security.network.IpAddresses;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Quem está chamando e por qual rota, resolvido uma vez por requisição pelo {@link ClientContextFilter}
+ * e lido pelos outros filtros e pela auditoria a partir de um atributo da requisição.
+ *
+ * O IP já vem validado e convertido para 128 bits ({@code ipHi}/{@code ipLo}), pronto para as tries
+ * e listas de {@code security.network}. O principal não é fixado aqui: a autenticação acontece
+ * depois deste estágio, então {@link #username()} lê o contexto de segurança na hora.
+ */
+public record ClientContext(String clientIp, boolean validIp, long ipHi, long ipLo, RouteTemplateMatcher.Route route) {
+
+    public static final String ATTRIBUTE = ClientContext.class.getName();
+
+    /**
+     * Contexto da requisição; se o filtro não rodou (chamada fora da cadeia), resolve só pelo remoteAddr
+     */
+    public static ClientContext of(HttpServletRequest request) {
+        Object cached = request.getAttribute(ATTRIBUTE);
+        if (cached instanceof ClientContext context) {
+            return context;
+        }
+        return forAddress(request.getRemoteAddr(), null);
+    }
+
+    /**
+     * 🧵 Contexto da requisição da thread atual, ou null fora de uma requisição HTTP
+     */
+    public static ClientContext current() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        Object cached = attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        return cached instanceof ClientContext context ? context : null;
+    }
+
+    static ClientContext forAddress(String ip, RouteTemplateMatcher.Route route) {
+        long[] address = new long[2];
+        boolean valid = IpAddresses.parse(ip, address);
+        return new ClientContext(ip != null ? ip : "unknown", valid, address[0], address[1], route);
+    }
+
+    public String routeTemplate() {
+        return route != null ? route.template() : null;
+    }
+
+    public String username() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        return (auth != null && auth.isAuthenticated()) ? auth.getName() : "anonymous";
+    }
+}
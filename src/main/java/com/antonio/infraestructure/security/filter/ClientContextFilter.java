@@ -0,0 +1,87 @@
+package com.antonio.infrastructure.security.filter;
+
+import com.antonio.infrastructure.security.network.CidrTrie;
+import com.antonio.infrastructure.security.network.IpAddresses;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+
+@Slf4j
+@Component
+public class ClientContextFilter extends OncePerRequestFilter {
+
+    private final CidrTrie trustedProxies;
+    private final RouteTemplateMatcher routeMatcher;
+    
+    // só loopback por padrão: confiar em redes privadas inteiras deixaria qualquer host interno
+    // forjar o X-Forwarded-For; cada implantação deve listar os IPs/CIDRs dos seus proxies reais
+    public ClientContextFilter(RouteTemplateMatcher routeMatcher,
+                               @Value("${security.client-context.trusted-proxies:127.0.0.1,::1}")
+                               String trustedProxies) {
+        this.routeMatcher = routeMatcher;
+        this.trustedProxies = CidrTrie.compile(Arrays.asList(trustedProxies.split(",")));
+        log.info("🧭 Client context: {} trusted proxy prefixes", this.trustedProxies.size());
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        
+        ClientContext context = ClientContext.forAddress(resolveClientIp(request), routeMatcher.resolve(request));
+        request.setAttribute(ClientContext.ATTRIBUTE, context);
+        
+        filterChain.doFilter(request, response);
+    }
+    
+    /**
+     * 🌐 IP do cliente: cabeçalhos de proxy só valem quando a conexão vem de um proxy confiável.
+     * No X-Forwarded-For, o cliente é o primeiro endereço não confiável lendo da direita para a
+     * esquerda — entradas mais à esquerda podem ter sido forjadas pelo próprio cliente.
+     */
+    String resolveClientIp(HttpServletRequest request) {
+        String remote = request.getRemoteAddr();
+        long[] address = new long[2];
+        if (remote == null || !IpAddresses.parse(remote, address) || !trustedProxies.contains(address[0], address[1])) {
+            return remote;
+        }
+        
+        String forwarded = request.getHeader("X-Forwarded-For");
+        if (forwarded != null && !forwarded.isEmpty()) {
+            int end = forwarded.length();
+            int leftmostStart = -1;
+            int leftmostEnd = -1;
+            while (end > 0) {
+                int start = forwarded.lastIndexOf(',', end - 1) + 1;
+                if (!IpAddresses.parse(forwarded, start, end, address)) {
+                    break; // entrada inválida: fica com o último proxy confiável à direita dela
+                }
+                if (!trustedProxies.contains(address[0], address[1])) {
+                    return forwarded.substring(start, end).trim();
+                }
+                leftmostStart = start;
+                leftmostEnd = end;
+                end = start - 1;
+            }
+            if (leftmostStart >= 0) {
+                // toda a cadeia é de proxies confiáveis: o mais à esquerda é a origem
+                return forwarded.substring(leftmostStart, leftmostEnd).trim();
+            }
+        }
+        
+        String realIp = request.getHeader("X-Real-IP");
+        if (realIp != null && IpAddresses.parse(realIp, address)) {
+            return realIp.trim();
+        }
+        return remote;
+    }
+}
@@ -0,0 +1,150 @@
+package com.antonio.infrastructure.security.filter;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Limite de requisições simultâneas ajustado pela latência observada (gradiente, no estilo dos
+ * limitadores Gradient/Vegas do concurrency-limits da Netflix).
+ *
+ * Cada janela de amostras compara a latência média recente com a latência base (a menor vista desde
+ * a última sondagem): se a recente passa da base vezes a tolerância, o limite encolhe
+ * proporcionalmente; senão cresce em {@code sqrt(limite)} (a "fila" permitida). A base é refeita a
+ * cada {@code probeWindows} janelas, para acompanhar uma dependência que ficou mais lenta de vez
+ * sem deixar a fila que o próprio limite criou virar a nova referência. O limite só cresce quando
+ * está de fato em uso, para não inflar em tráfego baixo.
+ * A admissão é um CAS em {@code inFlight}; cada prioridade pode ocupar só uma fração do limite,
+ * o que deixa folga para as rotas prioritárias quando o serviço satura.
+ */
+final class ConcurrencyLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double smoothing;
+    private final double tolerance;
+    private final long windowNanos;
+    private final int minWindowSamples;
+    private final int probeWindows;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile double limit;
+
+    // amostras da janela corrente: menor latência, soma e quantidade
+    private final AtomicLong windowMinNanos = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong windowSumNanos = new AtomicLong();
+    private final AtomicInteger windowSamples = new AtomicInteger();
+    private final AtomicInteger windowPeakInFlight = new AtomicInteger();
+    private volatile long windowStartNanos = System.nanoTime();
+    private final ReentrantLock updateLock = new ReentrantLock();
+
+    private volatile long baselineRttNanos = Long.MAX_VALUE;
+    private volatile double shortRttNanos;
+    private int windowsSinceProbe; // guarded by updateLock
+
+    ConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit,
+                       double smoothing, double tolerance, long windowNanos, int minWindowSamples, int probeWindows) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("Concurrency limits must satisfy 1 <= min <= max");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        this.smoothing = smoothing;
+        this.tolerance = Math.max(1.0, tolerance);
+        this.windowNanos = windowNanos;
+        this.minWindowSamples = Math.max(1, minWindowSamples);
+        this.probeWindows = Math.max(1, probeWindows);
+    }
+
+    /**
+     * 🎟️ Reserva uma vaga se o uso atual estiver abaixo da fração do limite permitida à prioridade
+     */
+    boolean tryAcquire(double share) {
+        int allowed = Math.max(1, (int) (limit * share));
+        while (true) {
+            int current = inFlight.get();
+            if (current >= allowed) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                windowPeakInFlight.accumulateAndGet(current + 1, Math::max);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * ✅ Libera a vaga; a latência só entra como amostra quando a requisição terminou normalmente
+     */
+    void release(long startNanos, boolean sample) {
+        inFlight.decrementAndGet();
+        if (!sample) {
+            return;
+        }
+        long now = System.nanoTime();
+        long rtt = now - startNanos;
+        windowMinNanos.accumulateAndGet(rtt, Math::min);
+        windowSumNanos.addAndGet(rtt);
+        int samples = windowSamples.incrementAndGet();
+        if (samples >= minWindowSamples && now - windowStartNanos >= windowNanos && updateLock.tryLock()) {
+            try {
+                closeWindow(now);
+            } finally {
+                updateLock.unlock();
+            }
+        }
+    }
+
+    private void closeWindow(long now) {
+        int samples = windowSamples.getAndSet(0);
+        if (samples == 0) {
+            return; // outra thread fechou a janela antes
+        }
+        long sum = windowSumNanos.getAndSet(0);
+        long min = windowMinNanos.getAndSet(Long.MAX_VALUE);
+        int peak = windowPeakInFlight.getAndSet(inFlight.get());
+        windowStartNanos = now;
+
+        double shortRtt = (double) sum / samples;
+        long baseline = baselineRttNanos;
+        if (++windowsSinceProbe >= probeWindows) {
+            windowsSinceProbe = 0;
+            baseline = min;
+        } else {
+            baseline = Math.min(baseline, min);
+        }
+        baselineRttNanos = baseline;
+        shortRttNanos = shortRtt;
+
+        double current = limit;
+        if (peak < current / 2) {
+            return; // pouco uso: nenhuma evidência para subir, e a latência não diz nada sobre o limite
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * baseline / shortRtt));
+        double queueSize = Math.sqrt(current);
+        double next = current * gradient + queueSize;
+        next = current * (1 - smoothing) + next * smoothing;
+        limit = Math.max(minLimit, Math.min(maxLimit, next));
+    }
+
+    int limit() {
+        return (int) limit;
+    }
+
+    int inFlight() {
+        return inFlight.get();
+    }
+
+    long baselineRttMillis() {
+        long baseline = baselineRttNanos;
+        return baseline == Long.MAX_VALUE ? 0 : baseline / 1_000_000;
+    }
+
+    /**
+     * Latência média da última janela em milissegundos, usada para sugerir o Retry-After
+     */
+    long shortRttMillis() {
+        return (long) (shortRttNanos / 1_000_000);
+    }
+}
@@ -0,0 +1,63 @@
+package com.antonio.infrastructure.security.filter;
+
+import com.antonio.infrastructure.security.network.IpBlocklist;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+
+
+@Slf4j
+@Component
+public class IpBlocklistFilter extends OncePerRequestFilter {
+
+    // null quando security.ip-blocklist.feed não está configurado: o filtro só repassa
+    private final IpBlocklist blocklist;
+    
+    public IpBlocklistFilter(@Value("${security.ip-blocklist.feed:}") String feed,
+                             @Value("${security.ip-blocklist.reload-seconds:60}") long reloadSeconds) throws IOException {
+        this.blocklist = feed.isBlank() ? null : new IpBlocklist(Path.of(feed), Duration.ofSeconds(reloadSeconds));
+    }
+    
+    @PreDestroy
+    void close() {
+        if (blocklist != null) {
+            blocklist.close();
+        }
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        
+        if (blocklist != null) {
+            ClientContext client = ClientContext.of(request);
+            
+            if (client.validIp() && blocklist.contains(client.ipHi(), client.ipLo())) {
+                log.warn("⛔ IP DENIED - Blocklisted IP {} attempted to access: {}",
+                         client.clientIp(), client.routeTemplate());
+                
+                response.setStatus(HttpStatus.FORBIDDEN.value());
+                response.setContentType("application/json");
+                response.getWriter().write(
+                    "{\"error\": \"Forbidden\", " +
+                    "\"message\": \"Access denied from your IP address\"}"
+                );
+                return;
+            }
+        }
+        
+        filterChain.doFilter(request, response);
+    }
+}
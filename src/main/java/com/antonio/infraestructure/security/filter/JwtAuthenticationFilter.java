@@ -0,0 +1,98 @@
+package com.antonio.infrastructure.security.filter;
+
+import com.antonio.infrastructure.security.service.JwtPrincipal;
+import com.antonio.infrastructure.security.service.JwtTokenService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Optional;
+
+
+@Slf4j
+@Component
+public class JwtAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final JwtTokenService jwtTokenService;
+    private final boolean stateless;
+
+    public JwtAuthenticationFilter(JwtTokenService jwtTokenService,
+                                   @Value("${security.session.mode:stateful}") String sessionMode) {
+        this.jwtTokenService = jwtTokenService;
+        this.stateless = "stateless".equalsIgnoreCase(sessionMode);
+    }
+
+    /**
+     * Só atua no modo stateless; no modo de sessão o filtro nem entra na cadeia
+     */
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !stateless;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+
+        String token = bearerToken(request);
+        if (token == null) {
+            // sem token: segue anônimo e a autorização decide
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        Optional<JwtTokenService.VerifiedToken> verified = jwtTokenService.verify(token);
+        if (verified.isEmpty()) {
+            log.warn("🎫 INVALID TOKEN - IP: {}, Route: {}",
+                     ClientContext.of(request).clientIp(), RouteTemplateMatcher.templateOf(request));
+
+            response.setStatus(HttpStatus.UNAUTHORIZED.value());
+            response.setHeader("WWW-Authenticate", "Bearer error=\"invalid_token\"");
+            response.setContentType("application/json");
+            response.getWriter().write(
+                "{\"error\": \"Unauthorized\", " +
+                "\"message\": \"Invalid, expired or revoked token\"}"
+            );
+            return;
+        }
+
+        JwtTokenService.VerifiedToken claims = verified.get();
+        UsernamePasswordAuthenticationToken authentication = UsernamePasswordAuthenticationToken.authenticated(
+            new JwtPrincipal(claims.username(), claims.userId()), null,
+            claims.roles().stream().map(SimpleGrantedAuthority::new).toList());
+        // o token validado vai nos details: 2FA, id do usuário e revogação no logout leem daqui
+        authentication.setDetails(claims);
+
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(authentication);
+        SecurityContextHolder.setContext(context);
+
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * Token do header Authorization, ou null se não há Bearer
+     */
+    public static String bearerToken(HttpServletRequest request) {
+        String header = request.getHeader("Authorization");
+        if (header == null || !header.regionMatches(true, 0, BEARER_PREFIX, 0, BEARER_PREFIX.length())) {
+            return null;
+        }
+        String token = header.substring(BEARER_PREFIX.length()).trim();
+        return token.isEmpty() ? null : token;
+    }
+}
@@ -0,0 +1,165 @@
+package com.antonio.infrastructure.security.filter;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Slots de token bucket em um arquivo mapeado em memória, compartilhados entre processos do host.
+ *
+ * Layout: [cabeçalho de 64 bytes: magic, versão, tamanho, epoch] [long keys[size]] [long states[size]]
+ * [byte referenced[size]]. Chaves e estados são lidos e trocados por CAS de {@link VarHandle} direto
+ * na página mapeada, que é a mesma memória física em todos os processos, então o CAS vale entre eles.
+ * O arquivo é criado sob {@link FileLock} pelo primeiro processo; os seguintes adotam o tamanho e o
+ * epoch gravados no cabeçalho, para que o tempo empacotado no estado signifique o mesmo para todos.
+ */
+@Slf4j
+final class MappedBucketSlots implements BucketSlots {
+    private static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
+    private static final long MAGIC = 0x544f4b454e42554bL; // "TOKENBUK"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 64;
+    private static final int SIZE_OFFSET = 12;
+    private static final int EPOCH_OFFSET = 16;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int size;
+    private final long epochMillis;
+    private final int statesOffset;
+    private final int referencedOffset;
+
+    private MappedBucketSlots(FileChannel channel, MappedByteBuffer buffer, int size, long epochMillis) {
+        this.channel = channel;
+        this.buffer = buffer;
+        this.size = size;
+        this.epochMillis = epochMillis;
+        this.statesOffset = HEADER_BYTES + size * Long.BYTES;
+        this.referencedOffset = statesOffset + size * Long.BYTES;
+    }
+
+    /**
+     * 🤝 Abre o arquivo compartilhado, criando e formatando se ainda não existe
+     */
+    static MappedBucketSlots open(Path file, int requestedSize) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        FileChannel channel = FileChannel.open(file,
+            StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            int size;
+            long epochMillis;
+            // o lock só protege a formatação; o uso depois é todo por CAS
+            try (FileLock ignored = channel.lock()) {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.nativeOrder());
+                channel.read(header, 0);
+                if (header.position() == HEADER_BYTES && header.getLong(0) == MAGIC) {
+                    if (header.getInt(8) != VERSION) {
+                        throw new IOException("Unsupported rate-limit file version " + header.getInt(8) + ": " + file);
+                    }
+                    size = header.getInt(SIZE_OFFSET);
+                    epochMillis = header.getLong(EPOCH_OFFSET);
+                    if (size != requestedSize) {
+                        log.warn("⚠️ Shared rate-limit file {} has {} slots (requested {}) - using the file's size",
+                                 file, size, requestedSize);
+                    }
+                } else {
+                    size = requestedSize;
+                    epochMillis = System.currentTimeMillis();
+                    // arquivo novo (ou lixo): recomeça zerado e só publica o magic depois do resto do cabeçalho
+                    channel.truncate(0);
+                    MappedByteBuffer body = channel.map(FileChannel.MapMode.READ_WRITE, 0, fileBytes(size));
+                    body.order(ByteOrder.nativeOrder());
+                    body.putInt(8, VERSION);
+                    body.putInt(SIZE_OFFSET, size);
+                    body.putLong(EPOCH_OFFSET, epochMillis);
+                    body.force();
+                    body.putLong(0, MAGIC);
+                    body.force();
+                    log.info("🤝 Shared rate-limit file {} created with {} slots", file, size);
+                }
+            }
+            if (Integer.bitCount(size) != 1 || size < TokenBucketTable.PROBES || fileBytes(size) > Integer.MAX_VALUE) {
+                throw new IOException("Invalid rate-limit file size " + size + ": " + file);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, fileBytes(size));
+            return new MappedBucketSlots(channel, buffer, size, epochMillis);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private static long fileBytes(int size) {
+        return HEADER_BYTES + (long) size * (Long.BYTES * 2 + 1);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public long epochMillis() {
+        return epochMillis;
+    }
+
+    @Override
+    public long key(int slot) {
+        return (long) LONGS.getVolatile(buffer, HEADER_BYTES + slot * Long.BYTES);
+    }
+
+    @Override
+    public boolean casKey(int slot, long expected, long key) {
+        return LONGS.compareAndSet(buffer, HEADER_BYTES + slot * Long.BYTES, expected, key);
+    }
+
+    @Override
+    public long state(int slot) {
+        return (long) LONGS.getVolatile(buffer, statesOffset + slot * Long.BYTES);
+    }
+
+    @Override
+    public boolean casState(int slot, long expected, long state) {
+        return LONGS.compareAndSet(buffer, statesOffset + slot * Long.BYTES, expected, state);
+    }
+
+    @Override
+    public void setState(int slot, long state) {
+        LONGS.setVolatile(buffer, statesOffset + slot * Long.BYTES, state);
+    }
+
+    @Override
+    public boolean referenced(int slot) {
+        return buffer.get(referencedOffset + slot) != 0;
+    }
+
+    @Override
+    public void mark(int slot) {
+        buffer.put(referencedOffset + slot, (byte) 1);
+    }
+
+    @Override
+    public void clear(int slot) {
+        buffer.put(referencedOffset + slot, (byte) 0);
+    }
+
+    @Override
+    public void close() throws IOException {
+        // o mapeamento continua válido até o buffer ser coletado; o arquivo fica para os outros processos
+        channel.close();
+    }
+}
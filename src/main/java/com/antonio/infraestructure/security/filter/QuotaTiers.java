@@ -0,0 +1,116 @@
+package com.antonio.infrastructure.security.filter;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Cota de rate limit de quem está chamando: anônimos ficam no limite da rota, por IP; usuários
+ * autenticados ganham um bucket próprio, por principal, com a cota do melhor papel que têm.
+ *
+ * Cada papel tem um multiplicador sobre a capacidade da rota ({@code security.rate-limit.role-tiers})
+ * e pode ter limites próprios por template ({@code security.rate-limit.role-routes}), que valem
+ * no lugar do multiplicador para aquela rota.
+ */
+@Slf4j
+@Component
+public class QuotaTiers {
+
+    /**
+     * Bucket a consumir: a chave na {@link TokenBucketTable} e o limite efetivo
+     */
+    record Quota(long key, int capacity, long periodMillis, String tier) {
+    }
+
+    private static final String ROLE_PREFIX = "ROLE_";
+
+    private final Map<String, Double> multipliers = new HashMap<>();
+    private final Map<String, Map<String, RouteTemplateMatcher.Route>> overrides = new HashMap<>();
+
+    public QuotaTiers(@Value("${security.rate-limit.role-tiers:USER=2,ADMIN=10}") String roleTiers,
+                      @Value("${security.rate-limit.role-routes:}") String roleRoutes) {
+        for (String entry : roleTiers.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            int eq = entry.indexOf('=');
+            if (eq < 0) {
+                throw new IllegalArgumentException("Role tier must be ROLE=multiplier: " + entry);
+            }
+            multipliers.put(role(entry.substring(0, eq).trim()), Double.parseDouble(entry.substring(eq + 1).trim()));
+        }
+        int overrideCount = 0;
+        for (String entry : roleRoutes.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            int colon = entry.indexOf(':');
+            int eq = entry.lastIndexOf('=');
+            if (colon < 0 || eq < colon) {
+                throw new IllegalArgumentException("Role route limit must be ROLE:template=capacity/period: " + entry);
+            }
+            RouteTemplateMatcher.Route route = RouteTemplateMatcher.parseLimit(
+                entry.substring(colon + 1, eq).trim(), entry.substring(eq + 1).trim());
+            overrides.computeIfAbsent(role(entry.substring(0, colon).trim()), r -> new HashMap<>())
+                .put(route.template(), route);
+            overrideCount++;
+        }
+        log.info("🎚️ Rate limit tiers: {} role multipliers, {} role route limits", multipliers.size(), overrideCount);
+    }
+
+    /**
+     * 🎚️ Cota da requisição; {@code auth} nulo ou anônimo cai no limite da rota por IP
+     */
+    Quota resolve(ClientContext client, RouteTemplateMatcher.Route route, Authentication auth) {
+        if (auth == null || !auth.isAuthenticated() || auth instanceof AnonymousAuthenticationToken) {
+            return new Quota(TokenBucketTable.key(client.clientIp(), route.template()),
+                             route.capacity(), route.period().toMillis(), "anonymous");
+        }
+
+        RouteTemplateMatcher.Route best = null;
+        String bestTier = null;
+        double multiplier = 1.0;
+        String multiplierTier = "authenticated";
+        for (GrantedAuthority authority : auth.getAuthorities()) {
+            String role = authority.getAuthority();
+            Map<String, RouteTemplateMatcher.Route> routes = overrides.get(role);
+            RouteTemplateMatcher.Route override = routes != null ? routes.get(route.template()) : null;
+            if (override != null && (best == null || ratePerMilli(override) > ratePerMilli(best))) {
+                best = override;
+                bestTier = role;
+            }
+            Double factor = multipliers.get(role);
+            if (factor != null && factor > multiplier) {
+                multiplier = factor;
+                multiplierTier = role;
+            }
+        }
+
+        long key = TokenBucketTable.principalKey(auth.getName(), route.template());
+        if (best != null) {
+            return new Quota(key, clamp(best.capacity()), best.period().toMillis(), bestTier);
+        }
+        return new Quota(key, clamp(Math.round(route.capacity() * multiplier)), route.period().toMillis(), multiplierTier);
+    }
+
+    /**
+     * Capacidade dentro do que a {@link TokenBucketTable} aceita
+     */
+    private static int clamp(long capacity) {
+        return (int) Math.max(1, Math.min(TokenBucketTable.MAX_CAPACITY, capacity));
+    }
+
+    private static double ratePerMilli(RouteTemplateMatcher.Route route) {
+        return (double) route.capacity() / route.period().toMillis();
+    }
+
+    private static String role(String name) {
+        return name.startsWith(ROLE_PREFIX) ? name : ROLE_PREFIX + name;
+    }
+}
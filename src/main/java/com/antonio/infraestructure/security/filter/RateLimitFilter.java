@@ -1,13 +1,12 @@
 package com.antonio.infrastructure.security.filter;
 
-import io.github.bucket4j.Bandwidth;
-import io.github.bucket4j.Bucket;
-import io.github.bucket4j.Refill;
+import jakarta.annotation.PreDestroy;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -15,87 +14,86 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.time.Duration;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.nio.file.Path;
 
 
 @Slf4j
 @Component
 public class RateLimitFilter extends OncePerRequestFilter {
 
-    private final Map<String, Bucket> ipBucketCache = new ConcurrentHashMap<>();
+    // memória fixa: buckets empacotados em long[] (ou num arquivo mapeado dividido com os outros processos),
+    // chaves ociosas saem por clock-sweep
+    private final TokenBucketTable buckets;
+    // limites por template de rota (security.rate-limit.routes)
+    private final RouteTemplateMatcher routeMatcher;
+    // cota por principal e papel (security.rate-limit.role-tiers / role-routes)
+    private final QuotaTiers quotaTiers;
     
-    private static final int DEFAULT_CAPACITY = 50;
-    private static final Duration DEFAULT_REFILL = Duration.ofMinutes(1);
+    public RateLimitFilter(RouteTemplateMatcher routeMatcher,
+                           QuotaTiers quotaTiers,
+                           @Value("${security.rate-limit.max-keys:65536}") int maxKeys,
+                           @Value("${security.rate-limit.backend:local}") String backend,
+                           @Value("${security.rate-limit.shared-file:./data/rate-limit.buckets}") String sharedFile) throws IOException {
+        this.routeMatcher = routeMatcher;
+        this.quotaTiers = quotaTiers;
+        this.buckets = switch (backend) {
+            case "local" -> TokenBucketTable.local(maxKeys);
+            case "shared" -> TokenBucketTable.shared(Path.of(sharedFile), maxKeys);
+            default -> throw new IllegalArgumentException("Unknown rate-limit backend (local|shared): " + backend);
+        };
+        log.info("🪙 Rate limit backend: {} ({} slots)", backend, buckets.capacity());
+    }
+    
+    @PreDestroy
+    void close() throws IOException {
+        buckets.close();
+    }
     
     @Override
     protected void doFilterInternal(HttpServletRequest request,
                                     HttpServletResponse response,
                                     FilterChain filterChain) throws ServletException, IOException {
         
-        String clientIp = getClientIP(request);
-        String endpoint = request.getRequestURI();
+        ClientContext client = ClientContext.of(request);
+        String clientIp = client.clientIp();
+        RouteTemplateMatcher.Route route = client.route() != null ? client.route() : routeMatcher.resolve(request);
+        
+        // o contexto de segurança já foi restaurado da sessão antes desta etapa
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        QuotaTiers.Quota quota = quotaTiers.resolve(client, route, auth);
+        
+        long remaining = buckets.tryConsume(quota.key(), quota.capacity(), quota.periodMillis());
+        long millisPerToken = Math.max(1, quota.periodMillis() / quota.capacity());
         
-        // Rate limit mais restritivo para endpoints sensíveis
-        Bucket bucket = resolveBucket(clientIp, endpoint);
+        // Adiciona headers informativos: reset = segundos até o bucket voltar a ficar cheio
+        response.setHeader("X-RateLimit-Limit", String.valueOf(quota.capacity()));
+        response.setHeader("X-RateLimit-Remaining", String.valueOf(Math.max(0, remaining)));
+        // nome antigo, mantido para os clientes que já leem o header
+        response.setHeader("X-Rate-Limit-Remaining", String.valueOf(Math.max(0, remaining)));
+        response.setHeader("X-RateLimit-Reset",
+            String.valueOf(ceilSeconds((quota.capacity() - Math.max(0, remaining)) * millisPerToken)));
         
-        if (bucket.tryConsume(1)) {
-            // Adiciona headers informativos
-            response.addHeader("X-Rate-Limit-Remaining", String.valueOf(bucket.getAvailableTokens()));
+        if (remaining >= 0) {
             filterChain.doFilter(request, response);
         } else {
             // Rate limit excedido
-            log.warn("⚠️ RATE LIMIT EXCEEDED - IP: {}, Endpoint: {}", clientIp, endpoint);
+            long retryAfter = ceilSeconds(millisPerToken);
+            log.warn("⚠️ RATE LIMIT EXCEEDED - IP: {}, User: {}, Tier: {}, Endpoint: {}, Route: {}",
+                     clientIp, auth != null ? auth.getName() : "anonymous", quota.tier(),
+                     request.getRequestURI(), route.template());
             
             response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader("Retry-After", String.valueOf(retryAfter));
             response.setContentType("application/json");
             response.getWriter().write(
                 "{\"error\": \"Too many requests\", " +
                 "\"message\": \"Rate limit exceeded. Please try again later.\", " +
-                "\"retryAfter\": 60}"
+                "\"retryAfter\": " + retryAfter + "}"
             );
         }
     }
     
-    private Bucket resolveBucket(String ip, String endpoint) {
-        String key = ip + ":" + endpoint;
-        
-        return ipBucketCache.computeIfAbsent(key, k -> {
-            
-            if (endpoint.contains("/auth/") || endpoint.contains("/login")) {
-                return createBucket(10, Duration.ofMinutes(5)); 
-            }
-            
-            
-            return createBucket(DEFAULT_CAPACITY, DEFAULT_REFILL);
-        });
-    }
-    
-    private Bucket createBucket(int capacity, Duration refillDuration) {
-        Bandwidth limit = Bandwidth.classic(
-            capacity,
-            Refill.intervally(capacity, refillDuration)
-        );
-        return Bucket.builder().addLimit(limit).build();
-    }
-    
-    
-    private String getClientIP(HttpServletRequest request) {
-        String ip = request.getHeader("X-Forwarded-For");
-        
-        if (ip == null || ip.isEmpty() || "unknown".equalsIgnoreCase(ip)) {
-            ip = request.getHeader("X-Real-IP");
-        }
-        if (ip == null || ip.isEmpty() || "unknown".equalsIgnoreCase(ip)) {
-            ip = request.getRemoteAddr();
-        }
-        
-       
-        if (ip != null && ip.contains(",")) {
-            ip = ip.split(",")[0].trim();
-        }
-        
-        return ip != null ? ip : "unknown";
+    private static long ceilSeconds(long millis) {
+        return Math.max(1, (millis + 999) / 1000);
     }
 }
\ No newline at end of file
@@ -0,0 +1,245 @@
+package com.antonio.infrastructure.security.filter;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Resolve o template de rota de uma requisição ({@code /api/todos/123} → {@code /api/todos/{id}})
+ * para que limites, chaves de rate limit e métricas não explodam por id.
+ *
+ * Os templates são compilados uma vez numa trie por segmento de caminho: segmento literal tem
+ * prioridade sobre {@code {variavel}}, e {@code **} no fim casa o resto do caminho. O casamento é
+ * uma única passada sobre a URI, sem split nem substring. Caminhos sem template caem no limite
+ * padrão, com segmentos que parecem ids trocados por {@code {id}}.
+ */
+@Slf4j
+@Component
+public class RouteTemplateMatcher {
+
+    /**
+     * Atributo da requisição com a {@link Route} já resolvida, para os filtros seguintes
+     */
+    public static final String ROUTE_ATTRIBUTE = RouteTemplateMatcher.class.getName() + ".route";
+
+    // mesmos limites que o RateLimitFilter aplicava por substring da URI
+    private static final String DEFAULT_ROUTES =
+        "/api/auth/**=10/5m,/login=10/5m,/register=10/5m,"
+        + "/api/todos=50/1m,/api/todos/{id}=50/1m,/api/products=50/1m,/api/products/search=50/1m,/api/products/{id}=50/1m";
+
+    public record Route(String template, int capacity, Duration period) {
+    }
+
+    private static final class Node {
+        String[] literalNames = new String[0];
+        Node[] literalNodes = new Node[0];
+        Node wildcard;
+        Route route;
+        Route catchAll;
+
+        Node literal(String path, int from, int to) {
+            int length = to - from;
+            for (int i = 0; i < literalNames.length; i++) {
+                String name = literalNames[i];
+                if (name.length() == length && path.regionMatches(from, name, 0, length)) {
+                    return literalNodes[i];
+                }
+            }
+            return null;
+        }
+
+        Node addLiteral(String name) {
+            for (int i = 0; i < literalNames.length; i++) {
+                if (literalNames[i].equals(name)) {
+                    return literalNodes[i];
+                }
+            }
+            literalNames = Arrays.copyOf(literalNames, literalNames.length + 1);
+            literalNodes = Arrays.copyOf(literalNodes, literalNodes.length + 1);
+            literalNames[literalNames.length - 1] = name;
+            return literalNodes[literalNodes.length - 1] = new Node();
+        }
+    }
+
+    private final Node root = new Node();
+    private final int defaultCapacity;
+    private final Duration defaultPeriod;
+
+    public RouteTemplateMatcher(@Value("${security.rate-limit.routes:}") String routes,
+                                @Value("${security.rate-limit.default-limit:50/1m}") String defaultLimit) {
+        Route defaults = parseLimit("**", defaultLimit);
+        this.defaultCapacity = defaults.capacity();
+        this.defaultPeriod = defaults.period();
+        List<Route> compiled = new ArrayList<>();
+        for (String entry : (routes.isBlank() ? DEFAULT_ROUTES : routes).split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            int eq = entry.lastIndexOf('=');
+            if (eq < 0) {
+                throw new IllegalArgumentException("Route limit must be template=capacity/period: " + entry);
+            }
+            Route route = parseLimit(entry.substring(0, eq).trim(), entry.substring(eq + 1).trim());
+            add(route);
+            compiled.add(route);
+        }
+        log.info("🧭 Route templates compiled: {} (default {} per {})", compiled.size(), defaultCapacity, defaultPeriod);
+    }
+
+    /**
+     * 🧭 Rota da requisição; resolvida uma vez e guardada em {@link #ROUTE_ATTRIBUTE}
+     */
+    public Route resolve(HttpServletRequest request) {
+        Object cached = request.getAttribute(ROUTE_ATTRIBUTE);
+        if (cached instanceof Route route) {
+            return route;
+        }
+        Route route = match(request.getRequestURI());
+        request.setAttribute(ROUTE_ATTRIBUTE, route);
+        return route;
+    }
+
+    /**
+     * Template já resolvido por um filtro anterior, ou a URI crua se ninguém resolveu
+     */
+    public static String templateOf(HttpServletRequest request) {
+        Object cached = request.getAttribute(ROUTE_ATTRIBUTE);
+        return cached instanceof Route route ? route.template() : request.getRequestURI();
+    }
+
+    Route match(String path) {
+        Node node = root;
+        Route fallback = root.catchAll;
+        int pos = 0;
+        int length = path.length();
+        while (pos < length) {
+            if (path.charAt(pos) == '/') {
+                pos++;
+                continue;
+            }
+            int end = path.indexOf('/', pos);
+            if (end < 0) {
+                end = length;
+            }
+            Node next = node.literal(path, pos, end);
+            if (next == null) {
+                next = node.wildcard;
+            }
+            if (next == null) {
+                return fallback != null ? fallback : unmatched(path);
+            }
+            node = next;
+            if (node.catchAll != null) {
+                fallback = node.catchAll;
+            }
+            pos = end;
+        }
+        if (node.route != null) {
+            return node.route;
+        }
+        return fallback != null ? fallback : unmatched(path);
+    }
+
+    private void add(Route route) {
+        Node node = root;
+        String[] segments = route.template().split("/");
+        for (int i = 0; i < segments.length; i++) {
+            String segment = segments[i];
+            if (segment.isEmpty()) {
+                continue;
+            }
+            if (segment.equals("**")) {
+                if (i != segments.length - 1) {
+                    throw new IllegalArgumentException("'**' must be the last segment: " + route.template());
+                }
+                node.catchAll = route;
+                return;
+            }
+            if (segment.startsWith("{") && segment.endsWith("}")) {
+                if (node.wildcard == null) {
+                    node.wildcard = new Node();
+                }
+                node = node.wildcard;
+            } else {
+                node = node.addLiteral(segment);
+            }
+        }
+        node.route = route;
+    }
+
+    /**
+     * Caminho sem template: segmentos numéricos ou com cara de UUID/hash viram {id}
+     */
+    private Route unmatched(String path) {
+        StringBuilder template = new StringBuilder(path.length());
+        int pos = 0;
+        while (pos < path.length()) {
+            int end = path.indexOf('/', pos + 1);
+            if (end < 0) {
+                end = path.length();
+            }
+            int segmentStart = path.charAt(pos) == '/' ? pos + 1 : pos;
+            template.append(path, pos, segmentStart);
+            if (looksLikeId(path, segmentStart, end)) {
+                template.append("{id}");
+            } else {
+                template.append(path, segmentStart, end);
+            }
+            pos = end;
+        }
+        return new Route(template.toString(), defaultCapacity, defaultPeriod);
+    }
+
+    private static boolean looksLikeId(String path, int from, int to) {
+        if (from >= to) {
+            return false;
+        }
+        boolean allDigits = true;
+        boolean hexOrDash = true;
+        for (int i = from; i < to; i++) {
+            char c = path.charAt(i);
+            allDigits &= c >= '0' && c <= '9';
+            hexOrDash &= (c >= '0' && c <= '9') || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F') || c == '-';
+        }
+        return allDigits || (hexOrDash && to - from >= 16);
+    }
+
+    static Route parseLimit(String template, String limit) {
+        int slash = limit.indexOf('/');
+        if (slash < 0) {
+            throw new IllegalArgumentException("Limit must be capacity/period (e.g. 50/1m): " + limit);
+        }
+        int capacity = Integer.parseInt(limit.substring(0, slash).trim());
+        if (capacity < 1 || capacity > TokenBucketTable.MAX_CAPACITY) {
+            // falha no startup: senão toda requisição da rota viraria 500 no tryConsume
+            throw new IllegalArgumentException(
+                "Limit capacity must be in 1.." + TokenBucketTable.MAX_CAPACITY + ": " + template + "=" + limit);
+        }
+        Duration period = parsePeriod(limit.substring(slash + 1).trim());
+        if (period.toMillis() <= 0) {
+            throw new IllegalArgumentException("Limit period must be positive: " + template + "=" + limit);
+        }
+        return new Route(template, capacity, period);
+    }
+
+    private static Duration parsePeriod(String period) {
+        int unitStart = 0;
+        while (unitStart < period.length() && Character.isDigit(period.charAt(unitStart))) {
+            unitStart++;
+        }
+        long amount = unitStart == 0 ? 1 : Long.parseLong(period.substring(0, unitStart));
+        return switch (period.substring(unitStart)) {
+            case "ms" -> Duration.ofMillis(amount);
+            case "s" -> Duration.ofSeconds(amount);
+            case "m" -> Duration.ofMinutes(amount);
+            case "h" -> Duration.ofHours(amount);
+            default -> throw new IllegalArgumentException("Unknown period unit (ms, s, m, h): " + period);
+        };
+    }
+}
@@ -0,0 +1,289 @@
+package com.antonio.infrastructure.security.filter;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.file.Path;
+
+/**
+ * Tabela de token buckets com memória fixa, sem um objeto por chave.
+ *
+ * Cada chave é um hash de 64 bits de (IP, rota) guardado em {@code keys}; o estado do bucket fica
+ * empacotado em um único long de {@code states} — [40 bits: ms desde a criação da tabela da última
+ * recarga | 24 bits: tokens em 1/256] — e é atualizado por CAS. Endereçamento aberto com janela de
+ * sondagem fixa: a busca olha sempre a janela inteira, então remover não quebra cadeias. Com a
+ * janela cheia, um relógio (clock-sweep) sobre os bits de referência escolhe a chave ociosa a sair.
+ *
+ * Os slots ficam em {@link BucketSlots}: arrays no heap ({@link #local}) ou um arquivo mapeado em
+ * memória compartilhado pelos processos do host ({@link #shared}), e o algoritmo é o mesmo nos dois.
+ *
+ * A contagem é aproximada nas bordas: uma chave despejada volta com o bucket cheio, e uma chamada
+ * que corre junto com o despejo pode debitar o bucket do novo ocupante.
+ */
+final class TokenBucketTable implements AutoCloseable {
+
+    static final int PROBES = 8;
+    private static final int TOKEN_BITS = 24;
+    private static final long TOKEN_MASK = (1L << TOKEN_BITS) - 1;
+    private static final int FRACTION_BITS = 8;
+    static final int MAX_CAPACITY = (int) (TOKEN_MASK >>> FRACTION_BITS);
+    private static final long PRINCIPAL_SALT = 0x5bd1e9955bd1e995L;
+    private static final long FRESH = 0; // slot recém-ocupado: bucket cheio
+
+    private final BucketSlots slots;
+    private final int mask;
+    private final long epochMillis;
+    private int hand; // ponteiro do relógio dentro da janela; corridas só mudam por onde a varredura começa
+
+    TokenBucketTable(BucketSlots slots) {
+        this.slots = slots;
+        this.mask = slots.size() - 1;
+        this.epochMillis = slots.epochMillis();
+    }
+
+    /**
+     * Tabela só deste processo, no heap
+     */
+    static TokenBucketTable local(int maxKeys) {
+        return new TokenBucketTable(new HeapSlots(tableSize(maxKeys)));
+    }
+
+    /**
+     * 🤝 Tabela em arquivo mapeado: todos os processos que abrem o mesmo arquivo dividem os buckets
+     */
+    static TokenBucketTable shared(Path file, int maxKeys) throws IOException {
+        return new TokenBucketTable(MappedBucketSlots.open(file, tableSize(maxKeys)));
+    }
+
+    static int tableSize(int maxKeys) {
+        return Integer.highestOneBit(Math.max(PROBES, maxKeys - 1) << 1);
+    }
+
+    /**
+     * 🪙 Tenta consumir um token; devolve os tokens restantes ou -1 se o bucket está vazio.
+     * O bucket recebe {@code capacity} tokens a cada {@code period}, de forma contínua.
+     */
+    long tryConsume(long key, int capacity, long periodMillis) {
+        if (capacity <= 0 || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Capacity must be in 1.." + MAX_CAPACITY + ": " + capacity);
+        }
+        int slot = slotFor(key);
+
+        long full = (long) capacity << FRACTION_BITS;
+        long one = 1L << FRACTION_BITS;
+        while (true) {
+            long now = System.currentTimeMillis() - epochMillis;
+            long state = slots.state(slot);
+            long tokens;
+            long refilledAt;
+            if (state == FRESH) {
+                tokens = full;
+                refilledAt = now;
+            } else {
+                tokens = Math.min(state & TOKEN_MASK, full);
+                refilledAt = state >>> TOKEN_BITS;
+                long elapsed = now - refilledAt;
+                if (elapsed >= periodMillis) {
+                    tokens = full;
+                    refilledAt = now;
+                } else if (elapsed > 0) {
+                    long added = elapsed * full / periodMillis;
+                    if (tokens + added >= full) {
+                        tokens = full;
+                        refilledAt = now;
+                    } else if (added > 0) {
+                        tokens += added;
+                        // avança só o tempo correspondente aos tokens inteiros, sem perder frações
+                        refilledAt += added * periodMillis / full;
+                    }
+                }
+            }
+            if (tokens < one) {
+                return -1;
+            }
+            long next = (refilledAt << TOKEN_BITS) | (tokens - one);
+            if (next == FRESH) {
+                next = 1; // 0 é reservado para "slot novo"
+            }
+            if (slots.casState(slot, state, next)) {
+                return (tokens - one) >>> FRACTION_BITS;
+            }
+        }
+    }
+
+    int capacity() {
+        return slots.size();
+    }
+
+    @Override
+    public void close() throws IOException {
+        slots.close();
+    }
+
+    /**
+     * Slot da chave; ocupa um vazio ou despeja o menos recentemente referenciado da janela.
+     * O bit de referência é marcado só quando a chave já estava na tabela
+     */
+    private int slotFor(long key) {
+        if (key == 0) {
+            key = 1; // 0 marca slot vazio
+        }
+        int start = (int) (mix(key) & mask);
+        while (true) {
+            int empty = -1;
+            for (int i = 0; i < PROBES; i++) {
+                int slot = (start + i) & mask;
+                long current = slots.key(slot);
+                if (current == key) {
+                    slots.mark(slot);
+                    return slot;
+                }
+                if (current == 0 && empty < 0) {
+                    empty = slot;
+                }
+            }
+            if (empty >= 0) {
+                if (claim(empty, 0, key)) {
+                    return empty;
+                }
+                continue; // outra thread ocupou o slot: procura de novo (pode ter sido a mesma chave)
+            }
+            int victim = sweep(start);
+            long victimKey = slots.key(victim);
+            if (victimKey != key && claim(victim, victimKey, key)) {
+                return victim;
+            }
+        }
+    }
+
+    private boolean claim(int slot, long expectedKey, long key) {
+        if (!slots.casKey(slot, expectedKey, key)) {
+            return false;
+        }
+        slots.setState(slot, FRESH);
+        // chave nova entra sem referência: só ganha o bit se voltar, então rajadas de chaves de uso único
+        // saem antes das chaves quentes
+        slots.clear(slot);
+        return true;
+    }
+
+    /**
+     * Relógio sobre a janela: a partir do ponteiro, limpa bits de referência até achar um slot não
+     * usado desde a última volta. O ponteiro persiste entre varreduras, senão o despejo começaria
+     * sempre pelo primeiro slot da janela e favoreceria os últimos
+     */
+    private int sweep(int start) {
+        int offset = hand & (PROBES - 1);
+        for (int i = 0; i < PROBES * 2; i++) {
+            int probe = (offset + i) & (PROBES - 1);
+            int slot = (start + probe) & mask;
+            if (!slots.referenced(slot)) {
+                hand = probe + 1;
+                return slot;
+            }
+            slots.clear(slot);
+        }
+        hand = offset + 1;
+        return (start + offset) & mask;
+    }
+
+    /**
+     * Hash de 64 bits de (IP, rota) sem concatenar strings
+     */
+    static long key(CharSequence ip, CharSequence route) {
+        return mix(hash(ip) * 0x9E3779B97F4A7C15L + hash(route));
+    }
+
+    /**
+     * Hash de (principal, rota), em outro espaço de chaves: um usuário chamado "10.0.0.1" não divide bucket com o IP
+     */
+    static long principalKey(CharSequence principal, CharSequence route) {
+        return mix((hash(principal) ^ PRINCIPAL_SALT) * 0x9E3779B97F4A7C15L + hash(route));
+    }
+
+    private static long hash(CharSequence value) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return h;
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    /**
+     * Slots em arrays do heap
+     */
+    private static final class HeapSlots implements BucketSlots {
+        private static final VarHandle LONGS = MethodHandles.arrayElementVarHandle(long[].class);
+
+        private final long[] keys;
+        private final long[] states;
+        private final byte[] referenced; // escrita sem sincronização: é só uma dica para o relógio
+        private final long epochMillis = System.currentTimeMillis();
+
+        HeapSlots(int size) {
+            this.keys = new long[size];
+            this.states = new long[size];
+            this.referenced = new byte[size];
+        }
+
+        @Override
+        public int size() {
+            return keys.length;
+        }
+
+        @Override
+        public long epochMillis() {
+            return epochMillis;
+        }
+
+        @Override
+        public long key(int slot) {
+            return (long) LONGS.getVolatile(keys, slot);
+        }
+
+        @Override
+        public boolean casKey(int slot, long expected, long key) {
+            return LONGS.compareAndSet(keys, slot, expected, key);
+        }
+
+        @Override
+        public long state(int slot) {
+            return (long) LONGS.getVolatile(states, slot);
+        }
+
+        @Override
+        public boolean casState(int slot, long expected, long state) {
+            return LONGS.compareAndSet(states, slot, expected, state);
+        }
+
+        @Override
+        public void setState(int slot, long state) {
+            LONGS.setVolatile(states, slot, state);
+        }
+
+        @Override
+        public boolean referenced(int slot) {
+            return referenced[slot] != 0;
+        }
+
+        @Override
+        public void mark(int slot) {
+            referenced[slot] = 1;
+        }
+
+        @Override
+        public void clear(int slot) {
+            referenced[slot] = 0;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.antonio.infrastructure.security.filter;
 
+import com.antonio.infrastructure.security.service.JwtTokenService;
 import io.github.bucket4j.Bandwidth;
 import io.github.bucket4j.Bucket;
 import io.github.bucket4j.Refill;
@@ -27,6 +28,7 @@ public class TwoFactorAuthFilter extends OncePerRequestFilter {
     private static final String[] EXCLUDED_PATHS = {
         "/api/auth/login",
         "/api/auth/register",
+        "/api/auth/token",
         "/api/auth/2fa/verify",
         "/api/public/"
     };
@@ -77,16 +79,15 @@ public class TwoFactorAuthFilter extends OncePerRequestFilter {
     }
     
     /**
-     * Verifica se 2FA foi validado
-     * (Em produção, verificar atributo na sessão ou JWT claim)
+     * Verifica se 2FA foi validado: claim {@code 2fa_verified} do JWT no modo stateless,
+     * marcador nos details da autenticação no modo de sessão
      */
     private boolean is2FAVerified(Authentication auth) {
-        // Implementação: verificar se usuário tem atributo "2fa_verified" na sessão
-        // ou se o JWT contém claim "2fa_verified: true"
-        
-        // Exemplo simplificado:
-        Object twoFactorVerified = auth.getDetails();
-        return twoFactorVerified != null && 
-               twoFactorVerified.toString().contains("2fa_verified=true");
+        Object details = auth.getDetails();
+        if (details instanceof JwtTokenService.VerifiedToken token) {
+            return token.twoFactorVerified();
+        }
+        return details != null &&
+               details.toString().contains("2fa_verified=true");
     }
 }
\ No newline at end of file
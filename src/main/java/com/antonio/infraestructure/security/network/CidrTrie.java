@@ -0,0 +1,127 @@
+package com.antonio.infrastructure.security.network;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Trie binária (radix 2) de prefixos CIDR sobre endereços de 128 bits; IPv4 entra como IPv4-mapped.
+ *
+ * Imutável e compacta: os nós são índices em dois int[] de filhos e um bitset de nós terminais.
+ * A busca desce um bit por nível até achar um prefixo terminal — O(tamanho do prefixo), sem alocação.
+ */
+public final class CidrTrie {
+    private static final int NONE = 0; // o nó 0 é a raiz, nunca filho de ninguém
+
+    private final int[] zero;
+    private final int[] one;
+    private final long[] terminal;
+    private final int prefixes;
+
+    private CidrTrie(int[] zero, int[] one, long[] terminal, int prefixes) {
+        this.zero = zero;
+        this.one = one;
+        this.terminal = terminal;
+        this.prefixes = prefixes;
+    }
+
+    /**
+     * 🏗️ Compila entradas "ip" ou "ip/prefixo" (IPv4 ou IPv6); entrada inválida é erro de configuração
+     */
+    public static CidrTrie compile(Collection<String> cidrs) {
+        Builder builder = new Builder();
+        long[] address = new long[2];
+        for (String raw : cidrs) {
+            String cidr = raw.trim();
+            if (cidr.isEmpty() || cidr.startsWith("#")) {
+                continue;
+            }
+            int slash = cidr.indexOf('/');
+            String ip = slash < 0 ? cidr : cidr.substring(0, slash);
+            if (!IpAddresses.parse(ip, address)) {
+                throw new IllegalArgumentException("Invalid IP in CIDR entry: " + cidr);
+            }
+            boolean v4 = ip.indexOf(':') < 0;
+            int maxBits = v4 ? 32 : 128;
+            int bits = slash < 0 ? maxBits : Integer.parseInt(cidr.substring(slash + 1).trim());
+            if (bits < 0 || bits > maxBits) {
+                throw new IllegalArgumentException("Invalid prefix length in CIDR entry: " + cidr);
+            }
+            builder.add(address[0], address[1], v4 ? IpAddresses.IPV4_MAPPED_PREFIX + bits : bits);
+        }
+        return builder.build();
+    }
+
+    public boolean contains(long hi, long lo) {
+        int node = 0;
+        for (int depth = 0; ; depth++) {
+            if (isTerminal(node)) {
+                return true;
+            }
+            if (depth == 128) {
+                return false;
+            }
+            node = bit(hi, lo, depth) ? one[node] : zero[node];
+            if (node == NONE) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * IP inválido nunca está contido
+     */
+    public boolean contains(CharSequence ip, long[] scratch) {
+        return IpAddresses.parse(ip, scratch) && contains(scratch[0], scratch[1]);
+    }
+
+    public int size() {
+        return prefixes;
+    }
+
+    private boolean isTerminal(int node) {
+        return (terminal[node >>> 6] & (1L << node)) != 0;
+    }
+
+    private static boolean bit(long hi, long lo, int index) {
+        return index < 64 ? (hi << index) < 0 : (lo << (index - 64)) < 0;
+    }
+
+    private static final class Builder {
+        private int[] zero = new int[64];
+        private int[] one = new int[64];
+        private long[] terminal = new long[1];
+        private int nodes = 1;
+        private int prefixes;
+
+        void add(long hi, long lo, int bits) {
+            int node = 0;
+            for (int depth = 0; depth < bits; depth++) {
+                boolean set = bit(hi, lo, depth);
+                int child = (set ? one : zero)[node];
+                if (child == NONE) {
+                    child = newNode(); // pode realocar os arrays: relê a referência depois
+                    (set ? one : zero)[node] = child;
+                }
+                node = child;
+            }
+            terminal[node >>> 6] |= 1L << node;
+            prefixes++;
+        }
+
+        private int newNode() {
+            if (nodes == zero.length) {
+                zero = Arrays.copyOf(zero, nodes * 2);
+                one = Arrays.copyOf(one, nodes * 2);
+            }
+            if ((nodes >>> 6) >= terminal.length) {
+                terminal = Arrays.copyOf(terminal, terminal.length * 2);
+            }
+            return nodes++;
+        }
+
+        CidrTrie build() {
+            return new CidrTrie(Arrays.copyOf(zero, nodes), Arrays.copyOf(one, nodes),
+                Arrays.copyOf(terminal, (nodes + 63) >>> 6), prefixes);
+        }
+    }
+}
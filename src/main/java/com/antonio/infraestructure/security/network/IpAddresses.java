@@ -0,0 +1,206 @@
+package com.antonio.infrastructure.security.network;
+
+/**
+ * Parse de endereços IPv4/IPv6 direto para 128 bits (dois longs), sem split nem objetos.
+ * IPv4 vira o endereço IPv4-mapped ({@code ::ffff:a.b.c.d}), então as duas famílias
+ * compartilham as mesmas estruturas de busca.
+ */
+public final class IpAddresses {
+
+    /**
+     * Prefixo dos endereços IPv4-mapped: 80 bits zero + 16 bits 1
+     */
+    public static final int IPV4_MAPPED_PREFIX = 96;
+    private static final long IPV4_MAPPED_LO = 0x0000_FFFF_0000_0000L;
+
+    private IpAddresses() {
+    }
+
+    /**
+     * 🌐 Converte o endereço em {@code out[0]} (64 bits altos) e {@code out[1]} (baixos).
+     * Aceita colchetes e zona ({@code [fe80::1%eth0]}); devolve false se não for um IP válido.
+     */
+    public static boolean parse(CharSequence ip, long[] out) {
+        return ip != null && parse(ip, 0, ip.length(), out);
+    }
+
+    /**
+     * Mesmo que {@link #parse(CharSequence, long[])} sobre o trecho [from, to), para ler listas sem substring
+     */
+    public static boolean parse(CharSequence ip, int from, int to, long[] out) {
+        while (from < to && ip.charAt(from) == ' ') {
+            from++;
+        }
+        while (to > from && ip.charAt(to - 1) == ' ') {
+            to--;
+        }
+        if (from >= to) {
+            return false;
+        }
+        if (to - from > 1 && ip.charAt(from) == '[' && ip.charAt(to - 1) == ']') {
+            from++;
+            to--;
+        }
+        for (int i = from; i < to; i++) {
+            if (ip.charAt(i) == '%') {
+                to = i; // zona do IPv6 não entra no endereço
+                break;
+            }
+        }
+        for (int i = from; i < to; i++) {
+            if (ip.charAt(i) == ':') {
+                return parseIpv6(ip, from, to, out);
+            }
+        }
+        long v4 = parseIpv4(ip, from, to);
+        if (v4 < 0) {
+            return false;
+        }
+        out[0] = 0;
+        out[1] = IPV4_MAPPED_LO | v4;
+        return true;
+    }
+
+    public static boolean isIpv4Mapped(long hi, long lo) {
+        return hi == 0 && (lo & 0xFFFF_FFFF_0000_0000L) == IPV4_MAPPED_LO;
+    }
+
+    /**
+     * IPv4 em 32 bits, ou -1 se inválido
+     */
+    static long parseIpv4(CharSequence ip, int from, int to) {
+        long result = 0;
+        int octets = 0;
+        int pos = from;
+        while (octets < 4) {
+            int value = 0;
+            int digits = 0;
+            while (pos < to && ip.charAt(pos) >= '0' && ip.charAt(pos) <= '9') {
+                value = value * 10 + (ip.charAt(pos) - '0');
+                if (++digits > 3 || value > 255) {
+                    return -1;
+                }
+                pos++;
+            }
+            if (digits == 0) {
+                return -1;
+            }
+            result = (result << 8) | value;
+            octets++;
+            if (octets < 4) {
+                if (pos >= to || ip.charAt(pos) != '.') {
+                    return -1;
+                }
+                pos++;
+            }
+        }
+        return pos == to ? result : -1;
+    }
+
+    private static boolean parseIpv6(CharSequence ip, int from, int to, long[] out) {
+        // grupos antes do "::" ficam em head, os de depois em tail; no fim head é deslocado para o topo
+        long headHi = 0;
+        long headLo = 0;
+        long tailHi = 0;
+        long tailLo = 0;
+        int headGroups = 0;
+        int tailGroups = 0;
+        boolean compressed = false;
+        int pos = from;
+
+        if (pos + 1 < to && ip.charAt(pos) == ':' && ip.charAt(pos + 1) == ':') {
+            compressed = true;
+            pos += 2;
+        } else if (pos < to && ip.charAt(pos) == ':') {
+            return false;
+        }
+        while (pos < to) {
+            int groupStart = pos;
+            int value = 0;
+            int digits = 0;
+            while (pos < to && digits <= 4) {
+                int hex = Character.digit(ip.charAt(pos), 16);
+                if (hex < 0) {
+                    break;
+                }
+                value = (value << 4) | hex;
+                digits++;
+                pos++;
+            }
+            if (pos < to && ip.charAt(pos) == '.') {
+                // IPv4 embutido no fim (::ffff:10.0.0.1): vale dois grupos
+                long v4 = parseIpv4(ip, groupStart, to);
+                if (v4 < 0) {
+                    return false;
+                }
+                for (int shift = 16; shift >= 0; shift -= 16) {
+                    int group = (int) ((v4 >>> shift) & 0xFFFF);
+                    if (compressed) {
+                        tailHi = (tailHi << 16) | (tailLo >>> 48);
+                        tailLo = (tailLo << 16) | group;
+                        tailGroups++;
+                    } else {
+                        headHi = (headHi << 16) | (headLo >>> 48);
+                        headLo = (headLo << 16) | group;
+                        headGroups++;
+                    }
+                }
+                pos = to;
+                break;
+            }
+            if (digits == 0 || digits > 4) {
+                return false;
+            }
+            if (compressed) {
+                tailHi = (tailHi << 16) | (tailLo >>> 48);
+                tailLo = (tailLo << 16) | value;
+                tailGroups++;
+            } else {
+                headHi = (headHi << 16) | (headLo >>> 48);
+                headLo = (headLo << 16) | value;
+                headGroups++;
+            }
+            if (pos == to) {
+                break;
+            }
+            if (ip.charAt(pos) != ':') {
+                return false;
+            }
+            pos++;
+            if (pos < to && ip.charAt(pos) == ':') {
+                if (compressed) {
+                    return false; // só um "::" por endereço
+                }
+                compressed = true;
+                pos++;
+            } else if (pos == to) {
+                return false; // ":" solto no fim
+            }
+        }
+
+        int groups = headGroups + tailGroups;
+        if (compressed ? groups > 7 : groups != 8) {
+            return false;
+        }
+        // desloca head para os bits mais altos e junta com tail (que já está alinhado embaixo)
+        int shift = 16 * (8 - headGroups);
+        long hi;
+        long lo;
+        if (shift == 0) {
+            hi = headHi;
+            lo = headLo;
+        } else if (shift >= 128) {
+            hi = 0;
+            lo = 0;
+        } else if (shift >= 64) {
+            hi = headLo << (shift - 64);
+            lo = 0;
+        } else {
+            hi = (headHi << shift) | (headLo >>> (64 - shift));
+            lo = headLo << shift;
+        }
+        out[0] = hi | tailHi;
+        out[1] = lo | tailLo;
+        return true;
+    }
+}
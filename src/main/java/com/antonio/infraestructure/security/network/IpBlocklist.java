@@ -0,0 +1,215 @@
+package com.antonio.infrastructure.security.network;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Lista de bloqueio de IPs em escala de feeds de reputação (milhões de IPs e faixas).
+ *
+ * Os intervalos ficam no arquivo compilado pelo {@link IpRangeCompiler}, mapeado em memória e
+ * consultado por busca binária — fora do heap. Na frente, um filtro de Bloom por bloco (/24 no IPv4,
+ * /48 no IPv6) responde o caso comum "não listado" sem tocar no arquivo. Faixas largas demais para
+ * entrar no Bloom bloco a bloco ficam num pequeno array no heap, consultado sempre.
+ * Quando o feed muda, ele é recompilado e o novo conjunto entra no lugar do anterior atomicamente.
+ */
+@Slf4j
+public class IpBlocklist implements AutoCloseable {
+    private static final int MAX_BLOCKS_PER_RANGE = 256;
+    private static final int RECORD_LONGS = IpRangeCompiler.RECORD_LONGS;
+    private static final int HEADER_LONGS = IpRangeCompiler.HEADER_BYTES / Long.BYTES;
+
+    private record Snapshot(LongBuffer ranges, int count, LongBloomFilter bloom, LongBuffer wide, int wideCount) {
+    }
+
+    private final Path feed;
+    private final Path compiled;
+    private final AtomicReference<Snapshot> current = new AtomicReference<>();
+    private final ThreadLocal<long[]> scratch = ThreadLocal.withInitial(() -> new long[2]);
+    private ScheduledExecutorService watcher;
+    private FileTime seenVersion;
+
+    public IpBlocklist(Path feed, Duration pollInterval) throws IOException {
+        this.feed = feed;
+        this.compiled = feed.resolveSibling(feed.getFileName() + ".ranges");
+        FileTime feedVersion = Files.getLastModifiedTime(feed);
+        if (Files.exists(compiled) && Files.getLastModifiedTime(compiled).compareTo(feedVersion) >= 0) {
+            // arquivo compilado em dia: partida sem reprocessar o feed
+            seenVersion = feedVersion;
+            current.set(load(compiled));
+            log.info("⛔ IP blocklist: mapped {} ranges from {}", current.get().count(), compiled);
+        } else {
+            reload();
+        }
+        if (!pollInterval.isZero() && !pollInterval.isNegative()) {
+            watcher = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "ip-blocklist-reload");
+                t.setDaemon(true);
+                return t;
+            });
+            long millis = pollInterval.toMillis();
+            watcher.scheduleWithFixedDelay(this::reloadIfChanged, millis, millis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * ⛔ true se o IP está em alguma faixa; IP inválido nunca está
+     */
+    public boolean contains(CharSequence ip) {
+        long[] address = scratch.get();
+        return IpAddresses.parse(ip, address) && contains(address[0], address[1]);
+    }
+
+    public boolean contains(long hi, long lo) {
+        Snapshot snapshot = current.get();
+        if (snapshot.wideCount() > 0 && search(snapshot.wide(), 0, snapshot.wideCount(), hi, lo)) {
+            return true;
+        }
+        return snapshot.bloom().mightContain(blockKey(hi, lo))
+            && search(snapshot.ranges(), HEADER_LONGS, snapshot.count(), hi, lo);
+    }
+
+    public int size() {
+        return current.get().count();
+    }
+
+    /**
+     * 🔄 Recompila o feed e troca o conjunto em uso; em caso de erro o anterior continua valendo
+     */
+    public synchronized void reload() throws IOException {
+        seenVersion = Files.getLastModifiedTime(feed);
+        long startNanos = System.nanoTime();
+        IpRangeCompiler.compile(feed, compiled);
+        Snapshot snapshot = load(compiled);
+        current.set(snapshot);
+        log.info("⛔ IP blocklist: compiled {} ranges from {} in {}ms (bloom {} KB, {} wide ranges)",
+                 snapshot.count(), feed, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos),
+                 snapshot.bloom().sizeInBytes() / 1024, snapshot.wideCount());
+    }
+
+    private void reloadIfChanged() {
+        try {
+            if (!Files.getLastModifiedTime(feed).equals(seenVersion)) {
+                reload();
+            }
+        } catch (IOException | RuntimeException e) {
+            log.error("❌ IP blocklist: failed to reload {} - keeping the previous list", feed, e);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (watcher != null) {
+            watcher.shutdownNow();
+        }
+    }
+
+    private static Snapshot load(Path file) throws IOException {
+        MappedByteBuffer mapped;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Blocklist file too large to map: " + file);
+            }
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        mapped.order(ByteOrder.BIG_ENDIAN);
+        if (mapped.limit() < IpRangeCompiler.HEADER_BYTES
+            || mapped.getInt(0) != IpRangeCompiler.MAGIC || mapped.getInt(4) != IpRangeCompiler.VERSION) {
+            throw new IOException("Not a compiled IP blocklist: " + file);
+        }
+        long count = mapped.getLong(8);
+        if (IpRangeCompiler.HEADER_BYTES + count * IpRangeCompiler.RECORD_BYTES != mapped.limit()) {
+            throw new IOException("Truncated IP blocklist: " + file);
+        }
+        LongBuffer ranges = mapped.asLongBuffer();
+        int n = (int) count;
+
+        // 1ª passada conta as chaves para dimensionar o Bloom; 2ª preenche e separa as faixas largas
+        long keys = 0;
+        int wideCount = 0;
+        for (int i = 0; i < n; i++) {
+            long blocks = blockCount(ranges, HEADER_LONGS + i * RECORD_LONGS);
+            if (blocks < 0) {
+                wideCount++;
+            } else {
+                keys += blocks;
+            }
+        }
+        LongBloomFilter bloom = new LongBloomFilter(keys);
+        long[] wide = new long[wideCount * RECORD_LONGS];
+        int w = 0;
+        for (int i = 0; i < n; i++) {
+            int at = HEADER_LONGS + i * RECORD_LONGS;
+            long blocks = blockCount(ranges, at);
+            if (blocks < 0) {
+                ranges.get(at, wide, w * RECORD_LONGS, RECORD_LONGS);
+                w++;
+                continue;
+            }
+            long first = blockKey(ranges.get(at), ranges.get(at + 1));
+            for (long b = 0; b < blocks; b++) {
+                bloom.put(first + b);
+            }
+        }
+        return new Snapshot(ranges, n, bloom, LongBuffer.wrap(Arrays.copyOf(wide, w * RECORD_LONGS)), w);
+    }
+
+    /**
+     * Quantos blocos do Bloom a faixa cobre, ou -1 se é larga demais (ou cruza IPv4/IPv6)
+     */
+    private static long blockCount(LongBuffer ranges, int at) {
+        long startHi = ranges.get(at);
+        long startLo = ranges.get(at + 1);
+        long endHi = ranges.get(at + 2);
+        long endLo = ranges.get(at + 3);
+        boolean startV4 = IpAddresses.isIpv4Mapped(startHi, startLo);
+        if (startV4 != IpAddresses.isIpv4Mapped(endHi, endLo)) {
+            return -1;
+        }
+        long blocks = blockKey(endHi, endLo) - blockKey(startHi, startLo) + 1;
+        return blocks > MAX_BLOCKS_PER_RANGE ? -1 : blocks;
+    }
+
+    // IPv4: /24 com o bit mais alto marcando a família; IPv6: /48
+    private static long blockKey(long hi, long lo) {
+        return IpAddresses.isIpv4Mapped(hi, lo) ? Long.MIN_VALUE | ((lo & 0xFFFF_FFFFL) >>> 8) : hi >>> 16;
+    }
+
+    /**
+     * Busca binária pelo último intervalo com início <= ip; contém se ip <= fim
+     */
+    private static boolean search(LongBuffer ranges, int base, int count, long hi, long lo) {
+        int low = 0;
+        int high = count - 1;
+        int candidate = -1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int at = base + mid * RECORD_LONGS;
+            if (IpRangeCompiler.compare(ranges.get(at), ranges.get(at + 1), hi, lo) <= 0) {
+                candidate = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        if (candidate < 0) {
+            return false;
+        }
+        int at = base + candidate * RECORD_LONGS;
+        return IpRangeCompiler.compare(hi, lo, ranges.get(at + 2), ranges.get(at + 3)) <= 0;
+    }
+}
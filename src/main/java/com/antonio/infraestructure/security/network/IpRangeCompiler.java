@@ -0,0 +1,219 @@
+package com.antonio.infrastructure.security.network;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Compila um feed de reputação (texto) no formato binário lido pelo {@link IpBlocklist}.
+ *
+ * O feed tem um IP, CIDR ou intervalo {@code início-fim} por linha; {@code #} e {@code ;} iniciam
+ * comentário. A saída é [int magic][int versão][long n] seguido de n registros de 32 bytes
+ * [startHi, startLo, endHi, endLo], ordenados e sem sobreposição (intervalos vizinhos são fundidos).
+ */
+public final class IpRangeCompiler {
+    static final int MAGIC = 0x49505247; // "IPRG"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 16;
+    static final int RECORD_LONGS = 4;
+    static final int RECORD_BYTES = RECORD_LONGS * Long.BYTES;
+
+    private IpRangeCompiler() {
+    }
+
+    /**
+     * 🏗️ Lê o feed, ordena, funde e grava em {@code target} (arquivo temporário + rename)
+     */
+    public static long compile(Path feed, Path target) throws IOException {
+        long[] ranges = new long[RECORD_LONGS * 1024];
+        int count = 0;
+        long[] address = new long[2];
+        try (BufferedReader reader = Files.newBufferedReader(feed)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                String entry = stripComment(line);
+                if (entry.isEmpty()) {
+                    continue;
+                }
+                if ((count + 1) * RECORD_LONGS > ranges.length) {
+                    ranges = Arrays.copyOf(ranges, ranges.length * 2);
+                }
+                if (!parseRange(entry, address, ranges, count * RECORD_LONGS)) {
+                    throw new IOException("Invalid blocklist entry at " + feed + ":" + lineNumber + ": " + entry);
+                }
+                count++;
+            }
+        }
+        sort(ranges, 0, count - 1);
+        count = merge(ranges, count);
+        write(ranges, count, target);
+        return count;
+    }
+
+    private static String stripComment(String line) {
+        int end = line.length();
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '#' || c == ';') {
+                end = i;
+                break;
+            }
+        }
+        return line.substring(0, end).trim();
+    }
+
+    private static boolean parseRange(String entry, long[] address, long[] out, int at) {
+        int dash = entry.indexOf('-');
+        if (dash > 0) {
+            if (!IpAddresses.parse(entry.substring(0, dash).trim(), address)) {
+                return false;
+            }
+            out[at] = address[0];
+            out[at + 1] = address[1];
+            if (!IpAddresses.parse(entry.substring(dash + 1).trim(), address)) {
+                return false;
+            }
+            out[at + 2] = address[0];
+            out[at + 3] = address[1];
+            return compare(out[at], out[at + 1], out[at + 2], out[at + 3]) <= 0;
+        }
+        int slash = entry.indexOf('/');
+        String ip = slash < 0 ? entry : entry.substring(0, slash);
+        if (!IpAddresses.parse(ip, address)) {
+            return false;
+        }
+        boolean v4 = ip.indexOf(':') < 0;
+        int maxBits = v4 ? 32 : 128;
+        int bits;
+        try {
+            bits = slash < 0 ? maxBits : Integer.parseInt(entry.substring(slash + 1).trim());
+        } catch (NumberFormatException e) {
+            return false;
+        }
+        if (bits < 0 || bits > maxBits) {
+            return false;
+        }
+        int prefix = v4 ? IpAddresses.IPV4_MAPPED_PREFIX + bits : bits;
+        long maskHi = prefix >= 64 ? -1L : (prefix == 0 ? 0 : -1L << (64 - prefix));
+        long maskLo = prefix <= 64 ? 0 : (prefix == 128 ? -1L : -1L << (128 - prefix));
+        out[at] = address[0] & maskHi;
+        out[at + 1] = address[1] & maskLo;
+        out[at + 2] = address[0] | ~maskHi;
+        out[at + 3] = address[1] | ~maskLo;
+        return true;
+    }
+
+    /**
+     * Funde intervalos sobrepostos ou adjacentes (já ordenados por início); devolve a nova contagem
+     */
+    private static int merge(long[] r, int count) {
+        if (count == 0) {
+            return 0;
+        }
+        int last = 0;
+        for (int i = 1; i < count; i++) {
+            int cur = i * RECORD_LONGS;
+            int prev = last * RECORD_LONGS;
+            boolean touches = compare(r[cur], r[cur + 1], r[prev + 2], r[prev + 3]) <= 0
+                || isSuccessor(r[prev + 2], r[prev + 3], r[cur], r[cur + 1]);
+            if (touches) {
+                if (compare(r[cur + 2], r[cur + 3], r[prev + 2], r[prev + 3]) > 0) {
+                    r[prev + 2] = r[cur + 2];
+                    r[prev + 3] = r[cur + 3];
+                }
+            } else {
+                last++;
+                System.arraycopy(r, cur, r, last * RECORD_LONGS, RECORD_LONGS);
+            }
+        }
+        return last + 1;
+    }
+
+    private static boolean isSuccessor(long hi, long lo, long nextHi, long nextLo) {
+        if (lo == -1L) {
+            return hi != -1L && nextHi == hi + 1 && nextLo == 0;
+        }
+        return nextHi == hi && nextLo == lo + 1;
+    }
+
+    static int compare(long hi1, long lo1, long hi2, long lo2) {
+        int c = Long.compareUnsigned(hi1, hi2);
+        return c != 0 ? c : Long.compareUnsigned(lo1, lo2);
+    }
+
+    // quicksort dos registros de 4 longs pelo início do intervalo, sem objetos por registro
+    private static void sort(long[] r, int from, int to) {
+        while (from < to) {
+            int mid = (from + to) >>> 1;
+            long pivotHi = r[mid * RECORD_LONGS];
+            long pivotLo = r[mid * RECORD_LONGS + 1];
+            int i = from;
+            int j = to;
+            while (i <= j) {
+                while (compare(r[i * RECORD_LONGS], r[i * RECORD_LONGS + 1], pivotHi, pivotLo) < 0) {
+                    i++;
+                }
+                while (compare(r[j * RECORD_LONGS], r[j * RECORD_LONGS + 1], pivotHi, pivotLo) > 0) {
+                    j--;
+                }
+                if (i <= j) {
+                    swap(r, i++, j--);
+                }
+            }
+            // recursão no lado menor para limitar a pilha
+            if (j - from < to - i) {
+                sort(r, from, j);
+                from = i;
+            } else {
+                sort(r, i, to);
+                to = j;
+            }
+        }
+    }
+
+    private static void swap(long[] r, int a, int b) {
+        for (int k = 0; k < RECORD_LONGS; k++) {
+            long tmp = r[a * RECORD_LONGS + k];
+            r[a * RECORD_LONGS + k] = r[b * RECORD_LONGS + k];
+            r[b * RECORD_LONGS + k] = tmp;
+        }
+    }
+
+    private static void write(long[] ranges, int count, Path target) throws IOException {
+        Path tmp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.BIG_ENDIAN);
+            header.putInt(MAGIC).putInt(VERSION).putLong(count).flip();
+            while (header.hasRemaining()) {
+                channel.write(header);
+            }
+            ByteBuffer chunk = ByteBuffer.allocate(RECORD_BYTES * 4096);
+            for (int i = 0; i < count * RECORD_LONGS; i++) {
+                if (!chunk.hasRemaining()) {
+                    writeFully(channel, chunk.flip());
+                    chunk.clear();
+                }
+                chunk.putLong(ranges[i]);
+            }
+            writeFully(channel, chunk.flip());
+            channel.force(true);
+        }
+        Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
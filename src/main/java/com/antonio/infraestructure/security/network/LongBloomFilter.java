@@ -0,0 +1,56 @@
+package com.antonio.infrastructure.security.network;
+
+/**
+ * Filtro de Bloom de chaves long; falso positivo só custa a busca completa
+ */
+final class LongBloomFilter {
+    private static final int BITS_PER_KEY = 10;
+    private static final int HASHES = 6;
+
+    private final long[] words;
+    private final long mask;
+
+    LongBloomFilter(long expectedKeys) {
+        long bits = Long.highestOneBit(Math.max(Long.SIZE, expectedKeys * BITS_PER_KEY - 1) << 1);
+        // teto de 2^31 bits (256 MB) — acima disso o filtro deixa de ser "pequeno" de qualquer jeito
+        bits = Math.min(bits, 1L << 31);
+        this.words = new long[(int) (bits / Long.SIZE)];
+        this.mask = bits - 1;
+    }
+
+    void put(long key) {
+        long hash = mix(key);
+        long h1 = hash;
+        long h2 = (hash >>> 32) | 1;
+        for (int i = 0; i < HASHES; i++) {
+            long bit = (h1 + i * h2) & mask;
+            words[(int) (bit >>> 6)] |= 1L << bit;
+        }
+    }
+
+    boolean mightContain(long key) {
+        long hash = mix(key);
+        long h1 = hash;
+        long h2 = (hash >>> 32) | 1;
+        for (int i = 0; i < HASHES; i++) {
+            long bit = (h1 + i * h2) & mask;
+            if ((words[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    long sizeInBytes() {
+        return (long) words.length * Long.BYTES;
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,94 @@
+package com.antonio.infrastructure.security.network;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Lista de CIDRs compilada em {@link CidrTrie} e trocada atomicamente quando o arquivo muda.
+ *
+ * O arquivo tem uma entrada por linha ({@code #} comenta). Uma thread daemon confere a data de
+ * modificação a cada intervalo; se o arquivo novo não compilar, a trie anterior continua valendo.
+ * Sem arquivo configurado, vale a lista padrão passada no construtor.
+ */
+@Slf4j
+public class ReloadableCidrList implements AutoCloseable {
+    private final String name;
+    private final Path file;
+    private final AtomicReference<CidrTrie> current = new AtomicReference<>();
+    private final ThreadLocal<long[]> scratch = ThreadLocal.withInitial(() -> new long[2]);
+    private ScheduledExecutorService watcher;
+    private FileTime seenVersion; // última versão tentada, carregada ou não
+
+    public ReloadableCidrList(String name, List<String> defaults, Path file, Duration pollInterval) throws IOException {
+        this.name = name;
+        this.file = file;
+        if (file == null) {
+            current.set(CidrTrie.compile(defaults));
+            log.info("🌐 {}: {} built-in prefixes", name, current.get().size());
+            return;
+        }
+        reload();
+        if (!pollInterval.isZero() && !pollInterval.isNegative()) {
+            watcher = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, name + "-reload");
+                t.setDaemon(true);
+                return t;
+            });
+            long millis = pollInterval.toMillis();
+            watcher.scheduleWithFixedDelay(this::reloadIfChanged, millis, millis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * 🔍 Busca sem alocação (buffer do parse reaproveitado por thread)
+     */
+    public boolean contains(CharSequence ip) {
+        return current.get().contains(ip, scratch.get());
+    }
+
+    public boolean contains(long hi, long lo) {
+        return current.get().contains(hi, lo);
+    }
+
+    public int size() {
+        return current.get().size();
+    }
+
+    /**
+     * 🔄 Relê e recompila o arquivo; só troca a trie se tudo compilou
+     */
+    public synchronized void reload() throws IOException {
+        seenVersion = Files.getLastModifiedTime(file);
+        CidrTrie trie = CidrTrie.compile(Files.readAllLines(file));
+        current.set(trie);
+        log.info("🌐 {}: loaded {} prefixes from {}", name, trie.size(), file);
+    }
+
+    private void reloadIfChanged() {
+        try {
+            // um arquivo inválido só é tentado de novo quando mudar outra vez
+            if (!Files.getLastModifiedTime(file).equals(seenVersion)) {
+                reload();
+            }
+        } catch (IOException | RuntimeException e) {
+            log.error("❌ {}: failed to reload {} - keeping the previous list", name, file, e);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (watcher != null) {
+            watcher.shutdownNow();
+        }
+    }
+}
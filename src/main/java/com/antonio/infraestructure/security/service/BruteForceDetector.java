@@ -0,0 +1,117 @@
+package com.antonio.infrastructure.security.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Detecta força bruta e credential stuffing contando falhas de login por usuário e por IP em
+ * janelas deslizantes em memória, sem consultar o repositório de auditoria.
+ */
+@Slf4j
+@Service
+public class BruteForceDetector {
+
+    /**
+     * Resultado de uma falha registrada; as flags só ficam true na falha que cruza o limite
+     */
+    public record Verdict(int usernameFailures, int ipFailures, boolean usernameLocked, boolean ipFlagged) {
+    }
+
+    private static final int STRIPES = 16;
+
+    private final SlidingWindowCounter byUsername;
+    private final SlidingWindowCounter byIp;
+    private final int usernameLockThreshold;
+    private final int ipAlertThreshold;
+    private final long lockoutMillis;
+
+    // username → fim do bloqueio (epoch ms); só recebe entradas ao cruzar o limite
+    private final Map<String, Long> lockedUntil = new ConcurrentHashMap<>();
+    private final VerifiedCredentialCache credentialCache;
+
+    public BruteForceDetector(
+        VerifiedCredentialCache credentialCache,
+        @Value("${security.brute-force.window-seconds:300}") long windowSeconds,
+        @Value("${security.brute-force.bucket-seconds:10}") long bucketSeconds,
+        @Value("${security.brute-force.max-keys:100000}") int maxKeys,
+        @Value("${security.brute-force.username-lock-threshold:5}") int usernameLockThreshold,
+        @Value("${security.brute-force.ip-alert-threshold:20}") int ipAlertThreshold,
+        @Value("${security.brute-force.lockout-minutes:15}") long lockoutMinutes) {
+        this.credentialCache = credentialCache;
+        Duration window = Duration.ofSeconds(windowSeconds);
+        Duration bucket = Duration.ofSeconds(bucketSeconds);
+        this.byUsername = new SlidingWindowCounter(window, bucket, maxKeys, STRIPES);
+        this.byIp = new SlidingWindowCounter(window, bucket, maxKeys, STRIPES);
+        this.usernameLockThreshold = usernameLockThreshold;
+        this.ipAlertThreshold = ipAlertThreshold;
+        this.lockoutMillis = Duration.ofMinutes(lockoutMinutes).toMillis();
+    }
+
+    /**
+     * ❌ Registra uma falha de login em O(1) e informa se algum limite foi cruzado agora
+     */
+    public Verdict recordFailure(String username, String ip) {
+        long now = System.currentTimeMillis();
+        int userFailures = username != null ? byUsername.increment(username, now) : 0;
+        int ipFailures = ip != null ? byIp.increment(ip, now) : 0;
+
+        boolean locked = usernameLockThreshold > 0 && userFailures >= usernameLockThreshold && !isLocked(username);
+        if (locked) {
+            lockedUntil.put(username, now + lockoutMillis);
+            byUsername.reset(username); // terminado o bloqueio, a contagem recomeça
+            credentialCache.invalidate(username); // depois do bloqueio, a senha passa de novo pelo BCrypt
+            log.warn("🔒 Locking user {} for {}ms after {} failures in {}",
+                     username, lockoutMillis, userFailures, byUsername.window());
+        }
+        boolean flagged = ipAlertThreshold > 0 && ipFailures == ipAlertThreshold;
+        return new Verdict(userFailures, ipFailures, locked, flagged);
+    }
+
+    /**
+     * ✅ Login bem-sucedido zera as falhas do usuário (as do IP continuam contando)
+     */
+    public void recordSuccess(String username) {
+        byUsername.reset(username);
+    }
+
+    public boolean isLocked(String username) {
+        Long until = lockedUntil.get(username);
+        if (until == null) {
+            return false;
+        }
+        if (until > System.currentTimeMillis()) {
+            return true;
+        }
+        lockedUntil.remove(username, until);
+        return false;
+    }
+
+    public void unlock(String username) {
+        lockedUntil.remove(username);
+        byUsername.reset(username);
+    }
+
+    public int failuresForUsername(String username) {
+        return byUsername.count(username, System.currentTimeMillis());
+    }
+
+    public int failuresForIp(String ip) {
+        return byIp.count(ip, System.currentTimeMillis());
+    }
+
+    /**
+     * 📈 Falhas por minuto do IP na janela atual
+     */
+    public double ipFailureRatePerMinute(String ip) {
+        return failuresForIp(ip) * 60_000.0 / byIp.window().toMillis();
+    }
+
+    public Duration window() {
+        return byUsername.window();
+    }
+}
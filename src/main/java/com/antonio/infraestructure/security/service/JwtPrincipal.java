@@ -0,0 +1,27 @@
+package com.antonio.infrastructure.security.service;
+
+import lombok.Data;
+import org.springframework.security.core.AuthenticatedPrincipal;
+
+import java.io.Serializable;
+
+/**
+ * Principal do modo stateless: usuário e id vindos das claims {@code sub} e {@code uid}, para que
+ * {@code authentication.principal.id} funcione nas expressões de autorização como no modo de sessão.
+ */
+@Data
+public final class JwtPrincipal implements AuthenticatedPrincipal, Serializable {
+
+    private final String username;
+    private final Integer id;
+
+    @Override
+    public String getName() {
+        return username;
+    }
+
+    @Override
+    public String toString() {
+        return username;
+    }
+}
@@ -0,0 +1,197 @@
+package com.antonio.infrastructure.security.service;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.SecretKey;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Emite e valida os JWTs do modo de sessão stateless ({@code security.session.mode=stateless}).
+ *
+ * O token carrega tudo que a requisição precisa — usuário, id, papéis e {@code 2fa_verified} — então
+ * nenhum nó consulta sessão ou registro de sessões. A chave HMAC é decodificada uma vez e o
+ * {@link JwtParser} (imutável e thread-safe) é montado uma vez; validar é só HMAC + JSON. O logout
+ * revoga o token apresentado numa {@link TokenDenyList} local, que guarda cada token só até a sua
+ * expiração e é limpa periodicamente. A troca de senha revoga todos os tokens do usuário de uma vez:
+ * tokens emitidos até aquele segundo passam a ser recusados.
+ *
+ * ⚠️ As revogações são memória deste processo: com vários nós, um token revogado em um nó
+ * continua aceito nos outros até expirar, e um restart esquece as revogações. Por isso o TTL padrão
+ * é curto ({@code security.jwt.ttl-minutes}); com réplicas, mantenha-o no tamanho da janela de
+ * exposição aceitável.
+ */
+@Slf4j
+@Service
+public class JwtTokenService {
+
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_ROLES = "roles";
+    public static final String CLAIM_TWO_FACTOR = "2fa_verified";
+
+    /**
+     * Token já validado: o que os filtros e a autorização precisam, sem reler o JWT
+     */
+    public record VerifiedToken(String tokenId, String username, Integer userId, List<String> roles,
+                                boolean twoFactorVerified, Instant expiresAt) {
+    }
+
+    private final SecretKey key;
+    private final JwtParser parser;
+    private final String issuer;
+    private final Duration ttl;
+    private final TokenDenyList denyList = new TokenDenyList();
+    // usuário -> segundo da última troca de senha; tokens emitidos até ele não valem mais
+    private final Map<String, Long> notBefore = new ConcurrentHashMap<>();
+    private final long clockSkewSeconds;
+    private final ScheduledExecutorService purger;
+
+    public JwtTokenService(@Value("${security.jwt.secret:}") String secret,
+                           @Value("${security.jwt.issuer:dummyjson-app}") String issuer,
+                           @Value("${security.jwt.ttl-minutes:15}") long ttlMinutes,
+                           @Value("${security.jwt.clock-skew-seconds:30}") long clockSkewSeconds,
+                           @Value("${security.jwt.deny-list-purge-seconds:60}") long purgeSeconds) {
+        if (secret.isBlank()) {
+            // sem segredo configurado os tokens só valem neste processo e até o restart
+            log.warn("⚠️ security.jwt.secret not set - using a random key, tokens will not be accepted by other nodes");
+            this.key = Jwts.SIG.HS256.key().build();
+        } else {
+            this.key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret));
+        }
+        this.issuer = issuer;
+        this.ttl = Duration.ofMinutes(ttlMinutes);
+        this.clockSkewSeconds = clockSkewSeconds;
+        this.parser = Jwts.parser()
+            .verifyWith(key)
+            .requireIssuer(issuer)
+            .clockSkewSeconds(clockSkewSeconds)
+            .build();
+        this.purger = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "jwt-deny-list-purge");
+            t.setDaemon(true);
+            return t;
+        });
+        long period = Math.max(1, purgeSeconds);
+        purger.scheduleWithFixedDelay(this::purgeRevoked, period, period, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        purger.shutdownNow();
+    }
+
+    /**
+     * 🎫 Emite um token para o usuário já autenticado
+     */
+    public String issue(String username, Integer userId, Collection<? extends GrantedAuthority> authorities,
+                        boolean twoFactorVerified) {
+        Instant now = Instant.now();
+        List<String> roles = authorities.stream().map(GrantedAuthority::getAuthority).toList();
+        return Jwts.builder()
+            .id(UUID.randomUUID().toString())
+            .issuer(issuer)
+            .subject(username)
+            .issuedAt(Date.from(now))
+            .expiration(Date.from(now.plus(ttl)))
+            .claim(CLAIM_USER_ID, userId)
+            .claim(CLAIM_ROLES, roles)
+            .claim(CLAIM_TWO_FACTOR, twoFactorVerified)
+            .signWith(key)
+            .compact();
+    }
+
+    /**
+     * 🔐 Depois do código TOTP aceito: revoga o token sem 2FA e emite outro com {@code 2fa_verified=true}
+     */
+    public String upgradeTwoFactor(VerifiedToken token) {
+        revoke(token);
+        return issue(token.username(), token.userId(),
+                     token.roles().stream().<GrantedAuthority>map(role -> () -> role).toList(), true);
+    }
+
+    /**
+     * ✅ Valida assinatura, emissor, expiração e revogação; vazio se o token não vale
+     */
+    public Optional<VerifiedToken> verify(String token) {
+        Claims claims;
+        try {
+            claims = parser.parseSignedClaims(token).getPayload();
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("🎫 Rejected JWT: {}", e.getMessage());
+            return Optional.empty();
+        }
+        String tokenId = claims.getId();
+        if (tokenId == null || denyList.isRevoked(TokenDenyList.hash(tokenId), Instant.now().getEpochSecond())) {
+            return Optional.empty();
+        }
+        Long cutoff = notBefore.get(claims.getSubject());
+        if (cutoff != null && (claims.getIssuedAt() == null || claims.getIssuedAt().toInstant().getEpochSecond() <= cutoff)) {
+            log.debug("🎫 Rejected JWT issued before the last password change of {}", claims.getSubject());
+            return Optional.empty();
+        }
+        List<?> rawRoles = claims.get(CLAIM_ROLES, List.class);
+        List<String> roles = rawRoles == null ? List.of() : rawRoles.stream().map(String::valueOf).toList();
+        return Optional.of(new VerifiedToken(
+            tokenId,
+            claims.getSubject(),
+            claims.get(CLAIM_USER_ID, Integer.class),
+            roles,
+            Boolean.TRUE.equals(claims.get(CLAIM_TWO_FACTOR, Boolean.class)),
+            claims.getExpiration().toInstant()));
+    }
+
+    /**
+     * 🚫 Revoga o token até a expiração dele
+     */
+    public void revoke(VerifiedToken token) {
+        denyList.revoke(TokenDenyList.hash(token.tokenId()), token.expiresAt().getEpochSecond());
+        log.info("🚫 JWT revoked for user {} (expires {})", token.username(), token.expiresAt());
+    }
+
+    /**
+     * 🔑 Revoga todos os tokens já emitidos para o usuário (troca de senha)
+     */
+    public void revokeAllFor(String username) {
+        notBefore.merge(username, Instant.now().getEpochSecond(), Math::max);
+        log.info("🚫 All JWTs revoked for user {}", username);
+    }
+
+    /**
+     * 🧹 Tira da lista os tokens que já expiraram (a assinatura já os rejeita)
+     */
+    void purgeRevoked() {
+        long now = Instant.now().getEpochSecond();
+        denyList.purge(now);
+        // passado o TTL (mais a tolerância), todo token anterior ao corte já expirou
+        long horizon = now - ttl.toSeconds() - clockSkewSeconds;
+        notBefore.values().removeIf(cutoff -> cutoff < horizon);
+    }
+
+    public Duration ttl() {
+        return ttl;
+    }
+
+    public int revokedCount() {
+        return denyList.size();
+    }
+}
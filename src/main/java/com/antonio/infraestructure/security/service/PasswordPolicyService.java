@@ -17,14 +17,19 @@ public class PasswordPolicyService {
 
     private final PasswordValidator passwordValidator;
     private final PasswordEncoder passwordEncoder;
+    private final VerifiedCredentialCache credentialCache;
+    private final JwtTokenService jwtTokenService;
     
     // Histórico de senhas por usuário (em produção, usar banco)
     private final Map<String, List<String>> passwordHistory = new ConcurrentHashMap<>();
     
     private static final int PASSWORD_HISTORY_LIMIT = 5; // Últimas 5 senhas
 
-    public PasswordPolicyService(PasswordEncoder passwordEncoder) {
+    public PasswordPolicyService(PasswordEncoder passwordEncoder, VerifiedCredentialCache credentialCache,
+                                 JwtTokenService jwtTokenService) {
         this.passwordEncoder = passwordEncoder;
+        this.credentialCache = credentialCache;
+        this.jwtTokenService = jwtTokenService;
         this.passwordValidator = createPasswordValidator();
     }
 
@@ -141,6 +146,11 @@ public class PasswordPolicyService {
         
         passwordHistory.put(username, history);
         
+        // senha nova: credencial antiga verificada não pode mais servir de atalho
+        credentialCache.invalidate(username);
+        // e os JWTs emitidos com a senha antiga deixam de valer (modo stateless)
+        jwtTokenService.revokeAllFor(username);
+        
         log.info("💾 Password added to history for user: {}", username);
     }
 
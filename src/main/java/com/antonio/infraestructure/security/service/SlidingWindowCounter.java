@@ -0,0 +1,138 @@
+package com.antonio.infrastructure.security.service;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Contador de eventos por chave em janela deslizante, dividida em buckets de tempo fixos.
+ *
+ * As chaves ficam espalhadas em stripes, cada uma com o seu lock e um LinkedHashMap em ordem de
+ * acesso limitado a {@code maxKeys / stripes} entradas: a chave menos usada sai primeiro. Incrementar
+ * e consultar tocam só os buckets de uma chave (número fixo), e buckets vencidos são zerados na hora
+ * em que o ponteiro passa por eles, sem thread de limpeza.
+ */
+class SlidingWindowCounter {
+
+    private static final class Window {
+        final int[] counts;
+        final long[] bucketNumbers;
+
+        Window(int buckets) {
+            counts = new int[buckets];
+            bucketNumbers = new long[buckets];
+        }
+    }
+
+    private final long bucketMillis;
+    private final int buckets;
+    private final Stripe[] stripes;
+    private final int stripeMask;
+
+    private final class Stripe extends LinkedHashMap<String, Window> {
+        final ReentrantLock lock = new ReentrantLock();
+        final int maxKeys;
+
+        Stripe(int maxKeys) {
+            super(16, 0.75f, true);
+            this.maxKeys = maxKeys;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Window> eldest) {
+            return size() > maxKeys;
+        }
+    }
+
+    SlidingWindowCounter(Duration window, Duration bucket, int maxKeys, int stripeCount) {
+        if (Integer.bitCount(stripeCount) != 1) {
+            throw new IllegalArgumentException("Stripe count must be a power of two: " + stripeCount);
+        }
+        this.bucketMillis = Math.max(1, bucket.toMillis());
+        this.buckets = (int) Math.max(1, window.toMillis() / bucketMillis);
+        this.stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe(Math.max(1, maxKeys / stripeCount));
+        }
+        this.stripeMask = stripeCount - 1;
+    }
+
+    /**
+     * ➕ Conta um evento agora e devolve o total da chave na janela, já incluindo este
+     */
+    int increment(String key, long nowMillis) {
+        Stripe stripe = stripeFor(key);
+        stripe.lock.lock();
+        try {
+            Window window = stripe.computeIfAbsent(key, k -> new Window(buckets));
+            long bucketNumber = nowMillis / bucketMillis;
+            int index = (int) (bucketNumber % buckets);
+            if (window.bucketNumbers[index] != bucketNumber) {
+                // bucket de uma volta anterior da janela: recomeça
+                window.bucketNumbers[index] = bucketNumber;
+                window.counts[index] = 0;
+            }
+            window.counts[index]++;
+            return sum(window, bucketNumber);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    /**
+     * 🔢 Total da chave na janela que termina agora
+     */
+    int count(String key, long nowMillis) {
+        Stripe stripe = stripeFor(key);
+        stripe.lock.lock();
+        try {
+            Window window = stripe.get(key);
+            return window == null ? 0 : sum(window, nowMillis / bucketMillis);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    void reset(String key) {
+        Stripe stripe = stripeFor(key);
+        stripe.lock.lock();
+        try {
+            stripe.remove(key);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                size += stripe.size();
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        return size;
+    }
+
+    Duration window() {
+        return Duration.ofMillis(bucketMillis * buckets);
+    }
+
+    private int sum(Window window, long currentBucket) {
+        int total = 0;
+        for (int i = 0; i < buckets; i++) {
+            if (currentBucket - window.bucketNumbers[i] < buckets) {
+                total += window.counts[i];
+            }
+        }
+        return total;
+    }
+
+    private Stripe stripeFor(String key) {
+        int h = key.hashCode();
+        return stripes[(h ^ (h >>> 16)) & stripeMask];
+    }
+}
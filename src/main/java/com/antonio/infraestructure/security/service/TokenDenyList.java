@@ -0,0 +1,133 @@
+package com.antonio.infrastructure.security.service;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Lista de tokens revogados, compacta: cada entrada é o hash de 64 bits do {@code jti} e o segundo
+ * em que o token expiraria — depois disso ele já seria rejeitado pela assinatura, então a entrada sai.
+ *
+ * Endereçamento aberto em dois arrays primitivos (16 bytes por token revogado, sem objetos). A
+ * consulta, que roda em toda requisição, não trava: lê a tabela publicada e usa leituras voláteis.
+ * Revogações são raras e serializadas; quando a tabela enche, é reconstruída sem as expiradas.
+ */
+final class TokenDenyList {
+    private static final VarHandle LONGS = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final int MIN_CAPACITY = 64;
+
+    private record Table(long[] keys, long[] expiries, int mask) {
+        Table(int capacity) {
+            this(new long[capacity], new long[capacity], capacity - 1);
+        }
+    }
+
+    private volatile Table table = new Table(MIN_CAPACITY);
+    private int size; // guarded by this
+    private volatile boolean empty = true;
+
+    /**
+     * 🚫 Revoga o token até {@code expiresAtSeconds}
+     */
+    synchronized void revoke(long tokenHash, long expiresAtSeconds) {
+        long key = tokenHash == 0 ? 1 : tokenHash; // 0 marca slot vazio
+        Table current = table;
+        if ((size + 1) * 4 > current.keys().length * 3) {
+            current = rebuild(current, System.currentTimeMillis() / 1000);
+        }
+        int slot = (int) (mix(key) & current.mask());
+        while (true) {
+            long existing = current.keys()[slot];
+            if (existing == key) {
+                LONGS.setVolatile(current.expiries(), slot, Math.max(current.expiries()[slot], expiresAtSeconds));
+                return;
+            }
+            if (existing == 0) {
+                // expiração antes da chave: um leitor que vê a chave vê a expiração certa
+                LONGS.setVolatile(current.expiries(), slot, expiresAtSeconds);
+                LONGS.setVolatile(current.keys(), slot, key);
+                size++;
+                empty = false;
+                return;
+            }
+            slot = (slot + 1) & current.mask();
+        }
+    }
+
+    boolean isRevoked(long tokenHash, long nowSeconds) {
+        if (empty) {
+            return false;
+        }
+        long key = tokenHash == 0 ? 1 : tokenHash;
+        Table current = table;
+        int slot = (int) (mix(key) & current.mask());
+        while (true) {
+            long existing = (long) LONGS.getVolatile(current.keys(), slot);
+            if (existing == 0) {
+                return false;
+            }
+            if (existing == key) {
+                return (long) LONGS.getVolatile(current.expiries(), slot) > nowSeconds;
+            }
+            slot = (slot + 1) & current.mask();
+        }
+    }
+
+    synchronized int size() {
+        return size;
+    }
+
+    /**
+     * 🧹 Remove as entradas já expiradas
+     */
+    synchronized void purge(long nowSeconds) {
+        rebuild(table, nowSeconds);
+    }
+
+    private Table rebuild(Table current, long nowSeconds) {
+        int live = 0;
+        for (int i = 0; i < current.keys().length; i++) {
+            if (current.keys()[i] != 0 && current.expiries()[i] > nowSeconds) {
+                live++;
+            }
+        }
+        int capacity = MIN_CAPACITY;
+        while (capacity < (live + 1) * 2) {
+            capacity <<= 1;
+        }
+        Table next = new Table(capacity);
+        for (int i = 0; i < current.keys().length; i++) {
+            long key = current.keys()[i];
+            if (key != 0 && current.expiries()[i] > nowSeconds) {
+                int slot = (int) (mix(key) & next.mask());
+                while (next.keys()[slot] != 0) {
+                    slot = (slot + 1) & next.mask();
+                }
+                next.keys()[slot] = key;
+                next.expiries()[slot] = current.expiries()[i];
+            }
+        }
+        size = live;
+        table = next; // publicação volátil: leitores passam a ver a tabela inteira já preenchida
+        empty = live == 0;
+        return next;
+    }
+
+    /**
+     * Hash de 64 bits do id do token (FNV-1a), para não guardar a String
+     */
+    static long hash(CharSequence tokenId) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < tokenId.length(); i++) {
+            h ^= tokenId.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return h;
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,176 @@
+package com.antonio.infrastructure.security.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache curto de credenciais já verificadas, para clientes de API que mandam usuário e senha em toda
+ * chamada não pagarem um BCrypt por requisição. Opt-in: {@code security.credential-cache.enabled}.
+ *
+ * Não guarda a senha: guarda um HMAC-SHA256 de (usuário, senha, hash armazenado) com uma chave
+ * aleatória deste processo, e compara em tempo constante. Como o hash armazenado entra no HMAC,
+ * trocar a senha invalida a entrada mesmo sem aviso; troca de senha e bloqueio por força bruta
+ * também removem a entrada explicitamente. O TTL é absoluto, contado a partir do BCrypt que passou.
+ */
+@Slf4j
+@Service
+public class VerifiedCredentialCache {
+
+    private record Entry(byte[] mac, long expiresAtNanos) {
+    }
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final boolean enabled;
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final SecretKeySpec key;
+    private final ThreadLocal<Mac> macs;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder stores = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public VerifiedCredentialCache(@Value("${security.credential-cache.enabled:false}") boolean enabled,
+                                   @Value("${security.credential-cache.ttl-seconds:60}") long ttlSeconds,
+                                   @Value("${security.credential-cache.max-entries:10000}") int maxEntries) {
+        this.enabled = enabled;
+        this.ttlNanos = Duration.ofSeconds(ttlSeconds).toNanos();
+        this.maxEntries = maxEntries;
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        this.key = new SecretKeySpec(secret, ALGORITHM);
+        this.macs = ThreadLocal.withInitial(this::newMac);
+        if (enabled) {
+            log.info("🗝️ Verified credential cache enabled - ttl {}s, max {} entries", ttlSeconds, maxEntries);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * ⚡ true se este usuário, com esta senha e este hash armazenado, passou no BCrypt há menos de um TTL
+     */
+    public boolean matches(String username, CharSequence password, String storedHash) {
+        if (!enabled || username == null || password == null || storedHash == null) {
+            return false;
+        }
+        Entry entry = entries.get(username);
+        if (entry == null || System.nanoTime() - entry.expiresAtNanos() >= 0) {
+            misses.increment();
+            return false;
+        }
+        if (MessageDigest.isEqual(entry.mac(), mac(username, password, storedHash))) {
+            hits.increment();
+            return true;
+        }
+        misses.increment();
+        return false;
+    }
+
+    /**
+     * 💾 Registra uma verificação BCrypt que acabou de passar
+     */
+    public void store(String username, CharSequence password, String storedHash) {
+        if (!enabled || username == null || password == null || storedHash == null) {
+            return;
+        }
+        long now = System.nanoTime();
+        if (entries.size() >= maxEntries && !entries.containsKey(username)) {
+            entries.values().removeIf(e -> now - e.expiresAtNanos() >= 0);
+            if (entries.size() >= maxEntries) {
+                return; // cheio de entradas válidas: este usuário só não ganha atalho
+            }
+        }
+        entries.put(username, new Entry(mac(username, password, storedHash), now + ttlNanos));
+        stores.increment();
+    }
+
+    /**
+     * 🗑️ Remove a credencial do usuário (troca de senha, bloqueio)
+     */
+    public void invalidate(String username) {
+        if (username != null && entries.remove(username) != null) {
+            invalidations.increment();
+        }
+    }
+
+    public void invalidateAll() {
+        invalidations.add(entries.size());
+        entries.clear();
+    }
+
+    /**
+     * Verificações BCrypt evitadas (acertos no cache)
+     */
+    public long bcryptAvoided() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    public long stores() {
+        return stores.sum();
+    }
+
+    public long invalidations() {
+        return invalidations.sum();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    @PreDestroy
+    void logStats() {
+        if (enabled) {
+            log.info("🗝️ Credential cache stopped - BCrypt avoided: {}, misses: {}, stores: {}, invalidations: {}",
+                     hits.sum(), misses.sum(), stores.sum(), invalidations.sum());
+        }
+    }
+
+    private byte[] mac(String username, CharSequence password, String storedHash) {
+        Mac mac = macs.get();
+        // cada campo vai prefixado pelo tamanho: ("ab", "c") e ("a", "bc") não colidem
+        update(mac, username);
+        update(mac, password);
+        update(mac, storedHash);
+        return mac.doFinal();
+    }
+
+    private static void update(Mac mac, CharSequence value) {
+        byte[] bytes = value.toString().getBytes(StandardCharsets.UTF_8);
+        int length = bytes.length;
+        mac.update(new byte[] {(byte) (length >>> 24), (byte) (length >>> 16), (byte) (length >>> 8), (byte) length});
+        mac.update(bytes);
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 not available", e);
+        }
+    }
+}
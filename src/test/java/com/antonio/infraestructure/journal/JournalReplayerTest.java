@@ -0,0 +1,196 @@
+package com.antonio.infrastructure.journal;
+
+import com.antonio.domain.model.Todo;
+import com.antonio.exception.HttpException;
+import com.antonio.infrastructure.journal.JournalEntry.Operation;
+import com.antonio.infrastructure.repository.TodoRepositoryHttp;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Replay do journal contra um upstream falso, incluindo restart entre o ADD e o UPDATE
+ */
+public class JournalReplayerTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    @TempDir
+    Path dir;
+
+    @Test
+    void pendingUpdateResolvesProvisionalIdAfterRestart() throws Exception {
+        FakeUpstream upstream = new FakeUpstream();
+        int provisional;
+
+        try (TodoJournal journal = open()) {
+            provisional = journal.append(Operation.ADD, todo(null, "offline")).todo().getId();
+            JournalReplayer replayer = new JournalReplayer(journal, upstream, Duration.ofMillis(5));
+            replayer.nudge();
+            awaitDrained(journal);
+            replayer.close();
+
+            // o UPDATE fica pendente e o processo "cai" antes de enviá-lo
+            journal.append(Operation.UPDATE, todo(provisional, "edited"));
+            replayer.nudge(); // replayer fechado: não pode lançar
+        }
+
+        try (TodoJournal journal = open()) {
+            assertEquals(1, journal.pendingCount());
+            JournalReplayer replayer = new JournalReplayer(journal, upstream, Duration.ofMillis(5));
+            replayer.start();
+            awaitDrained(journal);
+            replayer.close();
+        }
+
+        assertEquals(List.of("add:offline", "update:201:edited"), upstream.calls);
+    }
+
+    @Test
+    void transientFailuresAreRetriedInOrder() throws Exception {
+        FakeUpstream upstream = new FakeUpstream();
+        upstream.failures.add(new HttpException(503, "down"));
+        upstream.failures.add(new IOException("connection reset"));
+
+        try (TodoJournal journal = open()) {
+            journal.append(Operation.UPDATE, todo(5, "one"));
+            journal.append(Operation.DELETE, todo(6, null));
+            JournalReplayer replayer = new JournalReplayer(journal, upstream, Duration.ofMillis(1));
+            replayer.start();
+            awaitDrained(journal);
+            replayer.close();
+        }
+
+        assertEquals(List.of("update:5:one", "delete:6"), upstream.calls);
+        assertEquals(4, upstream.attempts.get());
+    }
+
+    @Test
+    void permanentRejectionIsDropped() throws Exception {
+        FakeUpstream upstream = new FakeUpstream();
+        upstream.failures.add(new HttpException(422, "invalid"));
+
+        try (TodoJournal journal = open()) {
+            journal.append(Operation.UPDATE, todo(5, "rejected"));
+            journal.append(Operation.UPDATE, todo(6, "accepted"));
+            JournalReplayer replayer = new JournalReplayer(journal, upstream, Duration.ofMillis(5));
+            replayer.start();
+            awaitDrained(journal);
+            replayer.close();
+        }
+
+        assertEquals(List.of("update:6:accepted"), upstream.calls);
+    }
+
+    @Test
+    void failedAckIsRetriedWithoutPushingAgain() throws Exception {
+        FakeUpstream upstream = new FakeUpstream();
+
+        try (FlakyAckJournal journal = new FlakyAckJournal(dir, 2)) {
+            journal.append(Operation.ADD, todo(null, "once"));
+            journal.append(Operation.UPDATE, todo(7, "after"));
+            JournalReplayer replayer = new JournalReplayer(journal, upstream, Duration.ofMillis(1));
+            replayer.start();
+            awaitDrained(journal);
+            replayer.close();
+        }
+
+        // o DummyJSON ignora a chave de idempotência: reenviar o ADD duplicaria o todo
+        assertEquals(List.of("add:once", "update:7:after"), upstream.calls);
+    }
+
+    private TodoJournal open() throws IOException {
+        return TodoJournal.open(dir, mapper, Duration.ofHours(1));
+    }
+
+    private static void awaitDrained(TodoJournal journal) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (journal.pendingCount() > 0) {
+            assertTrue(System.currentTimeMillis() < deadline, "journal was not drained");
+            Thread.sleep(5);
+        }
+    }
+
+    private static Todo todo(Integer id, String text) {
+        return new Todo(id, text, false, 1);
+    }
+
+    /**
+     * Journal cujo ack falha as primeiras {@code failures} vezes sem confirmar nada
+     */
+    private final class FlakyAckJournal extends TodoJournal {
+        private final AtomicInteger failures;
+
+        FlakyAckJournal(Path dir, int failures) throws IOException {
+            super(dir, mapper, Duration.ofHours(1), 1024, 4096);
+            this.failures = new AtomicInteger(failures);
+        }
+
+        @Override
+        public void ack(long seq) throws IOException {
+            if (failures.getAndDecrement() > 0) {
+                throw new IOException("disk full");
+            }
+            super.ack(seq);
+        }
+    }
+
+    /**
+     * Upstream em memória: ids começam em 201 e falhas enfileiradas são lançadas antes das chamadas
+     */
+    private static final class FakeUpstream extends TodoRepositoryHttp {
+        final List<String> calls = new CopyOnWriteArrayList<>();
+        final Deque<Exception> failures = new ArrayDeque<>();
+        final AtomicInteger attempts = new AtomicInteger();
+        private final AtomicInteger nextId = new AtomicInteger(201);
+
+        FakeUpstream() {
+            super(null, new ObjectMapper());
+        }
+
+        @Override
+        public Todo add(Todo todo, String idempotencyKey) throws IOException {
+            failIfQueued();
+            calls.add("add:" + todo.getTodo());
+            return new Todo(nextId.getAndIncrement(), todo.getTodo(), todo.getCompleted(), todo.getUserId());
+        }
+
+        @Override
+        public Todo update(Todo todo, String idempotencyKey) throws IOException {
+            failIfQueued();
+            calls.add("update:" + todo.getId() + ":" + todo.getTodo());
+            return todo;
+        }
+
+        @Override
+        public boolean delete(int id, String idempotencyKey) throws IOException {
+            failIfQueued();
+            calls.add("delete:" + id);
+            return true;
+        }
+
+        private void failIfQueued() throws IOException {
+            attempts.incrementAndGet();
+            Exception failure;
+            synchronized (failures) {
+                failure = failures.poll();
+            }
+            if (failure instanceof IOException io) {
+                throw io;
+            }
+            if (failure != null) {
+                throw (RuntimeException) failure;
+            }
+        }
+    }
+}
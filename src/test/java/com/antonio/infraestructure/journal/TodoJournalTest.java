@@ -0,0 +1,203 @@
+package com.antonio.infrastructure.journal;
+
+import com.antonio.domain.model.Todo;
+import com.antonio.infrastructure.journal.JournalEntry.Operation;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * WAL do journal de todos: recuperação, checkpoint de ack e ids provisórios
+ */
+public class TodoJournalTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    @TempDir
+    Path dir;
+
+    @Test
+    void pendingEntriesSurviveRestartInOrder() throws IOException {
+        try (TodoJournal journal = open()) {
+            journal.append(Operation.ADD, todo(null, "first"));
+            journal.append(Operation.UPDATE, todo(3, "second"));
+            journal.append(Operation.DELETE, todo(4, null));
+        }
+
+        try (TodoJournal journal = open()) {
+            List<JournalEntry> pending = journal.pendingSnapshot();
+            assertEquals(3, pending.size());
+            assertEquals(List.of(1L, 2L, 3L), pending.stream().map(JournalEntry::seq).toList());
+            assertEquals(List.of(Operation.ADD, Operation.UPDATE, Operation.DELETE),
+                         pending.stream().map(JournalEntry::op).toList());
+            assertEquals("second", pending.get(1).todo().getTodo());
+        }
+    }
+
+    @Test
+    void ackedEntriesAreNotReplayedAfterRestart() throws IOException {
+        try (TodoJournal journal = open()) {
+            JournalEntry first = journal.append(Operation.UPDATE, todo(1, "first"));
+            journal.append(Operation.UPDATE, todo(2, "second"));
+            journal.ack(first.seq());
+        }
+
+        try (TodoJournal journal = open()) {
+            assertEquals(1, journal.pendingCount());
+            assertEquals(2L, journal.peekPending().seq());
+            // a numeração continua de onde parou
+            assertEquals(3L, journal.append(Operation.DELETE, todo(2, null)).seq());
+        }
+    }
+
+    @Test
+    void fullyAckedJournalIsCompactedToEmpty() throws IOException {
+        try (TodoJournal journal = open()) {
+            JournalEntry entry = journal.append(Operation.UPDATE, todo(1, "only"));
+            journal.ack(entry.seq());
+        }
+        assertEquals(0, Files.size(dir.resolve("todos.wal")));
+
+        try (TodoJournal journal = open()) {
+            assertEquals(0, journal.pendingCount());
+            assertEquals(2L, journal.append(Operation.UPDATE, todo(1, "again")).seq());
+        }
+    }
+
+    @Test
+    void truncatedTailIsDiscardedOnRecovery() throws IOException {
+        try (TodoJournal journal = open()) {
+            journal.append(Operation.UPDATE, todo(1, "kept"));
+            journal.append(Operation.UPDATE, todo(2, "torn"));
+        }
+        Path wal = dir.resolve("todos.wal");
+        long size = Files.size(wal);
+        try (FileChannel channel = FileChannel.open(wal, StandardOpenOption.WRITE)) {
+            channel.truncate(size - 5); // crash no meio do segundo registro
+        }
+
+        try (TodoJournal journal = open()) {
+            assertEquals(1, journal.pendingCount());
+            assertEquals("kept", journal.peekPending().todo().getTodo());
+            journal.append(Operation.UPDATE, todo(3, "after crash"));
+        }
+
+        try (TodoJournal journal = open()) {
+            assertEquals(List.of("kept", "after crash"),
+                         journal.pendingSnapshot().stream().map(e -> e.todo().getTodo()).toList());
+        }
+    }
+
+    @Test
+    void corruptRecordStopsRecovery() throws IOException {
+        try (TodoJournal journal = open()) {
+            journal.append(Operation.UPDATE, todo(1, "kept"));
+            journal.append(Operation.UPDATE, todo(2, "flipped"));
+        }
+        Path wal = dir.resolve("todos.wal");
+        try (FileChannel channel = FileChannel.open(wal, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long last = channel.size() - 2;
+            ByteBuffer b = ByteBuffer.allocate(1);
+            channel.read(b, last);
+            b.put(0, (byte) (b.get(0) ^ 0x5a));
+            b.rewind();
+            channel.write(b, last);
+        }
+
+        try (TodoJournal journal = open()) {
+            assertEquals(1, journal.pendingCount());
+            assertEquals("kept", journal.peekPending().todo().getTodo());
+        }
+    }
+
+    @Test
+    void provisionalIdsArePositiveAndRecognizable() throws IOException {
+        try (TodoJournal journal = open()) {
+            Todo created = journal.append(Operation.ADD, todo(null, "offline")).todo();
+            assertTrue(created.getId() > 0);
+            assertTrue(TodoJournal.isProvisional(created.getId()));
+            assertFalse(TodoJournal.isProvisional(150));
+            assertFalse(TodoJournal.isProvisional(-3));
+        }
+    }
+
+    @Test
+    void assignedIdsSurviveRestart() throws IOException {
+        int provisional;
+        try (TodoJournal journal = open()) {
+            JournalEntry add = journal.append(Operation.ADD, todo(null, "offline"));
+            provisional = add.todo().getId();
+            journal.append(Operation.UPDATE, todo(provisional, "edited offline"));
+            journal.assign(provisional, 255);
+            journal.ack(add.seq());
+        }
+
+        try (TodoJournal journal = open()) {
+            assertEquals(255, journal.assignedId(provisional));
+            assertEquals(1, journal.pendingCount());
+            assertEquals(provisional, journal.peekPending().todo().getId());
+        }
+    }
+
+    @Test
+    void assignedIdsAreBoundedButKeepReferencedOnes() throws IOException {
+        try (TodoJournal journal = new TodoJournal(dir, mapper, Duration.ofHours(1), 1024, 2)) {
+            JournalEntry a = journal.append(Operation.ADD, todo(null, "a"));
+            JournalEntry b = journal.append(Operation.ADD, todo(null, "b"));
+            JournalEntry c = journal.append(Operation.ADD, todo(null, "c"));
+            int idA = a.todo().getId();
+            int idB = b.todo().getId();
+            int idC = c.todo().getId();
+            // "a" ainda tem um UPDATE pendente, então não pode sair do mapa
+            journal.append(Operation.UPDATE, todo(idA, "a2"));
+
+            journal.assign(idA, 10);
+            journal.ack(a.seq());
+            journal.assign(idB, 11);
+            journal.ack(b.seq());
+            journal.assign(idC, 12);
+            journal.ack(c.seq());
+
+            assertEquals(10, journal.assignedId(idA));
+            assertNull(journal.assignedId(idB), "o mais antigo sem referência sai primeiro");
+            assertEquals(12, journal.assignedId(idC));
+        }
+    }
+
+    @Test
+    void checkpointOfUnexpectedSizeIsTreatedAsCorrupt() throws IOException {
+        try (TodoJournal journal = open()) {
+            journal.append(Operation.UPDATE, todo(1, "acked"));
+            journal.append(Operation.UPDATE, todo(2, "pending"));
+        }
+        // só [long seq][int crc32c], com CRC válido mas sem o mapa de ids
+        ByteBuffer truncated = ByteBuffer.allocate(Long.BYTES + Integer.BYTES);
+        truncated.putLong(1);
+        java.util.zip.CRC32C crc = new java.util.zip.CRC32C();
+        crc.update(truncated.array(), 0, Long.BYTES);
+        truncated.putInt((int) crc.getValue());
+        Files.write(dir.resolve("todos.ack"), truncated.array());
+
+        try (TodoJournal journal = open()) {
+            assertEquals(2, journal.pendingCount());
+        }
+    }
+
+    private TodoJournal open() throws IOException {
+        return TodoJournal.open(dir, mapper, Duration.ofHours(1));
+    }
+
+    private static Todo todo(Integer id, String text) {
+        return new Todo(id, text, false, 1);
+    }
+}
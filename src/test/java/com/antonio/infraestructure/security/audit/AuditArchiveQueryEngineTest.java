@@ -0,0 +1,74 @@
+package com.antonio.infrastructure.security.audit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Consulta dos segmentos arquivados: resumo que descarta e resumo corrompido
+ */
+public class AuditArchiveQueryEngineTest {
+
+    private static final String LINE = "{\"id\":1,\"username\":\"alice\",\"action\":\"LOGIN\",\"status\":\"SUCCESS\",\"level\":\"INFO\"}\n";
+
+    @TempDir
+    Path dir;
+    private Path segment;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        segment = dir.resolve("audit-000000000001.jsonl");
+        Files.writeString(segment, LINE, StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void summarySkipsSegmentWithoutTheUser() throws IOException {
+        AuditLog other = new AuditLog();
+        other.setUsername("bob");
+        AuditSegmentSummary.Builder builder = new AuditSegmentSummary.Builder();
+        builder.add(other);
+        builder.build().write(AuditSegmentSummary.pathFor(segment));
+
+        assertEquals(0, query("alice").size());
+    }
+
+    @Test
+    void hugeBloomSizeFallsBackToFullScan() throws IOException {
+        try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(AuditSegmentSummary.pathFor(segment)))) {
+            out.writeInt(0x41535331);
+            out.writeInt(1);
+            out.writeLong(0);
+            out.writeLong(Long.MAX_VALUE);
+            out.writeInt(Integer.MAX_VALUE); // sem a checagem, alocaria 16 GiB
+            out.writeLong(-1L);
+        }
+
+        List<String> results = query("alice");
+        assertEquals(1, results.size());
+        assertTrue(results.get(0).contains("\"alice\""));
+    }
+
+    @Test
+    void truncatedSummaryFallsBackToFullScan() throws IOException {
+        Files.write(AuditSegmentSummary.pathFor(segment), new byte[] {0x41, 0x53, 0x53, 0x31, 0, 0});
+
+        assertEquals(1, query("alice").size());
+    }
+
+    private List<String> query(String username) {
+        try (AuditArchiveQueryEngine engine = new AuditArchiveQueryEngine(dir, 2);
+             Stream<String> results = engine.queryJson(username, null, null, null, null, null, 100)) {
+            return results.toList();
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.antonio.infrastructure.security.audit;
+
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.function.ToIntFunction;
+
+/**
+ * Compara o {@link AuditEventEncoder} com o antigo String.format do log estruturado:
+ * ns/evento e bytes alocados/evento (ThreadMXBean da própria thread).
+ *
+ * Rodar com: java -cp target/classes:target/test-classes com.antonio.infrastructure.security.audit.AuditEventEncoderBenchmark
+ */
+public class AuditEventEncoderBenchmark {
+
+    private static final int WARMUP = 200_000;
+    private static final int ITERATIONS = 1_000_000;
+
+    public static void main(String[] args) {
+        AuditLog event = AuditLog.builder()
+            .id(42L)
+            .timestamp(LocalDateTime.now())
+            .username("maria.silva@example.com")
+            .ipAddress("203.0.113.7")
+            .action("LIST_PRODUCTS")
+            .status("SUCCESS")
+            .durationMs(17L)
+            .level(AuditLevel.INFO)
+            .build();
+
+        OutputStream sink = OutputStream.nullOutputStream();
+
+        run("String.format (antigo)", event, e -> legacyFormat(e).length());
+        run("encoder -> String", event,
+            e -> AuditEventEncoder.toJson(e, AuditEventEncoder.Fields.SIEM).length());
+        run("encoder -> stream", event, e -> {
+            try {
+                AuditEventEncoder encoder = AuditEventEncoder.local().encode(e, AuditEventEncoder.Fields.SIEM);
+                encoder.writeTo(sink);
+                return encoder.length();
+            } catch (java.io.IOException ex) {
+                throw new IllegalStateException(ex);
+            }
+        });
+    }
+
+    private static void run(String name, AuditLog event, ToIntFunction<AuditLog> encode) {
+        com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        long checksum = 0;
+        for (int i = 0; i < WARMUP; i++) {
+            checksum += encode.applyAsInt(event);
+        }
+
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            checksum += encode.applyAsInt(event);
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+        System.out.printf("%-24s %8.1f ns/event %8.1f bytes/event (checksum %d)%n",
+            name, (double) elapsed / ITERATIONS, (double) allocated / ITERATIONS, checksum);
+    }
+
+    /**
+     * Formatação usada antes do encoder em AuditLogRepository.logStructured
+     */
+    private static String legacyFormat(AuditLog auditLog) {
+        return String.format(
+            "{\"timestamp\":\"%s\", \"username\":\"%s\", \"ip\":\"%s\", " +
+            "\"action\":\"%s\", \"status\":\"%s\", \"duration\":%d, \"level\":\"%s\"}",
+            auditLog.getTimestamp(),
+            auditLog.getUsername(),
+            auditLog.getIpAddress(),
+            auditLog.getAction(),
+            auditLog.getStatus(),
+            auditLog.getDurationMs(),
+            auditLog.getLevel()
+        );
+    }
+}
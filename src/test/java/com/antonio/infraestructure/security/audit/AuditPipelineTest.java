@@ -0,0 +1,63 @@
+package com.antonio.infrastructure.security.audit;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Nenhum evento publicado em volta do shutdown pode ficar preso no anel
+ */
+public class AuditPipelineTest {
+
+    @Test
+    void eventsPublishedDuringShutdownArePersisted() throws Exception {
+        for (int round = 0; round < 20; round++) {
+            CountingRepository repository = new CountingRepository();
+            AuditPipeline pipeline = new AuditPipeline(repository, 1024, 64,
+                                                       AuditPipeline.OverflowPolicy.BLOCK, "unused", 5_000);
+            pipeline.start();
+
+            int producers = 4;
+            int perProducer = 2_000;
+            CountDownLatch started = new CountDownLatch(producers);
+            List<Thread> threads = new ArrayList<>();
+            for (int p = 0; p < producers; p++) {
+                Thread t = new Thread(() -> {
+                    started.countDown();
+                    for (int i = 0; i < perProducer; i++) {
+                        pipeline.publish(AuditLog.builder().action("E").build());
+                    }
+                });
+                t.start();
+                threads.add(t);
+            }
+            started.await();
+            pipeline.shutdown();
+            for (Thread t : threads) {
+                t.join();
+            }
+
+            assertEquals(producers * perProducer, repository.saved.get(), "round " + round);
+            assertEquals(0, pipeline.pendingCount());
+        }
+    }
+
+    private static final class CountingRepository extends AuditLogRepository {
+        final AtomicInteger saved = new AtomicInteger();
+
+        CountingRepository() throws IOException {
+            super(1024, 16, 60, 1_000_000, 1 << 28, "", "", 1 << 20, 60, 4);
+        }
+
+        @Override
+        public void saveAll(List<AuditLog> auditLogs) {
+            saved.addAndGet(auditLogs.size());
+        }
+    }
+}
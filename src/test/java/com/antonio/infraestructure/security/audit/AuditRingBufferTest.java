@@ -0,0 +1,98 @@
+package com.antonio.infrastructure.security.audit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Anel MPSC do pipeline de auditoria
+ */
+public class AuditRingBufferTest {
+
+    @Test
+    void capacityIsRoundedUpToPowerOfTwo() {
+        assertEquals(8, new AuditRingBuffer(5).capacity());
+        assertEquals(8, new AuditRingBuffer(8).capacity());
+        assertThrows(IllegalArgumentException.class, () -> new AuditRingBuffer(1));
+    }
+
+    @Test
+    void offerFailsWhenFullAndRecoversAfterDrain() {
+        AuditRingBuffer buffer = new AuditRingBuffer(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(buffer.offer(event(i)));
+        }
+        assertFalse(buffer.offer(event(4)));
+        assertEquals(4, buffer.size());
+
+        List<AuditLog> batch = new ArrayList<>();
+        assertEquals(2, buffer.drainTo(batch, 2));
+        assertTrue(buffer.offer(event(4)));
+        assertTrue(buffer.offer(event(5)));
+        assertFalse(buffer.offer(event(6)));
+
+        assertEquals(4, buffer.drainTo(batch, 10));
+        assertEquals(List.of("0", "1", "2", "3", "4", "5"), batch.stream().map(AuditLog::getAction).toList());
+        assertEquals(0, buffer.size());
+        assertEquals(0, buffer.drainTo(batch, 10));
+    }
+
+    @Test
+    void concurrentProducersDeliverEveryEventExactlyOnce() throws InterruptedException {
+        AuditRingBuffer buffer = new AuditRingBuffer(64);
+        int producers = 4;
+        int perProducer = 20_000;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            int producer = p;
+            Thread t = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < perProducer; i++) {
+                    AuditLog event = event(producer * perProducer + i);
+                    while (!buffer.offer(event)) {
+                        Thread.onSpinWait();
+                    }
+                }
+            });
+            t.start();
+            threads.add(t);
+        }
+
+        start.countDown();
+        Set<String> seen = new HashSet<>();
+        int[] lastByProducer = new int[producers];
+        java.util.Arrays.fill(lastByProducer, -1);
+        List<AuditLog> batch = new ArrayList<>();
+        while (seen.size() < producers * perProducer) {
+            batch.clear();
+            buffer.drainTo(batch, 32);
+            for (AuditLog event : batch) {
+                assertTrue(seen.add(event.getAction()), "duplicated " + event.getAction());
+                int value = Integer.parseInt(event.getAction());
+                int producer = value / perProducer;
+                // cada produtor publica em ordem
+                assertTrue(value > lastByProducer[producer]);
+                lastByProducer[producer] = value;
+            }
+        }
+        for (Thread t : threads) {
+            t.join();
+        }
+        assertEquals(0, buffer.size());
+    }
+
+    private static AuditLog event(int n) {
+        return AuditLog.builder().action(String.valueOf(n)).build();
+    }
+}
@@ -0,0 +1,122 @@
+package com.antonio.infrastructure.security.audit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Transbordo em disco: round-trip, sobras de execução anterior e cauda corrompida
+ */
+public class AuditSpillFileTest {
+
+    @TempDir
+    Path dir;
+    private Path file;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        file = dir.resolve("spill.bin");
+    }
+
+    @Test
+    void spilledEventsRoundTrip() throws IOException {
+        try (AuditSpillFile spill = new AuditSpillFile(file)) {
+            assertFalse(spill.hasPending());
+            spill.append(event("LOGIN"));
+            spill.append(event("LOGOUT"));
+            assertTrue(spill.hasPending());
+
+            List<AuditLog> events = spill.takeAll();
+            assertEquals(List.of("LOGIN", "LOGOUT"), events.stream().map(AuditLog::getAction).toList());
+            assertEquals(AuditLevel.WARN, events.get(0).getLevel());
+            assertFalse(spill.hasPending());
+            assertEquals(List.of(), spill.takeAll());
+        }
+    }
+
+    @Test
+    void leftoversFromPreviousRunArePending() throws IOException {
+        try (AuditSpillFile spill = new AuditSpillFile(file)) {
+            spill.append(event("LOGIN"));
+        }
+        try (AuditSpillFile spill = new AuditSpillFile(file)) {
+            assertTrue(spill.hasPending());
+            assertEquals(1, spill.takeAll().size());
+        }
+    }
+
+    @Test
+    void corruptRecordEndsReplay() throws IOException {
+        try (AuditSpillFile spill = new AuditSpillFile(file)) {
+            spill.append(event("KEPT"));
+            spill.append(event("CORRUPTED"));
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            java.nio.ByteBuffer b = java.nio.ByteBuffer.allocate(1);
+            long last = channel.size() - 3;
+            channel.read(b, last);
+            b.put(0, (byte) (b.get(0) ^ 0x7f));
+            b.rewind();
+            channel.write(b, last);
+        }
+
+        try (AuditSpillFile spill = new AuditSpillFile(file)) {
+            assertEquals(List.of("KEPT"), spill.takeAll().stream().map(AuditLog::getAction).toList());
+        }
+    }
+
+    @Test
+    void absurdLengthDoesNotAllocate() throws IOException {
+        try (AuditSpillFile spill = new AuditSpillFile(file)) {
+            spill.append(event("KEPT"));
+        }
+        try (OutputStream raw = Files.newOutputStream(file, StandardOpenOption.APPEND)) {
+            DataOutputStream out = new DataOutputStream(raw);
+            out.writeInt(Integer.MAX_VALUE);
+            out.writeInt(0);
+        }
+
+        try (AuditSpillFile spill = new AuditSpillFile(file)) {
+            assertEquals(List.of("KEPT"), spill.takeAll().stream().map(AuditLog::getAction).toList());
+        }
+    }
+
+    @Test
+    void unreadableReplayFileIsMovedAside() throws IOException {
+        Path replay = dir.resolve("spill.bin.replay");
+        Files.write(replay, new byte[] {0, 0, 0, 0, 0, 0, 0, 0}); // cabeçalho inválido
+
+        try (AuditSpillFile spill = new AuditSpillFile(file)) {
+            assertEquals(List.of(), spill.takeAll());
+            assertFalse(Files.exists(replay));
+            try (Stream<Path> files = Files.list(dir)) {
+                assertEquals(1, files.filter(p -> p.getFileName().toString().startsWith("spill.bin.corrupt-")).count());
+            }
+            // a rotação volta a funcionar
+            spill.append(event("AFTER"));
+            assertEquals(List.of("AFTER"), spill.takeAll().stream().map(AuditLog::getAction).toList());
+        }
+    }
+
+    private static AuditLog event(String action) {
+        return AuditLog.builder()
+            .action(action)
+            .username("alice")
+            .timestamp(LocalDateTime.of(2026, 1, 2, 3, 4, 5))
+            .level(AuditLevel.WARN)
+            .build();
+    }
+}
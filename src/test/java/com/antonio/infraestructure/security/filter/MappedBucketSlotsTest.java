@@ -0,0 +1,57 @@
+package com.antonio.infrastructure.security.filter;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Slots em arquivo mapeado: buckets vistos por todas as tabelas, tamanho adotado do arquivo e
+ * arquivo inválido reformatado
+ */
+public class MappedBucketSlotsTest {
+
+    private static final long HOUR = 3_600_000;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void sharedFileIsSeenByEveryTable() throws IOException {
+        Path file = dir.resolve("buckets.bin");
+        long key = TokenBucketTable.key("10.0.0.1", "/api/todos");
+        try (TokenBucketTable first = TokenBucketTable.shared(file, 64);
+             TokenBucketTable second = TokenBucketTable.shared(file, 64)) {
+            assertEquals(1, first.tryConsume(key, 2, HOUR));
+            assertEquals(0, second.tryConsume(key, 2, HOUR));
+            assertEquals(-1, first.tryConsume(key, 2, HOUR));
+        }
+    }
+
+    @Test
+    void reopenedFileKeepsItsSizeAndBuckets() throws IOException {
+        Path file = dir.resolve("buckets.bin");
+        long key = TokenBucketTable.key("10.0.0.1", "/api/todos");
+        try (TokenBucketTable table = TokenBucketTable.shared(file, 64)) {
+            assertEquals(0, table.tryConsume(key, 1, HOUR));
+        }
+        try (TokenBucketTable table = TokenBucketTable.shared(file, 1024)) {
+            assertEquals(TokenBucketTable.tableSize(64), table.capacity());
+            assertEquals(-1, table.tryConsume(key, 1, HOUR));
+        }
+    }
+
+    @Test
+    void garbageFileIsReformatted() throws IOException {
+        Path file = dir.resolve("buckets.bin");
+        Files.write(file, new byte[] {1, 2, 3, 4, 5});
+        try (TokenBucketTable table = TokenBucketTable.shared(file, 64)) {
+            assertEquals(TokenBucketTable.tableSize(64), table.capacity());
+            assertEquals(0, table.tryConsume(1, 1, HOUR));
+        }
+    }
+}
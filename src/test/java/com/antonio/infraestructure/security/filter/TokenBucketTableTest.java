@@ -0,0 +1,102 @@
+package com.antonio.infrastructure.security.filter;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tabela de token buckets no heap: consumo e recarga, CAS sob concorrência e despejo pelo relógio
+ */
+public class TokenBucketTableTest {
+
+    private static final long HOUR = 3_600_000;
+
+    @Test
+    void consumesUntilEmpty() {
+        TokenBucketTable table = TokenBucketTable.local(64);
+        long key = TokenBucketTable.key("10.0.0.1", "/api/todos");
+
+        assertEquals(2, table.tryConsume(key, 3, HOUR));
+        assertEquals(1, table.tryConsume(key, 3, HOUR));
+        assertEquals(0, table.tryConsume(key, 3, HOUR));
+        assertEquals(-1, table.tryConsume(key, 3, HOUR));
+        // outra chave tem o próprio bucket
+        assertEquals(2, table.tryConsume(TokenBucketTable.key("10.0.0.2", "/api/todos"), 3, HOUR));
+    }
+
+    @Test
+    void refillsAfterThePeriod() throws InterruptedException {
+        TokenBucketTable table = TokenBucketTable.local(64);
+        long key = TokenBucketTable.key("10.0.0.1", "/api/todos");
+
+        assertEquals(0, table.tryConsume(key, 1, 50));
+        assertEquals(-1, table.tryConsume(key, 1, 50));
+        Thread.sleep(80);
+        assertEquals(0, table.tryConsume(key, 1, 50));
+    }
+
+    @Test
+    void rejectsInvalidCapacity() {
+        TokenBucketTable table = TokenBucketTable.local(64);
+        assertThrows(IllegalArgumentException.class, () -> table.tryConsume(1, 0, HOUR));
+        assertThrows(IllegalArgumentException.class, () -> table.tryConsume(1, TokenBucketTable.MAX_CAPACITY + 1, HOUR));
+    }
+
+    @Test
+    void principalKeysDoNotCollideWithIpKeys() {
+        assertNotEquals(TokenBucketTable.key("10.0.0.1", "/api/todos"),
+                        TokenBucketTable.principalKey("10.0.0.1", "/api/todos"));
+    }
+
+    @Test
+    void concurrentConsumersNeverOverspend() throws InterruptedException {
+        TokenBucketTable table = TokenBucketTable.local(64);
+        long key = TokenBucketTable.key("10.0.0.1", "/api/products");
+        int capacity = 1000;
+        AtomicInteger granted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < 500; i++) {
+                    if (table.tryConsume(key, capacity, HOUR) >= 0) {
+                        granted.incrementAndGet();
+                    }
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(capacity, granted.get());
+    }
+
+    @Test
+    void hotKeySurvivesBurstOfOneShotKeys() {
+        TokenBucketTable table = TokenBucketTable.local(16);
+        long hot = TokenBucketTable.key("10.0.0.1", "/api/todos");
+        long previous = table.tryConsume(hot, 10_000, HOUR);
+
+        for (int i = 0; i < 1000; i++) {
+            table.tryConsume(TokenBucketTable.key("192.168.0." + i, "/api/todos"), 10_000, HOUR);
+            long remaining = table.tryConsume(hot, 10_000, HOUR);
+            // despejada, a chave quente voltaria com o bucket cheio
+            assertEquals(previous - 1, remaining, "hot key evicted at iteration " + i);
+            previous = remaining;
+        }
+    }
+}
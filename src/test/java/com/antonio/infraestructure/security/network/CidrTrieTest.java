@@ -0,0 +1,112 @@
+package com.antonio.infrastructure.security.network;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Trie de prefixos CIDR: limites de faixa, IPv4 e IPv6, entradas inválidas e conferência com busca linear
+ */
+public class CidrTrieTest {
+
+    private final long[] scratch = new long[2];
+
+    @Test
+    void matchesIpv4RangeBoundaries() {
+        CidrTrie trie = CidrTrie.compile(List.of("10.0.0.0/8", "192.168.1.10"));
+
+        assertTrue(trie.contains("10.0.0.0", scratch));
+        assertTrue(trie.contains("10.255.255.255", scratch));
+        assertFalse(trie.contains("9.255.255.255", scratch));
+        assertFalse(trie.contains("11.0.0.0", scratch));
+        assertTrue(trie.contains("192.168.1.10", scratch));
+        assertFalse(trie.contains("192.168.1.11", scratch));
+    }
+
+    @Test
+    void matchesIpv6Prefixes() {
+        CidrTrie trie = CidrTrie.compile(List.of("2001:db8::/32", "::1"));
+
+        assertTrue(trie.contains("2001:db8::1", scratch));
+        assertTrue(trie.contains("2001:db8:ffff:ffff:ffff:ffff:ffff:ffff", scratch));
+        assertFalse(trie.contains("2001:db9::", scratch));
+        assertTrue(trie.contains("[::1]", scratch));
+        assertFalse(trie.contains("::2", scratch));
+    }
+
+    @Test
+    void ipv4WildcardCoversOnlyIpv4() {
+        CidrTrie trie = CidrTrie.compile(List.of("0.0.0.0/0"));
+
+        assertTrue(trie.contains("1.2.3.4", scratch));
+        assertTrue(trie.contains("255.255.255.255", scratch));
+        assertFalse(trie.contains("2001:db8::1", scratch));
+    }
+
+    @Test
+    void invalidAddressIsNeverContained() {
+        CidrTrie trie = CidrTrie.compile(List.of("0.0.0.0/0", "::/0"));
+
+        assertFalse(trie.contains("not-an-ip", scratch));
+        assertFalse(trie.contains("256.0.0.1", scratch));
+        assertFalse(trie.contains("", scratch));
+    }
+
+    @Test
+    void skipsBlankLinesAndComments() {
+        CidrTrie trie = CidrTrie.compile(List.of("# escritório", "  ", " 10.1.0.0/16 "));
+
+        assertEquals(1, trie.size());
+        assertTrue(trie.contains("10.1.2.3", scratch));
+    }
+
+    @Test
+    void rejectsInvalidEntries() {
+        assertThrows(IllegalArgumentException.class, () -> CidrTrie.compile(List.of("10.0.0.0/33")));
+        assertThrows(IllegalArgumentException.class, () -> CidrTrie.compile(List.of("2001:db8::/129")));
+        assertThrows(IllegalArgumentException.class, () -> CidrTrie.compile(List.of("10.0.0.0/-1")));
+        assertThrows(IllegalArgumentException.class, () -> CidrTrie.compile(List.of("10.0.0.0/abc")));
+        assertThrows(IllegalArgumentException.class, () -> CidrTrie.compile(List.of("example.com/24")));
+    }
+
+    @Test
+    void agreesWithLinearScanOnRandomPrefixes() {
+        Random random = new Random(42);
+        List<String> cidrs = new ArrayList<>();
+        List<int[]> ranges = new ArrayList<>(); // [rede, bits]
+        for (int i = 0; i < 500; i++) {
+            int bits = 8 + random.nextInt(25);
+            int network = random.nextInt() & mask(bits);
+            cidrs.add(toIp(network) + "/" + bits);
+            ranges.add(new int[] {network, bits});
+        }
+        CidrTrie trie = CidrTrie.compile(cidrs);
+        assertEquals(500, trie.size());
+
+        for (int i = 0; i < 20_000; i++) {
+            // metade perto de uma rede conhecida, metade aleatória
+            int ip = i % 2 == 0 ? ranges.get(random.nextInt(ranges.size()))[0] ^ (random.nextInt() >>> random.nextInt(32))
+                                : random.nextInt();
+            boolean expected = false;
+            for (int[] range : ranges) {
+                if ((ip & mask(range[1])) == range[0]) {
+                    expected = true;
+                    break;
+                }
+            }
+            assertEquals(expected, trie.contains(toIp(ip), scratch), toIp(ip));
+        }
+    }
+
+    private static int mask(int bits) {
+        return bits == 0 ? 0 : -1 << (32 - bits);
+    }
+
+    private static String toIp(int ip) {
+        return (ip >>> 24) + "." + ((ip >>> 16) & 0xff) + "." + ((ip >>> 8) & 0xff) + "." + (ip & 0xff);
+    }
+}
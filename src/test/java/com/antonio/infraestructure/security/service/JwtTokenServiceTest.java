@@ -0,0 +1,145 @@
+package com.antonio.infrastructure.security.service;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Emissão e validação de JWT: claims, assinatura, emissor, expiração e revogação (por token e por usuário)
+ */
+public class JwtTokenServiceTest {
+
+    private static final String SECRET = "c2VjcmV0LWRlLXRlc3RlLWNvbS0zMi1ieXRlcy1vdS1tYWlz"; // 36 bytes
+
+    private JwtTokenService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new JwtTokenService(SECRET, "dummyjson-app", 15, 0, 60);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void issuedTokenCarriesTheClaims() {
+        String token = service.issue("alice", 42, List.of(new SimpleGrantedAuthority("ROLE_USER")), false);
+
+        JwtTokenService.VerifiedToken verified = service.verify(token).orElseThrow();
+        assertEquals("alice", verified.username());
+        assertEquals(42, verified.userId());
+        assertEquals(List.of("ROLE_USER"), verified.roles());
+        assertFalse(verified.twoFactorVerified());
+        assertTrue(verified.expiresAt().isAfter(Instant.now()));
+    }
+
+    @Test
+    void tamperedTokenIsRejected() {
+        String token = service.issue("alice", 42, List.of(), true);
+        String[] parts = token.split("\\.");
+        // troca o payload por outro usuário mantendo a assinatura original
+        String forged = parts[0] + "." + service.issue("mallory", 1, List.of(), true).split("\\.")[1] + "." + parts[2];
+
+        assertTrue(service.verify(forged).isEmpty());
+        assertTrue(service.verify(token.substring(0, token.length() - 2)).isEmpty());
+    }
+
+    @Test
+    void tokenSignedWithAnotherKeyIsRejected() {
+        JwtTokenService other = new JwtTokenService("", "dummyjson-app", 15, 0, 60);
+        try {
+            assertTrue(service.verify(other.issue("alice", 42, List.of(), true)).isEmpty());
+        } finally {
+            other.shutdown();
+        }
+    }
+
+    @Test
+    void tokenFromAnotherIssuerIsRejected() {
+        JwtTokenService other = new JwtTokenService(SECRET, "other-app", 15, 0, 60);
+        try {
+            assertTrue(service.verify(other.issue("alice", 42, List.of(), true)).isEmpty());
+        } finally {
+            other.shutdown();
+        }
+    }
+
+    @Test
+    void expiredTokenIsRejected() {
+        Instant past = Instant.now().minusSeconds(600);
+        String expired = Jwts.builder()
+            .id("expired")
+            .issuer("dummyjson-app")
+            .subject("alice")
+            .issuedAt(Date.from(past))
+            .expiration(Date.from(past.plusSeconds(60)))
+            .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET)))
+            .compact();
+
+        assertTrue(service.verify(expired).isEmpty());
+    }
+
+    @Test
+    void unsignedAndMalformedTokensAreRejected() {
+        String unsigned = Jwts.builder().id("x").issuer("dummyjson-app").subject("alice")
+            .expiration(Date.from(Instant.now().plusSeconds(600))).compact();
+
+        assertTrue(service.verify(unsigned).isEmpty());
+        assertTrue(service.verify("not.a.jwt").isEmpty());
+        assertTrue(service.verify("").isEmpty());
+    }
+
+    @Test
+    void revokedTokenIsRejected() {
+        String token = service.issue("alice", 42, List.of(), true);
+        service.revoke(service.verify(token).orElseThrow());
+
+        assertTrue(service.verify(token).isEmpty());
+        assertEquals(1, service.revokedCount());
+        // outro token do mesmo usuário continua válido
+        assertTrue(service.verify(service.issue("alice", 42, List.of(), true)).isPresent());
+    }
+
+    @Test
+    void passwordChangeRevokesEveryEarlierTokenOfTheUser() throws InterruptedException {
+        String first = service.issue("alice", 42, List.of(), true);
+        String second = service.issue("alice", 42, List.of(), true);
+        String other = service.issue("bob", 7, List.of(), true);
+
+        service.revokeAllFor("alice");
+
+        assertTrue(service.verify(first).isEmpty());
+        assertTrue(service.verify(second).isEmpty());
+        assertTrue(service.verify(other).isPresent());
+        // o iat tem resolução de segundos: só tokens do segundo seguinte ao corte valem
+        Thread.sleep(1000 - System.currentTimeMillis() % 1000 + 50);
+        assertTrue(service.verify(service.issue("alice", 42, List.of(), true)).isPresent());
+    }
+
+    @Test
+    void twoFactorUpgradeRevokesTheOldToken() {
+        String token = service.issue("alice", 42, List.of(new SimpleGrantedAuthority("ROLE_ADMIN")), false);
+
+        String upgraded = service.upgradeTwoFactor(service.verify(token).orElseThrow());
+
+        assertTrue(service.verify(token).isEmpty());
+        Optional<JwtTokenService.VerifiedToken> verified = service.verify(upgraded);
+        assertTrue(verified.isPresent());
+        assertTrue(verified.get().twoFactorVerified());
+        assertEquals(42, verified.get().userId());
+        assertEquals(List.of("ROLE_ADMIN"), verified.get().roles());
+    }
+}
@@ -0,0 +1,51 @@
+package com.antonio.infrastructure.security.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Lista de revogação: expiração das entradas, limpeza e crescimento da tabela
+ */
+public class TokenDenyListTest {
+
+    @Test
+    void revokedUntilExpiry() {
+        TokenDenyList denyList = new TokenDenyList();
+        long hash = TokenDenyList.hash("token-1");
+        assertFalse(denyList.isRevoked(hash, 100));
+
+        denyList.revoke(hash, 200);
+
+        assertTrue(denyList.isRevoked(hash, 100));
+        assertFalse(denyList.isRevoked(hash, 200));
+        assertFalse(denyList.isRevoked(TokenDenyList.hash("token-2"), 100));
+    }
+
+    @Test
+    void purgeDropsOnlyExpiredEntries() {
+        TokenDenyList denyList = new TokenDenyList();
+        denyList.revoke(TokenDenyList.hash("old"), 100);
+        denyList.revoke(TokenDenyList.hash("new"), 300);
+
+        denyList.purge(200);
+
+        assertEquals(1, denyList.size());
+        assertTrue(denyList.isRevoked(TokenDenyList.hash("new"), 200));
+    }
+
+    @Test
+    void growsPastTheInitialCapacity() {
+        TokenDenyList denyList = new TokenDenyList();
+        // crescer reconstrói a tabela descartando o que expirou pelo relógio real
+        long expiry = System.currentTimeMillis() / 1000 + 3600;
+        for (int i = 0; i < 1000; i++) {
+            denyList.revoke(TokenDenyList.hash("token-" + i), expiry);
+        }
+
+        assertEquals(1000, denyList.size());
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(denyList.isRevoked(TokenDenyList.hash("token-" + i), expiry - 1), "token-" + i);
+        }
+    }
+}